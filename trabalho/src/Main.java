@@ -1,7 +1,27 @@
-import ui.MainUI;
-
-public class Main {
-    public static void main(String[] args) {
-        javax.swing.SwingUtilities.invokeLater(MainUI::new);
-    }
-}
\ No newline at end of file
+import benchmark.ExecutorBenchmarks;
+import simulador.ExecutorEmLote;
+import simulador.ExecutorEstresse;
+import ui.MainUI;
+
+import java.util.Arrays;
+
+public class Main {
+    public static void main(String[] args) throws Exception {
+        // Modo em lote, sem interface: java Main --lote <diretorio> [opções]
+        if (args.length > 0 && args[0].equals("--lote")) {
+            ExecutorEmLote.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Estresse com carga sintética gerada sob demanda: java Main --estresse <quantidade> [opções]
+        if (args.length > 0 && args[0].equals("--estresse")) {
+            ExecutorEstresse.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Benchmarks do núcleo: java Main --benchmark [opções]
+        if (args.length > 0 && args[0].equals("--benchmark")) {
+            ExecutorBenchmarks.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        javax.swing.SwingUtilities.invokeLater(MainUI::new);
+    }
+}
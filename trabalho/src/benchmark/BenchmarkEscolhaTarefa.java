@@ -0,0 +1,64 @@
+package benchmark;
+
+import modelo.TCB;
+import modelo.Tarefa;
+import simulador.ContextoSimulacao;
+import sistemaoperacional.nucleo.AlgoritmosEscalonamento;
+import sistemaoperacional.nucleo.Escalonador;
+import sistemaoperacional.nucleo.FilaProntos;
+
+import java.util.Random;
+
+// Escalonador.escolherProximaTarefa com a fila de prontos num tamanho fixo:
+// cada operação escolhe a próxima tarefa e a devolve à fila (como uma preempção),
+// então o tamanho não muda durante a medição.
+public class BenchmarkEscolhaTarefa extends CasoBenchmark {
+
+    private static final int OPERACOES_POR_ITERACAO = 1 << 16;
+
+    private final AlgoritmosEscalonamento algoritmo;
+    private final int tamanhoFila;
+    private Escalonador escalonador;
+    private FilaProntos fila;
+
+    public BenchmarkEscolhaTarefa(AlgoritmosEscalonamento algoritmo, int tamanhoFila) {
+        super("escolherProximaTarefa");
+        this.algoritmo = algoritmo;
+        this.tamanhoFila = tamanhoFila;
+        parametro("algoritmo", algoritmo);
+        parametro("tamanhoFila", tamanhoFila);
+    }
+
+    @Override
+    public void preparar() {
+        ContextoSimulacao contexto = new ContextoSimulacao(algoritmo.name(), 4, 1, 1);
+        escalonador = new Escalonador(algoritmo.name(), 4);
+        fila = escalonador.criarFilaProntos(contexto.getAlpha());
+
+        Random rng = new Random(42);
+        for (int i = 0; i < tamanhoFila; i++) {
+            Tarefa t = new Tarefa("T" + i, "CCCCCC", 0, 1 + rng.nextInt(1000), rng.nextInt(100));
+            fila.adicionar(new TCB(t, i, contexto));
+        }
+    }
+
+    @Override
+    public long executar() {
+        long acumulado = 0;
+        for (int i = 0; i < OPERACOES_POR_ITERACAO; i++) {
+            TCB escolhida = escalonador.escolherProximaTarefa(fila);
+            acumulado += escolhida.getOrdemAdmissao();
+            // Com envelhecimento, a fila envelhece a cada "tick" como no SO
+            fila.envelhecer(1);
+            fila.adicionar(escolhida);
+        }
+        consumir(acumulado);
+        return OPERACOES_POR_ITERACAO;
+    }
+
+    @Override
+    public void finalizar() {
+        fila = null;
+        escalonador = null;
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import modelo.EstadoTarefa;
+import modelo.TCB;
+import modelo.Tarefa;
+import modelo.TransicoesEstado;
+import simulador.ContextoSimulacao;
+import ui.PainelGantt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Atualização do histórico do Gantt (PainelGantt.atualizarGantt) tick a tick, com todas as tarefas
+// já admitidas e um núcleo em round-robin de 1 tick: duas mudanças de estado por tick, qualquer que
+// seja o número de tarefas. Uma operação = um tick registrado.
+// Roda sem janela (java.awt.headless), o repaint() só agenda a pintura.
+public class BenchmarkGantt extends CasoBenchmark {
+
+    private static final int TICKS_POR_ITERACAO = 200_000;
+
+    private final int quantidadeTarefas;
+    private ContextoSimulacao contexto;
+    private List<TCB> tcbs;
+    private PainelGantt painel;
+
+    public BenchmarkGantt(int quantidadeTarefas) {
+        super("atualizarGantt");
+        this.quantidadeTarefas = quantidadeTarefas;
+        parametro("tarefas", quantidadeTarefas);
+        parametro("ticks", TICKS_POR_ITERACAO);
+    }
+
+    @Override
+    public void preparar() {
+        painel = new PainelGantt();
+    }
+
+    // Tarefas novas a cada iteração: a admissão de todas entra no primeiro tick medido
+    @Override
+    public void prepararIteracao() {
+        painel.clear();
+        contexto = new ContextoSimulacao("RR", 1, 0, 1);
+        contexto.setTransicoes(new TransicoesEstado());
+        tcbs = new ArrayList<>(quantidadeTarefas);
+        for (int i = 0; i < quantidadeTarefas; i++) {
+            tcbs.add(new TCB(new Tarefa("T" + i, "3366CC", 0, 10, 0), i, contexto));
+        }
+    }
+
+    @Override
+    public long executar() {
+        TransicoesEstado transicoes = contexto.getTransicoes();
+        for (int tick = 0; tick < TICKS_POR_ITERACAO; tick++) {
+            if (tick > 0) tcbs.get((tick - 1) % quantidadeTarefas).setEstadoTarefa(EstadoTarefa.PRONTA);
+            tcbs.get(tick % quantidadeTarefas).setEstadoTarefa(EstadoTarefa.EXECUTANDO);
+            painel.atualizarGantt(transicoes, tick);
+            contexto.getRelogio().tick();
+        }
+        return TICKS_POR_ITERACAO;
+    }
+
+    @Override
+    public void finalizar() {
+        contexto = null;
+        tcbs = null;
+        painel = null;
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import modelo.TCB;
+import modelo.Tarefa;
+import simulador.ContextoSimulacao;
+import sistemaoperacional.nucleo.GerenciadorRecursos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// GerenciadorRecursos sob disputa: todas as tarefas pedem um mutex (distribuídas entre
+// quantidadeMutex) e depois cada dono libera, passando o mutex ao próximo da fila de espera.
+// Uma operação = uma solicitação ou uma liberação.
+public class BenchmarkRecursos extends CasoBenchmark {
+
+    private static final int RODADAS_POR_ITERACAO = 64;
+
+    private final int quantidadeTarefas;
+    private final int quantidadeMutex;
+    private List<TCB> tcbs;
+
+    public BenchmarkRecursos(int quantidadeTarefas, int quantidadeMutex) {
+        super("mutexSolicitarLiberar");
+        this.quantidadeTarefas = quantidadeTarefas;
+        this.quantidadeMutex = quantidadeMutex;
+        parametro("tarefas", quantidadeTarefas);
+        parametro("mutex", quantidadeMutex);
+    }
+
+    @Override
+    public void preparar() {
+        ContextoSimulacao contexto = new ContextoSimulacao("RR", 4, 0, 1);
+        tcbs = new ArrayList<>(quantidadeTarefas);
+        for (int i = 0; i < quantidadeTarefas; i++) {
+            tcbs.add(new TCB(new Tarefa("T" + i, "CCCCCC", 0, 10, 0), i, contexto));
+        }
+    }
+
+    @Override
+    public long executar() {
+        long ops = 0;
+        long acordadas = 0;
+        for (int rodada = 0; rodada < RODADAS_POR_ITERACAO; rodada++) {
+            GerenciadorRecursos recursos = new GerenciadorRecursos();
+            TCB[] donos = new TCB[quantidadeMutex];
+            for (int i = 0; i < quantidadeTarefas; i++) {
+                int mutex = i % quantidadeMutex;
+                if (recursos.solicitarMutex(mutex, tcbs.get(i))) donos[mutex] = tcbs.get(i);
+                ops++;
+            }
+            for (int mutex = 0; mutex < quantidadeMutex; mutex++) {
+                TCB dono = donos[mutex];
+                while (dono != null) {
+                    dono = recursos.liberarMutex(mutex, dono);
+                    ops++;
+                    if (dono != null) acordadas++;
+                }
+            }
+        }
+        consumir(acordadas);
+        return ops;
+    }
+
+    @Override
+    public void finalizar() {
+        tcbs = null;
+    }
+}
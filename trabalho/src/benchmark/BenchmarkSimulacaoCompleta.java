@@ -0,0 +1,66 @@
+package benchmark;
+
+import modelo.Tarefa;
+import simulador.ContextoSimulacao;
+import sistemaoperacional.SistemaOperacional;
+
+import java.util.ArrayList;
+
+// Simulação completa no modo orientado a eventos (o mesmo laço do modo em lote),
+// da admissão até a última tarefa terminar. Uma operação = uma tarefa simulada.
+// A geração da carga fica fora da medição.
+public class BenchmarkSimulacaoCompleta extends CasoBenchmark {
+
+    private static final long LIMITE_TICKS = 1_000_000_000L;
+
+    private final int quantidadeTarefas;
+    private final CargaSintetica.Mistura mistura;
+    private final String algoritmo;
+    private final int quantum;
+    private final int alpha;
+    private ArrayList<Tarefa> tarefas;
+
+    public BenchmarkSimulacaoCompleta(int quantidadeTarefas, CargaSintetica.Mistura mistura, String algoritmo) {
+        super("simulacaoCompleta");
+        this.quantidadeTarefas = quantidadeTarefas;
+        this.mistura = mistura;
+        this.algoritmo = algoritmo;
+        this.quantum = 4;
+        this.alpha = 1;
+        parametro("tarefas", quantidadeTarefas);
+        parametro("mistura", mistura);
+        parametro("algoritmo", algoritmo);
+    }
+
+    @Override
+    public void prepararIteracao() {
+        // Nova carga a cada iteração: as tarefas não são alteradas, mas a anterior pode ser coletada
+        tarefas = CargaSintetica.gerar(quantidadeTarefas, mistura, 7L);
+    }
+
+    @Override
+    public long executar() {
+        ContextoSimulacao contexto = new ContextoSimulacao(algoritmo, quantum, alpha, 1);
+        SistemaOperacional so = new SistemaOperacional(contexto, tarefas);
+        while (!so.terminouTodasTarefas() && so.getTickAtual() < LIMITE_TICKS) {
+            so.execTick();
+            so.avancarAteProximoEvento();
+        }
+        if (!so.terminouTodasTarefas()) {
+            throw new IllegalStateException("Simulação não terminou em " + LIMITE_TICKS + " ticks");
+        }
+        consumir(so.getTickAtual() + so.getTrocasDeContexto());
+        return quantidadeTarefas;
+    }
+
+    @Override
+    public void finalizar() {
+        tarefas = null;
+    }
+
+    @Override
+    public int iteracoesAquecimento(int padrao) { return Math.min(padrao, 1); }
+
+    @Override
+    public int iteracoesMedidas(int padrao) { return Math.min(padrao, 3); }
+}
@@ -0,0 +1,33 @@
+package benchmark;
+
+import modelo.Tarefa;
+import simulador.GeradorCargas;
+import simulador.ParametrosCarga;
+
+import java.util.ArrayList;
+
+// Cargas fixas dos benchmarks, montadas com o GeradorCargas (semente fixa, reproduzíveis).
+// A CPU fica perto de saturar e, conforme a mistura, parte das tarefas faz um I/O
+// e/ou tem uma seção crítica (ML ... MU).
+public class CargaSintetica {
+
+    public enum Mistura { CPU, IO, MUTEX, IO_MUTEX }
+
+    private static final double FRACAO_COM_IO = 0.4;
+    private static final double FRACAO_COM_MUTEX = 0.3;
+
+    private CargaSintetica() {}
+
+    public static ParametrosCarga parametros(int quantidade, Mistura mistura, long semente) {
+        ParametrosCarga p = new ParametrosCarga();
+        p.setSemente(semente);
+        p.setQuantidadeTarefas(quantidade);
+        if (mistura == Mistura.IO || mistura == Mistura.IO_MUTEX) p.setProbabilidadeIO(FRACAO_COM_IO);
+        if (mistura == Mistura.MUTEX || mistura == Mistura.IO_MUTEX) p.setProbabilidadeMutex(FRACAO_COM_MUTEX);
+        return p;
+    }
+
+    public static ArrayList<Tarefa> gerar(int quantidade, Mistura mistura, long semente) {
+        return GeradorCargas.gerarLista(parametros(quantidade, mistura, semente));
+    }
+}
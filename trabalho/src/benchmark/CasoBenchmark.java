@@ -0,0 +1,50 @@
+package benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Um cenário medido pelo ExecutorBenchmarks.
+// preparar() roda uma vez antes do aquecimento; prepararIteracao() roda antes de cada iteração
+// e fica fora da medição. executar() é a parte medida e devolve quantas operações fez,
+// para o resultado ser comparável em ns por operação.
+public abstract class CasoBenchmark {
+
+    // Resultados das operações vão para cá, para o JIT não eliminar o trabalho medido
+    static volatile long sumidouro;
+
+    private final String nome;
+    private final Map<String, String> parametros = new LinkedHashMap<>();
+
+    protected CasoBenchmark(String nome) {
+        this.nome = nome;
+    }
+
+    protected void parametro(String chave, Object valor) {
+        parametros.put(chave, String.valueOf(valor));
+    }
+
+    protected static void consumir(long valor) {
+        sumidouro ^= valor;
+    }
+
+    public void preparar() {}
+
+    public void prepararIteracao() {}
+
+    public abstract long executar();
+
+    // Liberar memória entre cenários grandes
+    public void finalizar() {}
+
+    // Cenários longos (ex.: simulação completa) podem pedir menos iterações
+    public int iteracoesAquecimento(int padrao) { return padrao; }
+    public int iteracoesMedidas(int padrao) { return padrao; }
+
+    public String getNome() { return nome; }
+    public Map<String, String> getParametros() { return Collections.unmodifiableMap(parametros); }
+
+    public String descricao() {
+        return parametros.isEmpty() ? nome : nome + " " + parametros;
+    }
+}
@@ -0,0 +1,185 @@
+package benchmark;
+
+import simulador.LinhaDeComando;
+import simulador.Log;
+import simulador.NivelLog;
+import sistemaoperacional.nucleo.AlgoritmosEscalonamento;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Benchmarks do núcleo do simulador, sem dependências externas.
+// Cada cenário tem iterações de aquecimento (para o JIT compilar o caminho quente) e
+// iterações medidas; o resultado em ns por operação vai para o console e para um JSON,
+// que pode ser guardado e comparado entre versões para achar regressões.
+//
+// Uso: --benchmark [--saida arquivo.json] [--filtro texto] [--max-tarefas N]
+//                  [--aquecimento N] [--iteracoes N] [--algoritmos RR,SRTF,...]
+// Rodar com heap suficiente para os cenários de 1M de tarefas (ex.: -Xmx4g).
+public class ExecutorBenchmarks {
+
+    private static final int[] TAMANHOS_FILA = {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+    private static final int[] TAMANHOS_SIMULACAO = {10_000, 100_000, 1_000_000};
+    private static final int[] TAMANHOS_GANTT = {10, 100, 1_000};
+
+    private static final String USO = "Uso: --benchmark [--saida arquivo.json] [--filtro texto] [--max-tarefas N]" +
+            " [--aquecimento N] [--iteracoes N] [--algoritmos RR,SRTF,...]";
+
+    private final int aquecimento;
+    private final int iteracoes;
+
+    public ExecutorBenchmarks(int aquecimento, int iteracoes) {
+        this.aquecimento = aquecimento;
+        this.iteracoes = iteracoes;
+    }
+
+    public static List<CasoBenchmark> criarCasos(int maxTarefas, String[] algoritmosSimulacao) {
+        List<CasoBenchmark> casos = new ArrayList<>();
+        for (AlgoritmosEscalonamento algoritmo : AlgoritmosEscalonamento.values()) {
+            for (int tamanho : TAMANHOS_FILA) {
+                if (tamanho <= maxTarefas) casos.add(new BenchmarkEscolhaTarefa(algoritmo, tamanho));
+            }
+        }
+        for (String algoritmo : algoritmosSimulacao) {
+            for (int tamanho : TAMANHOS_SIMULACAO) {
+                if (tamanho > maxTarefas) continue;
+                for (CargaSintetica.Mistura mistura : CargaSintetica.Mistura.values()) {
+                    casos.add(new BenchmarkSimulacaoCompleta(tamanho, mistura, algoritmo));
+                }
+            }
+        }
+        for (int tamanho : TAMANHOS_GANTT) {
+            if (tamanho <= maxTarefas) casos.add(new BenchmarkGantt(tamanho));
+        }
+        casos.add(new BenchmarkRecursos(1_000, 1));
+        casos.add(new BenchmarkRecursos(1_000, 64));
+        return casos;
+    }
+
+    public Medicao medir(CasoBenchmark caso) {
+        caso.preparar();
+        try {
+            int nAquecimento = caso.iteracoesAquecimento(aquecimento);
+            for (int i = 0; i < nAquecimento; i++) {
+                caso.prepararIteracao();
+                caso.executar();
+            }
+
+            int nMedidas = Math.max(1, caso.iteracoesMedidas(iteracoes));
+            long[] nanos = new long[nMedidas];
+            long[] ops = new long[nMedidas];
+            for (int i = 0; i < nMedidas; i++) {
+                caso.prepararIteracao();
+                long inicio = System.nanoTime();
+                ops[i] = caso.executar();
+                nanos[i] = System.nanoTime() - inicio;
+            }
+            return new Medicao(caso.getNome(), caso.getParametros(), nanos, ops);
+        } finally {
+            caso.finalizar();
+        }
+    }
+
+    public void executar(List<CasoBenchmark> casos, String caminhoSaida) throws IOException {
+        List<Medicao> medicoes = new ArrayList<>();
+        List<String> falhas = new ArrayList<>();
+
+        for (CasoBenchmark caso : casos) {
+            try {
+                Medicao m = medir(caso);
+                medicoes.add(m);
+                System.out.println(m.resumo());
+            } catch (RuntimeException | OutOfMemoryError e) {
+                String msg = caso.descricao() + ": " + e;
+                falhas.add(msg);
+                System.err.println("FALHOU " + msg);
+            }
+        }
+
+        try (PrintStream saida = new PrintStream(caminhoSaida, "UTF-8")) {
+            saida.println(montarJson(medicoes, falhas));
+        }
+        System.out.println("Resultados gravados em " + caminhoSaida);
+    }
+
+    private String montarJson(List<Medicao> medicoes, List<String> falhas) {
+        Runtime rt = Runtime.getRuntime();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"data\": ").append(Json.texto(Instant.now().toString())).append(",\n");
+        sb.append("  \"ambiente\": {");
+        sb.append("\"java\":").append(Json.texto(System.getProperty("java.version")));
+        sb.append(",\"vm\":").append(Json.texto(System.getProperty("java.vm.name")));
+        sb.append(",\"so\":").append(Json.texto(System.getProperty("os.name") + " " + System.getProperty("os.arch")));
+        sb.append(",\"processadores\":").append(rt.availableProcessors());
+        sb.append(",\"memoria_maxima\":").append(rt.maxMemory());
+        sb.append("},\n");
+        sb.append("  \"configuracao\": {\"aquecimento\":").append(aquecimento)
+                .append(",\"iteracoes\":").append(iteracoes).append("},\n");
+        sb.append("  \"resultados\": [\n");
+        for (int i = 0; i < medicoes.size(); i++) {
+            sb.append("    ").append(medicoes.get(i).toJson());
+            sb.append(i < medicoes.size() - 1 ? ",\n" : "\n");
+        }
+        sb.append("  ],\n  \"falhas\": [");
+        for (int i = 0; i < falhas.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(Json.texto(falhas.get(i)));
+        }
+        sb.append("]\n}");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String caminhoSaida = "benchmark-resultados.json";
+        String filtro = null;
+        int maxTarefas = Integer.MAX_VALUE;
+        int aquecimento = 3;
+        int iteracoes = 5;
+        String[] algoritmos = {"RR"};
+
+        for (int i = 0; i < args.length; i += 2) {
+            LinhaDeComando.exigirValor(args, i, USO);
+            switch (args[i]) {
+                case "--saida":
+                    caminhoSaida = args[i + 1];
+                    break;
+                case "--filtro":
+                    filtro = args[i + 1];
+                    break;
+                case "--max-tarefas":
+                    maxTarefas = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--aquecimento":
+                    aquecimento = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--iteracoes":
+                    iteracoes = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--algoritmos":
+                    algoritmos = args[i + 1].split(",");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        // O log por evento dominaria as medições
+        if (System.getProperty("simulador.log.nivel") == null) {
+            Log.setNivel(NivelLog.DESLIGADO);
+        }
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        List<CasoBenchmark> casos = criarCasos(maxTarefas, algoritmos);
+        if (filtro != null) {
+            String f = filtro;
+            casos.removeIf(c -> !c.descricao().contains(f));
+        }
+
+        new ExecutorBenchmarks(Math.max(0, aquecimento), Math.max(1, iteracoes)).executar(casos, caminhoSaida);
+    }
+}
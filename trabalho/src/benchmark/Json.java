@@ -0,0 +1,33 @@
+package benchmark;
+
+import java.util.Locale;
+
+// Escrita mínima de JSON, suficiente para os resultados (sem dependências externas)
+final class Json {
+
+    private Json() {}
+
+    static String texto(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    static String numero(double valor) {
+        if (Double.isNaN(valor) || Double.isInfinite(valor)) return "null";
+        return String.format(Locale.ROOT, "%.3f", valor);
+    }
+}
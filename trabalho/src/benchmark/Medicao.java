@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.util.Locale;
+import java.util.Map;
+
+// Resultado das iterações medidas de um cenário
+public class Medicao {
+
+    private final String nome;
+    private final Map<String, String> parametros;
+    private final long[] nanosPorIteracao;
+    private final long[] opsPorIteracao;
+
+    public Medicao(String nome, Map<String, String> parametros, long[] nanosPorIteracao, long[] opsPorIteracao) {
+        this.nome = nome;
+        this.parametros = parametros;
+        this.nanosPorIteracao = nanosPorIteracao;
+        this.opsPorIteracao = opsPorIteracao;
+    }
+
+    private double nsPorOp(int i) {
+        return opsPorIteracao[i] > 0 ? (double) nanosPorIteracao[i] / opsPorIteracao[i] : 0.0;
+    }
+
+    public double getNsPorOpMedio() {
+        double soma = 0;
+        for (int i = 0; i < nanosPorIteracao.length; i++) soma += nsPorOp(i);
+        return nanosPorIteracao.length > 0 ? soma / nanosPorIteracao.length : 0.0;
+    }
+
+    public double getNsPorOpMinimo() {
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < nanosPorIteracao.length; i++) min = Math.min(min, nsPorOp(i));
+        return nanosPorIteracao.length > 0 ? min : 0.0;
+    }
+
+    public double getNsPorOpMaximo() {
+        double max = 0;
+        for (int i = 0; i < nanosPorIteracao.length; i++) max = Math.max(max, nsPorOp(i));
+        return max;
+    }
+
+    public double getDesvioPadrao() {
+        if (nanosPorIteracao.length < 2) return 0.0;
+        double media = getNsPorOpMedio();
+        double soma = 0;
+        for (int i = 0; i < nanosPorIteracao.length; i++) {
+            double d = nsPorOp(i) - media;
+            soma += d * d;
+        }
+        return Math.sqrt(soma / (nanosPorIteracao.length - 1));
+    }
+
+    public double getOpsPorSegundo() {
+        double ns = getNsPorOpMedio();
+        return ns > 0 ? 1e9 / ns : 0.0;
+    }
+
+    public String getNome() { return nome; }
+
+    public String resumo() {
+        return String.format(Locale.ROOT, "%-28s %-60s %14.1f ns/op  +/- %.1f", nome, parametros, getNsPorOpMedio(), getDesvioPadrao());
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"benchmark\":").append(Json.texto(nome));
+        sb.append(",\"parametros\":{");
+        boolean primeiro = true;
+        for (Map.Entry<String, String> p : parametros.entrySet()) {
+            if (!primeiro) sb.append(',');
+            sb.append(Json.texto(p.getKey())).append(':').append(Json.texto(p.getValue()));
+            primeiro = false;
+        }
+        sb.append("},\"iteracoes\":").append(nanosPorIteracao.length);
+        sb.append(",\"ns_por_op\":{");
+        sb.append("\"media\":").append(Json.numero(getNsPorOpMedio()));
+        sb.append(",\"min\":").append(Json.numero(getNsPorOpMinimo()));
+        sb.append(",\"max\":").append(Json.numero(getNsPorOpMaximo()));
+        sb.append(",\"desvio\":").append(Json.numero(getDesvioPadrao()));
+        sb.append("},\"ops_por_segundo\":").append(Json.numero(getOpsPorSegundo()));
+        sb.append(",\"amostras\":[");
+        for (int i = 0; i < nanosPorIteracao.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"ns\":").append(nanosPorIteracao[i]).append(",\"ops\":").append(opsPorIteracao[i]).append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
@@ -5,15 +5,39 @@ import modelo.TCB;
 public class CPU {
     EstadoCPU estado;
     TCB tarefaAtual;
+    private final int indice;          // Posição no Processador (núcleo 0, 1, ...)
+    private CustoTroca custoTroca = CustoTroca.SEM_CUSTO;
+    private TCB ultimaTarefa;          // Última tarefa carregada nesta CPU (contexto e cache dela)
+    private int sobrecargaRestante = 0; // Ticks de troca/despacho que faltam antes de tarefaAtual rodar
 
-    public CPU() {
+    public CPU(int indice) {
+        this.indice = indice;
         this.tarefaAtual = null;
         this.estado = EstadoCPU.OCIOSA;
     }
 
     void executaTarefa(){
         if(tarefaAtual != null){
-            tarefaAtual.executarTick();
+            if (sobrecargaRestante > 0) {
+                sobrecargaRestante--;
+                tarefaAtual.executarTickSobrecarga();
+            } else {
+                tarefaAtual.executarTick();
+            }
+        }
+    }
+
+    // Executa varios ticks de uma vez (ticks sem nenhum evento no meio).
+    // O salto nunca passa do fim da sobrecarga: o SO para no tick em que a tarefa começa a rodar
+    void executaTarefa(int ticks){
+        if(tarefaAtual != null){
+            if (sobrecargaRestante > 0) {
+                int sobrecarga = Math.min(ticks, sobrecargaRestante);
+                sobrecargaRestante -= sobrecarga;
+                tarefaAtual.executarTicksSobrecarga(sobrecarga);
+                ticks -= sobrecarga;
+            }
+            tarefaAtual.executarTicks(ticks);
         }
     }
 
@@ -21,13 +45,27 @@ public class CPU {
         return tarefaAtual;
     }
 
+    // Ticks de sobrecarga para carregar tcb agora (ver CustoTroca)
+    public int custoDespacho(TCB tcb) {
+        boolean outraTarefa = ultimaTarefa != tcb;
+        return custoTroca.calcular(ultimaTarefa != null && outraTarefa, outraTarefa);
+    }
+
     public void novoProcesso(TCB tcb) {
         estado = EstadoCPU.OCUPADA;
         this.tarefaAtual = tcb;
+        this.ultimaTarefa = tcb;
+        tcb.setNucleo(indice);
+    }
+
+    // A tarefa atual só começa a rodar depois de "ticks" de sobrecarga
+    public void iniciarSobrecarga(int ticks) {
+        this.sobrecargaRestante = ticks;
     }
 
     public void finalizarProcesso() {
         this.tarefaAtual = null;
+        this.sobrecargaRestante = 0;
         estado = EstadoCPU.OCIOSA;
     }
 
@@ -35,4 +73,9 @@ public class CPU {
     public EstadoCPU getEstado() {
         return estado;
     }
-}
\ No newline at end of file
+
+    public int getIndice() { return indice; }
+    public int getSobrecargaRestante() { return sobrecargaRestante; }
+    public CustoTroca getCustoTroca() { return custoTroca; }
+    public void setCustoTroca(CustoTroca custoTroca) { this.custoTroca = custoTroca; }
+}
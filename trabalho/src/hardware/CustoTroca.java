@@ -0,0 +1,54 @@
+package hardware;
+
+import java.util.Locale;
+
+// Custo, em ticks, de colocar uma tarefa numa CPU. Enquanto ele é pago a CPU fica ocupada com a
+// tarefa (estado DESPACHANDO no Gantt), mas a tarefa não avança:
+//  - troca:    salvar o contexto de outra tarefa que rodou por último nesta CPU e carregar o novo;
+//  - despacho: latência do despachante, paga a cada vez que uma tarefa ganha a CPU;
+//  - cache:    aquecimento da cache quando a tarefa não foi a última a rodar nesta CPU.
+// Devolver a CPU para a própria tarefa que acabou de sair dela (ex.: fim de quantum sem
+// concorrente) não custa nada. Tudo zero (SEM_CUSTO) reproduz o simulador sem sobrecarga.
+public class CustoTroca {
+
+    public static final CustoTroca SEM_CUSTO = new CustoTroca(0, 0, 0);
+
+    private final int ticksTroca;
+    private final int latenciaDespacho;
+    private final int penalidadeCache;
+
+    public CustoTroca(int ticksTroca, int latenciaDespacho, int penalidadeCache) {
+        if (ticksTroca < 0 || latenciaDespacho < 0 || penalidadeCache < 0) {
+            throw new IllegalArgumentException("Custos de troca não podem ser negativos: " +
+                    ticksTroca + ", " + latenciaDespacho + ", " + penalidadeCache);
+        }
+        this.ticksTroca = ticksTroca;
+        this.latenciaDespacho = latenciaDespacho;
+        this.penalidadeCache = penalidadeCache;
+    }
+
+    // Cópia com um dos custos alterado, pelo nome usado no arquivo de configuração
+    public CustoTroca com(String chave, int ticks) {
+        switch (chave.toLowerCase(Locale.ROOT)) {
+            case "troca": return new CustoTroca(ticks, latenciaDespacho, penalidadeCache);
+            case "despacho": return new CustoTroca(ticksTroca, ticks, penalidadeCache);
+            case "cache": return new CustoTroca(ticksTroca, latenciaDespacho, ticks);
+            default: throw new IllegalArgumentException("Custo desconhecido: '" + chave + "' (use troca, despacho ou cache)");
+        }
+    }
+
+    // Ticks de sobrecarga de um despacho
+    public int calcular(boolean trocaDeTarefa, boolean cacheFria) {
+        return latenciaDespacho + (trocaDeTarefa ? ticksTroca : 0) + (cacheFria ? penalidadeCache : 0);
+    }
+
+    public boolean isSemCusto() { return ticksTroca == 0 && latenciaDespacho == 0 && penalidadeCache == 0; }
+    public int getTicksTroca() { return ticksTroca; }
+    public int getLatenciaDespacho() { return latenciaDespacho; }
+    public int getPenalidadeCache() { return penalidadeCache; }
+
+    @Override
+    public String toString() {
+        return "troca=" + ticksTroca + "; despacho=" + latenciaDespacho + "; cache=" + penalidadeCache;
+    }
+}
@@ -1,7 +1,6 @@
 package hardware;
 
 import modelo.TCB;
-import simulador.Relogio;
 
 import java.util.ArrayList;
 
@@ -9,9 +8,14 @@ public class Processador {
     public ArrayList<CPU> nucleos;
 
     public Processador(int numeroDeNucleos) {
+        this(0, numeroDeNucleos);
+    }
+
+    // Núcleos primeiroNucleo, primeiroNucleo + 1, ... (fatia de uma máquina maior, ver NucleoParalelo)
+    public Processador(int primeiroNucleo, int numeroDeNucleos) {
         this.nucleos = new ArrayList<>();
         for (int i = 0; i < numeroDeNucleos; i++) {
-            nucleos.add(new CPU());
+            nucleos.add(new CPU(primeiroNucleo + i));
         }
     }
 
@@ -30,6 +34,12 @@ public class Processador {
         }
     }
 
+    public void executarProcessos(int ticks){
+        for (CPU cpu : nucleos) {
+            cpu.executaTarefa(ticks);
+        }
+    }
+
     public ArrayList<CPU> getNucleos() {
         return nucleos;
     }
@@ -0,0 +1,59 @@
+package modelo;
+
+// Quantidade de TCBs em cada estado, atualizada a cada transição do TCB.
+// Permite consultar o andamento da simulação (ex.: se todas terminaram) em O(1),
+// sem percorrer a lista de TCBs.
+public class ContadoresEstado {
+
+    private final int[] contagem;
+
+    public ContadoresEstado() {
+        this.contagem = new int[EstadoTarefa.values().length];
+    }
+
+    private ContadoresEstado(int[] contagem) {
+        this.contagem = contagem;
+    }
+
+    // Chamado pelo TCB; "de" é null quando o TCB acabou de ser criado
+    void transicao(EstadoTarefa de, EstadoTarefa para) {
+        if (de == para) return;
+        if (de != null) contagem[de.ordinal()]--;
+        contagem[para.ordinal()]++;
+    }
+
+    // Tarefa que sai desta contagem sem mudar de estado (passou para outro SO, ver TCB.vincular)
+    void remover(EstadoTarefa estado) {
+        contagem[estado.ordinal()]--;
+    }
+
+    // Soma as contagens de outro SO (consolidação dos fragmentos, ver NucleoParalelo)
+    public void somar(ContadoresEstado outra) {
+        for (int i = 0; i < contagem.length; i++) contagem[i] += outra.contagem[i];
+    }
+
+    public int get(EstadoTarefa estado) {
+        return contagem[estado.ordinal()];
+    }
+
+    public int total() {
+        int total = 0;
+        for (int c : contagem) total += c;
+        return total;
+    }
+
+    // Cópia independente, para exibição (não muda com a simulação)
+    public ContadoresEstado copia() {
+        return new ContadoresEstado(contagem.clone());
+    }
+
+    @Override
+    public String toString() {
+        int despachando = get(EstadoTarefa.DESPACHANDO);
+        return "Prontas: " + get(EstadoTarefa.PRONTA) +
+                (despachando > 0 ? " | Despachando: " + despachando : "") +
+                " | Executando: " + get(EstadoTarefa.EXECUTANDO) +
+                " | Bloqueadas: " + get(EstadoTarefa.BLOQUEADA) +
+                " | Finalizadas: " + get(EstadoTarefa.FINALIZADA);
+    }
+}
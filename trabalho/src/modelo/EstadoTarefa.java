@@ -5,7 +5,8 @@ public enum EstadoTarefa{
     PRONTA,
     EXECUTANDO,
     BLOQUEADA, // ja pensando na Defesa B segundo .txt de exemplo
-    FINALIZADA;
+    FINALIZADA,
+    DESPACHANDO; // Já escolhida para a CPU, pagando a troca de contexto/despacho (ver hardware.CustoTroca)
 
     public boolean ehFinalizada(){
         return this == FINALIZADA;
@@ -0,0 +1,49 @@
+package modelo;
+
+// Cumprimento de prazo das instâncias de UMA tarefa periódica (ver Tarefa).
+// lateness = conclusão - prazo absoluto (negativa quando sobra folga); tardiness = max(0, lateness).
+// Como o prazo relativo é o mesmo em todas as instâncias, lateness = (conclusão - chegada) - prazo:
+// basta um histograma do tempo de conclusão desde a chegada, e os percentis de lateness e de
+// tardiness saem dele deslocados (max(0, x) preserva a ordem, então preserva os percentis).
+public class EstatisticasPrazo {
+
+    private final String idTarefa;
+    private final int prazo;
+    private final HistogramaPercentis conclusao = new HistogramaPercentis();
+    private long perdas = 0;
+    private long somaAtraso = 0; // Soma das tardiness, para a média (que não sai do histograma)
+
+    public EstatisticasPrazo(String idTarefa, int prazo) {
+        if (prazo < 1) throw new IllegalArgumentException("Prazo deve ser pelo menos 1: " + prazo);
+        this.idTarefa = idTarefa;
+        this.prazo = prazo;
+    }
+
+    // Instância que concluiu ticks depois de chegar
+    public void registrar(int ticksAteConcluir) {
+        conclusao.registrar(ticksAteConcluir);
+        int lateness = ticksAteConcluir - prazo;
+        if (lateness > 0) {
+            perdas++;
+            somaAtraso += lateness;
+        }
+    }
+
+    public void somar(EstatisticasPrazo outra) {
+        conclusao.somar(outra.conclusao);
+        perdas += outra.perdas;
+        somaAtraso += outra.somaAtraso;
+    }
+
+    public String getIdTarefa() { return idTarefa; }
+    public int getPrazo() { return prazo; }
+    public long getInstancias() { return conclusao.getQuantidade(); }
+    public long getPerdas() { return perdas; }
+
+    public int percentilLateness(double p) { return conclusao.percentil(p) - prazo; }
+    public int percentilTardiness(double p) { return Math.max(0, percentilLateness(p)); }
+    public double getMediaLateness() { return conclusao.getMedia() - prazo; }
+    public double getMediaTardiness() { return getInstancias() == 0 ? 0.0 : (double) somaAtraso / getInstancias(); }
+    public int getMinimoLateness() { return conclusao.getMinimo() - prazo; }
+    public int getMaximoLateness() { return conclusao.getMaximo() - prazo; }
+}
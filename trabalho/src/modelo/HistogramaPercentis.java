@@ -0,0 +1,74 @@
+package modelo;
+
+// Histograma de memória fixa para percentis de valores inteiros >= 0 (no estilo do HdrHistogram).
+// Valores abaixo de 2^BITS_PRECISAO têm balde próprio (exatos); acima, cada potência de 2 é dividida
+// em 2^(BITS_PRECISAO-1) baldes, então o percentil sai com erro relativo menor que 1/64.
+// Registrar é O(1) e consultar percorre os 1664 baldes, não importa quantos valores entraram.
+public class HistogramaPercentis {
+
+    private static final int BITS_PRECISAO = 7;
+    private static final int BALDES_EXATOS = 1 << BITS_PRECISAO;           // 0..127
+    private static final int BALDES_POR_FAIXA = BALDES_EXATOS / 2;         // 64 por potência de 2
+    private static final int FAIXAS = 31 - BITS_PRECISAO;                  // 2^7 .. 2^31 - 1
+    private static final int QUANTIDADE_BALDES = BALDES_EXATOS + FAIXAS * BALDES_POR_FAIXA;
+
+    private final long[] contagem = new long[QUANTIDADE_BALDES];
+    private long quantidade = 0;
+    private long soma = 0;
+    private int minimo = Integer.MAX_VALUE;
+    private int maximo = 0;
+
+    public void registrar(int valor) {
+        if (valor < 0) throw new IllegalArgumentException("Valor negativo no histograma: " + valor);
+        contagem[indice(valor)]++;
+        quantidade++;
+        soma += valor;
+        if (valor < minimo) minimo = valor;
+        if (valor > maximo) maximo = valor;
+    }
+
+    private static int indice(int valor) {
+        if (valor < BALDES_EXATOS) return valor;
+        int expoente = 31 - Integer.numberOfLeadingZeros(valor); // >= BITS_PRECISAO
+        int deslocamento = expoente - (BITS_PRECISAO - 1);
+        int sub = (valor >>> deslocamento) - BALDES_POR_FAIXA;     // 0..63
+        return BALDES_EXATOS + (expoente - BITS_PRECISAO) * BALDES_POR_FAIXA + sub;
+    }
+
+    // Maior valor que cai no balde
+    private static int limiteSuperior(int indice) {
+        if (indice < BALDES_EXATOS) return indice;
+        int faixa = (indice - BALDES_EXATOS) / BALDES_POR_FAIXA;
+        int sub = (indice - BALDES_EXATOS) % BALDES_POR_FAIXA + BALDES_POR_FAIXA;
+        int deslocamento = faixa + 1;
+        return (int) Math.min(Integer.MAX_VALUE, (((long) sub + 1) << deslocamento) - 1);
+    }
+
+    // Acrescenta os registros de outro histograma (ex.: de outro fragmento da simulação)
+    public void somar(HistogramaPercentis outro) {
+        for (int i = 0; i < QUANTIDADE_BALDES; i++) contagem[i] += outro.contagem[i];
+        quantidade += outro.quantidade;
+        soma += outro.soma;
+        if (outro.minimo < minimo) minimo = outro.minimo;
+        if (outro.maximo > maximo) maximo = outro.maximo;
+    }
+
+    // Percentil (0 < p <= 100): o menor valor v tal que pelo menos p% dos registros são <= v
+    // (aproximado pelo balde); 0 se vazio
+    public int percentil(double p) {
+        if (p <= 0 || p > 100) throw new IllegalArgumentException("Percentil fora de (0, 100]: " + p);
+        if (quantidade == 0) return 0;
+        long alvo = Math.max(1, (long) Math.ceil(p / 100.0 * quantidade));
+        long acumulado = 0;
+        for (int i = 0; i < QUANTIDADE_BALDES; i++) {
+            acumulado += contagem[i];
+            if (acumulado >= alvo) return Math.max(minimo, Math.min(maximo, limiteSuperior(i)));
+        }
+        return maximo;
+    }
+
+    public long getQuantidade() { return quantidade; }
+    public double getMedia() { return quantidade == 0 ? 0.0 : (double) soma / quantidade; }
+    public int getMinimo() { return quantidade == 0 ? 0 : minimo; }
+    public int getMaximo() { return maximo; }
+}
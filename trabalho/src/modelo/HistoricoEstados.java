@@ -0,0 +1,73 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Histórico de estados de todas as tarefas de uma simulação (base do gráfico de Gantt),
+// sem depender do Swing: serve para a interface, para execuções sem tela e para exportações.
+// Cada tarefa tem uma LinhaDoTempo compactada em trechos, então a memória cresce com o número
+// de mudanças de estado e não com tarefas x ticks.
+// Só as mudanças são registradas (ver TransicoesEstado); o último estado de cada tarefa vale até
+// o último tick do histórico, que avancar() move sem tocar nas linhas.
+public class HistoricoEstados {
+
+    private final Map<String, LinhaDoTempo> linhas = new HashMap<>();
+    private final List<String> ids = new ArrayList<>(); // Ordem de chegada ao histórico
+    private int ultimoTick = -1;
+
+    public void registrar(String id, int tick, EstadoTarefa estado) {
+        LinhaDoTempo linha = linhas.get(id);
+        if (linha == null) {
+            linha = new LinhaDoTempo();
+            linhas.put(id, linha);
+            ids.add(id);
+        }
+        linha.registrar(tick, estado);
+        avancar(tick);
+    }
+
+    // O histórico passa a cobrir até o tick (tarefas sem mudança continuam no último estado)
+    public void avancar(int tick) {
+        if (tick > ultimoTick) ultimoTick = tick;
+    }
+
+    public LinhaDoTempo getLinha(String id) {
+        return linhas.get(id);
+    }
+
+    // Estado da tarefa no tick, ou null se ela não tem registro nele
+    public EstadoTarefa estadoEm(String id, int tick) {
+        LinhaDoTempo linha = linhas.get(id);
+        return linha == null || tick > ultimoTick ? null : linha.estadoEm(tick);
+    }
+
+    public List<String> getIds() {
+        return Collections.unmodifiableList(ids);
+    }
+
+    public int quantidadeTarefas() { return ids.size(); }
+    public int getUltimoTick() { return ultimoTick; }
+    public boolean isEmpty() { return ids.isEmpty(); }
+
+    public long quantidadeTrechos() {
+        long total = 0;
+        for (LinhaDoTempo linha : linhas.values()) total += linha.quantidadeTrechos();
+        return total;
+    }
+
+    // Memória dos trechos (aproximada, sem contar os ids e os mapas)
+    public long bytesUsados() {
+        long total = 0;
+        for (LinhaDoTempo linha : linhas.values()) total += linha.bytesUsados();
+        return total;
+    }
+
+    public void limpar() {
+        linhas.clear();
+        ids.clear();
+        ultimoTick = -1;
+    }
+}
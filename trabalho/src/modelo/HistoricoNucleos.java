@@ -0,0 +1,62 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Histórico de ocupação dos núcleos (Gantt com uma linha por núcleo), montado a partir das mesmas
+// transições que alimentam o HistoricoEstados: a tarefa ocupa o núcleo ao entrar em EXECUTANDO ou
+// DESPACHANDO e o libera ao sair desses estados.
+// Cada LinhaDoNucleo guarda códigos: 2 * índice da tarefa + 1 se o trecho é sobrecarga de despacho.
+public class HistoricoNucleos {
+
+    private final List<LinhaDoNucleo> linhas = new ArrayList<>();
+    private final List<String> ids = new ArrayList<>();          // Índice da tarefa -> id
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    // Aplica uma transição de estado de uma tarefa no núcleo (ignorada se nucleo < 0)
+    public void registrar(String id, int nucleo, int tick, EstadoTarefa estado) {
+        if (nucleo < 0) return;
+        garantirNucleos(nucleo + 1);
+        LinhaDoNucleo linha = linhas.get(nucleo);
+        if (estado == EstadoTarefa.EXECUTANDO || estado == EstadoTarefa.DESPACHANDO) {
+            linha.registrar(tick, 2 * indice(id) + (estado == EstadoTarefa.DESPACHANDO ? 1 : 0));
+        } else {
+            // Só libera se a tarefa ainda é quem está no núcleo
+            Integer i = indices.get(id);
+            int ocupante = linha.getUltimoOcupante();
+            if (i != null && ocupante != LinhaDoNucleo.LIVRE && ocupante / 2 == i) {
+                linha.registrar(tick, LinhaDoNucleo.LIVRE);
+            }
+        }
+    }
+
+    private int indice(String id) {
+        Integer i = indices.get(id);
+        if (i == null) {
+            i = ids.size();
+            ids.add(id);
+            indices.put(id, i);
+        }
+        return i;
+    }
+
+    // Núcleos que ainda não rodaram nada também aparecem (ociosos)
+    public void garantirNucleos(int quantidade) {
+        while (linhas.size() < quantidade) linhas.add(new LinhaDoNucleo());
+    }
+
+    public LinhaDoNucleo getLinha(int nucleo) { return linhas.get(nucleo); }
+    public int quantidadeNucleos() { return linhas.size(); }
+
+    // Decodificação dos ocupantes (diferentes de LinhaDoNucleo.LIVRE)
+    public String getId(int ocupante) { return ids.get(ocupante / 2); }
+    public static boolean ehSobrecarga(int ocupante) { return (ocupante & 1) == 1; }
+
+    public void limpar() {
+        linhas.clear();
+        ids.clear();
+        indices.clear();
+    }
+}
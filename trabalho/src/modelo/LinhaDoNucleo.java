@@ -0,0 +1,69 @@
+package modelo;
+
+import java.util.Arrays;
+
+// Ocupação de UM núcleo ao longo do tempo, em trechos como a LinhaDoTempo: (tick inicial, ocupante).
+// O ocupante é um código definido pelo HistoricoNucleos (tarefa e se está pagando a sobrecarga de
+// despacho) ou LIVRE. Os trechos são contíguos: cada um vai até o início do seguinte e o último
+// fica aberto. Registrar de novo no tick em que o último trecho começou substitui o ocupante dele.
+public class LinhaDoNucleo {
+
+    public static final int LIVRE = -1;
+    private static final int CAPACIDADE_INICIAL = 8;
+
+    private int[] inicios = new int[CAPACIDADE_INICIAL];
+    private int[] ocupantes = new int[CAPACIDADE_INICIAL];
+    private int trechos = 0;
+
+    public void registrar(int tick, int ocupante) {
+        if (trechos == 0) {
+            if (ocupante != LIVRE) adicionarTrecho(tick, ocupante);
+            return;
+        }
+        int ultimo = trechos - 1;
+        if (tick < inicios[ultimo]) {
+            throw new IllegalArgumentException("Tick " + tick + " anterior à última mudança (" + inicios[ultimo] + ")");
+        }
+        if (ocupantes[ultimo] == ocupante) return;
+
+        if (tick == inicios[ultimo]) {
+            // Várias mudanças no mesmo tick: vale a última
+            trechos--;
+            if (trechos == 0 ? ocupante == LIVRE : ocupantes[trechos - 1] == ocupante) return;
+        }
+        adicionarTrecho(tick, ocupante);
+    }
+
+    private void adicionarTrecho(int inicio, int ocupante) {
+        if (trechos == inicios.length) {
+            inicios = Arrays.copyOf(inicios, trechos * 2);
+            ocupantes = Arrays.copyOf(ocupantes, trechos * 2);
+        }
+        inicios[trechos] = inicio;
+        ocupantes[trechos] = ocupante;
+        trechos++;
+    }
+
+    // Ocupante no tick (LIVRE antes do primeiro registro; depois do último vale o último)
+    public int ocupanteEm(int tick) {
+        int i = Arrays.binarySearch(inicios, 0, trechos, tick);
+        if (i < 0) i = -i - 2;
+        return i < 0 ? LIVRE : ocupantes[i];
+    }
+
+    // Índice do trecho que contém o tick ou, se ele for anterior a todos, 0
+    public int primeiroTrechoAPartirDe(int tick) {
+        int i = Arrays.binarySearch(inicios, 0, trechos, tick);
+        if (i < 0) i = -i - 2;
+        return Math.max(0, i);
+    }
+
+    // Ocupante do último trecho (LIVRE se vazia)
+    public int getUltimoOcupante() { return trechos == 0 ? LIVRE : ocupantes[trechos - 1]; }
+
+    public int quantidadeTrechos() { return trechos; }
+    public int getInicioTrecho(int i) { return inicios[i]; }
+    // Fim exclusivo; o último trecho é aberto (Integer.MAX_VALUE)
+    public int getFimTrecho(int i) { return i + 1 < trechos ? inicios[i + 1] : Integer.MAX_VALUE; }
+    public int getOcupanteTrecho(int i) { return ocupantes[i]; }
+}
@@ -0,0 +1,145 @@
+package modelo;
+
+import java.util.Arrays;
+
+// Histórico de estados de UMA tarefa, compactado em trechos (run-length):
+// cada trecho é (tick inicial, comprimento, estado) guardado em arrays primitivos.
+// Uma tarefa que fica 1000 ticks PRONTA ocupa um trecho, não 1000 posições.
+//
+// Só se registram mudanças, e os ticks só avançam: registrar(tick, estado) diz que a tarefa está no
+// estado a partir do tick, e o estado anterior vale até tick - 1. O último trecho fica aberto
+// (vale até o fim da simulação, que quem consulta conhece; ver HistoricoEstados), então tarefas
+// paradas no mesmo estado não custam nada por tick.
+// Registrar de novo no tick em que o último trecho começou substitui o estado dele.
+// A consulta por tick é uma busca binária nos trechos, O(log n).
+//
+// Para resumir intervalos longos (Gantt com pouco zoom), cada trecho guarda também quantos ticks
+// a tarefa passou PRONTA, EXECUTANDO e BLOQUEADA antes dele (soma de prefixos). Assim o tempo em
+// cada estado dentro de qualquer intervalo sai em O(log n), sem percorrer os trechos.
+public class LinhaDoTempo {
+
+    private static final int CAPACIDADE_INICIAL = 4;
+    private static final EstadoTarefa[] ESTADOS = EstadoTarefa.values();
+    private static final int ABERTO = Integer.MAX_VALUE; // Fim (exclusivo) do último trecho
+
+    private int[] inicios = new int[CAPACIDADE_INICIAL];
+    private int[] comprimentos = new int[CAPACIDADE_INICIAL];
+    private byte[] estados = new byte[CAPACIDADE_INICIAL];
+    // ticksAntes[k][i]: ticks no estado k (ver indiceAcumulado) nos trechos 0..i-1
+    private int[][] ticksAntes = new int[4][CAPACIDADE_INICIAL];
+    private int trechos = 0;
+
+    public void registrar(int tick, EstadoTarefa estado) {
+        byte codigo = (byte) estado.ordinal();
+
+        if (trechos == 0) {
+            adicionarTrecho(tick, codigo);
+            return;
+        }
+
+        int ultimo = trechos - 1;
+        if (tick < inicios[ultimo]) {
+            throw new IllegalArgumentException("Tick " + tick + " anterior à última mudança (" + inicios[ultimo] + ")");
+        }
+        if (estados[ultimo] == codigo) return;
+
+        if (tick == inicios[ultimo]) {
+            // Várias mudanças no mesmo tick: vale a última
+            trechos--;
+            if (trechos > 0 && estados[trechos - 1] == codigo) {
+                comprimentos[trechos - 1] = ABERTO - inicios[trechos - 1];
+                return;
+            }
+        } else {
+            comprimentos[ultimo] = tick - inicios[ultimo];
+        }
+        adicionarTrecho(tick, codigo);
+    }
+
+    private void adicionarTrecho(int inicio, byte codigo) {
+        if (trechos == inicios.length) {
+            int capacidade = inicios.length * 2;
+            inicios = Arrays.copyOf(inicios, capacidade);
+            comprimentos = Arrays.copyOf(comprimentos, capacidade);
+            estados = Arrays.copyOf(estados, capacidade);
+            for (int k = 0; k < ticksAntes.length; k++) ticksAntes[k] = Arrays.copyOf(ticksAntes[k], capacidade);
+        }
+        // O trecho anterior não muda mais de tamanho (só o último cresce), então o prefixo é definitivo
+        int anterior = trechos - 1;
+        int kAnterior = anterior >= 0 ? indiceAcumulado(estados[anterior]) : -1;
+        for (int k = 0; k < ticksAntes.length; k++) {
+            ticksAntes[k][trechos] = anterior < 0 ? 0
+                    : ticksAntes[k][anterior] + (k == kAnterior ? comprimentos[anterior] : 0);
+        }
+        inicios[trechos] = inicio;
+        comprimentos[trechos] = ABERTO - inicio;
+        estados[trechos] = codigo;
+        trechos++;
+    }
+
+    private static int indiceAcumulado(int codigo) {
+        if (codigo == EstadoTarefa.PRONTA.ordinal()) return 0;
+        if (codigo == EstadoTarefa.EXECUTANDO.ordinal()) return 1;
+        if (codigo == EstadoTarefa.BLOQUEADA.ordinal()) return 2;
+        if (codigo == EstadoTarefa.DESPACHANDO.ordinal()) return 3;
+        return -1;
+    }
+
+    // Índice do trecho que contém o tick, ou -1 se for antes do primeiro registro
+    public int indiceTrechoEm(int tick) {
+        int i = Arrays.binarySearch(inicios, 0, trechos, tick);
+        if (i < 0) i = -i - 2; // Último trecho que começa antes do tick
+        if (i < 0 || tick >= inicios[i] + comprimentos[i]) return -1;
+        return i;
+    }
+
+    // Estado no tick, ou null se for antes do primeiro registro (depois do último vale o último estado)
+    public EstadoTarefa estadoEm(int tick) {
+        int i = indiceTrechoEm(tick);
+        return i < 0 ? null : ESTADOS[estados[i]];
+    }
+
+    // Índice do trecho que contém o tick ou, se não houver, do primeiro que começa depois dele
+    // (igual a quantidadeTrechos() se não houver nenhum)
+    public int primeiroTrechoAPartirDe(int tick) {
+        int i = Arrays.binarySearch(inicios, 0, trechos, tick);
+        if (i >= 0) return i;
+        i = -i - 2;
+        if (i >= 0 && tick < inicios[i] + comprimentos[i]) return i;
+        return i + 1;
+    }
+
+    // Quantos ticks de [de, ate) a tarefa passou no estado (PRONTA, DESPACHANDO, EXECUTANDO ou BLOQUEADA), em O(log n)
+    public int ticksNoEstado(EstadoTarefa estado, int de, int ate) {
+        int k = indiceAcumulado(estado.ordinal());
+        if (k < 0) throw new IllegalArgumentException("Sem contagem acumulada para " + estado);
+        if (ate <= de) return 0;
+        return ticksAntesDe(k, ate) - ticksAntesDe(k, de);
+    }
+
+    private int ticksAntesDe(int k, int tick) {
+        int i = Arrays.binarySearch(inicios, 0, trechos, tick - 1);
+        if (i < 0) i = -i - 2; // Último trecho que começa antes de tick
+        if (i < 0) return 0;
+        int total = ticksAntes[k][i];
+        if (indiceAcumulado(estados[i]) == k) total += Math.min(comprimentos[i], tick - inicios[i]);
+        return total;
+    }
+
+    public int quantidadeTrechos() { return trechos; }
+    public int getInicioTrecho(int i) { return inicios[i]; }
+    // O último trecho é aberto: o comprimento vai até Integer.MAX_VALUE (inicio + comprimento não estoura)
+    public int getComprimentoTrecho(int i) { return comprimentos[i]; }
+    public EstadoTarefa getEstadoTrecho(int i) { return ESTADOS[estados[i]]; }
+
+    // Primeiro tick registrado, ou -1 se vazia
+    public int getPrimeiroTick() { return trechos == 0 ? -1 : inicios[0]; }
+
+    // Tick da última mudança registrada, ou -1 se vazia
+    public int getUltimaMudanca() { return trechos == 0 ? -1 : inicios[trechos - 1]; }
+
+    // Memória ocupada pelos arrays (aproximada)
+    public long bytesUsados() {
+        return (long) inicios.length * (Integer.BYTES * (2 + ticksAntes.length) + 1);
+    }
+}
@@ -0,0 +1,205 @@
+package modelo;
+
+import simulador.Relogio;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Métricas de escalonamento mantidas a cada transição de estado dos TCBs, sem percorrer a lista:
+// por tarefa (no próprio TCB): espera na fila de prontos, tempo de resposta, turnaround e preempções;
+// globais: utilização da CPU, sobrecarga de troca/despacho, vazão e histogramas de percentis
+// (turnaround, espera e resposta), de memória fixa mesmo com milhões de tarefas.
+// Tudo pode ser consultado em qualquer tick.
+//
+// Convenções (o resumo em lote, ver ExecutorEmLote, usa estas métricas):
+//  - turnaround = tickTermino + 1 - chegada (a tarefa conclui no fim do último tick executado);
+//  - espera = ticks no estado PRONTA (bloqueios não contam);
+//  - resposta = primeiro tick executando - chegada (a sobrecarga do despacho entra na resposta);
+//  - sobrecarga = ticks de CPU gastos com troca de contexto, despacho e cache (estado DESPACHANDO);
+//  - preempção = sair da CPU ainda pronta para rodar (fim de quantum, chegada de tarefa mais
+//    prioritária...). Se no mesmo tick a tarefa volta à CPU ou bloqueia, não conta.
+//  - prazo perdido = tarefa com prazo (ver Tarefa) que conclui depois do prazo absoluto; o atraso
+//    (tardiness) é quanto depois. Tarefas periódicas têm também estatísticas por tarefa
+//    (EstatisticasPrazo), somando todas as instâncias.
+//  - participação (só com medirParticipacao, ligada pelo SO no stride e na loteria): desvio entre o que
+//    cada tarefa executou e a parte da CPU a que os bilhetes davam direito (ver ParticipacaoCPU).
+public class MetricasSimulacao {
+
+    private final Relogio relogio;
+    private final int nucleos;
+
+    private final HistogramaPercentis turnaround = new HistogramaPercentis();
+    private final HistogramaPercentis espera = new HistogramaPercentis();
+    private final HistogramaPercentis resposta = new HistogramaPercentis();
+    private long admitidas = 0;
+    private long finalizadas = 0;
+    private long preempcoes = 0;
+    private long ticksExecutados = 0; // Soma dos ticks de CPU usados por todas as tarefas
+    private long ticksSobrecarga = 0; // Ticks de CPU gastos em troca de contexto/despacho
+    private long despachosComCusto = 0;
+    private int fimExecucao = 0;      // Tick seguinte ao último executado
+
+    private final HistogramaPercentis atraso = new HistogramaPercentis();
+    private long finalizadasComPrazo = 0;
+    private long prazosPerdidos = 0;
+    private final Map<String, EstatisticasPrazo> prazosPorTarefa = new LinkedHashMap<>(); // Só periódicas
+
+    private ParticipacaoCPU participacao;  // null sem medirParticipacao
+
+    public MetricasSimulacao(Relogio relogio, int nucleos) {
+        this.relogio = relogio;
+        this.nucleos = nucleos;
+    }
+
+    // Liga a medição de participação (ver comentário da classe); antes de qualquer TCB ser criado
+    public void medirParticipacao() {
+        if (participacao == null) participacao = new ParticipacaoCPU(nucleos);
+    }
+
+    // Chamado pelo TCB antes de trocar o estado; "de" é null quando o TCB acabou de ser criado
+    void transicao(TCB tcb, EstadoTarefa de, EstadoTarefa para, int tick) {
+        if (participacao != null) {
+            boolean estava = de != null && disputaCPU(de);
+            if (!estava && disputaCPU(para)) participacao.entrar(tcb, tick);
+            else if (estava && !disputaCPU(para)) {
+                // Quem finaliza usou a CPU até o fim do tick
+                participacao.sair(tcb, para == EstadoTarefa.FINALIZADA ? tick + 1 : tick);
+                if (para == EstadoTarefa.FINALIZADA) participacao.registrarFinalizada(tcb);
+            }
+        }
+
+        if (de == null) {
+            admitidas++;
+        } else if (de == EstadoTarefa.PRONTA) {
+            tcb.acumularEspera(tick - tcb.getTickUltimaTransicao());
+        }
+
+        if (de == EstadoTarefa.EXECUTANDO && para == EstadoTarefa.PRONTA) {
+            // Provisória: o SO tira da CPU passando por PRONTA também antes de bloquear
+            tcb.registrarPreempcao(tick);
+            preempcoes++;
+        } else if (de == EstadoTarefa.PRONTA && tcb.getTickUltimaPreempcao() == tick) {
+            // Saiu da CPU e, no mesmo tick, voltou a ela (fim de quantum sem concorrente) ou bloqueou
+            tcb.desfazerPreempcao();
+            preempcoes--;
+        }
+
+        if (para == EstadoTarefa.DESPACHANDO) despachosComCusto++;
+
+        if (para == EstadoTarefa.EXECUTANDO && tcb.getTickPrimeiraExecucao() < 0) {
+            tcb.setTickPrimeiraExecucao(tick);
+            resposta.registrar(tick - tcb.getTarefa().getInicio());
+        } else if (para == EstadoTarefa.FINALIZADA) {
+            finalizadas++;
+            turnaround.registrar(tick + 1 - tcb.getTarefa().getInicio());
+            espera.registrar(tcb.getEsperaAcumulada());
+            if (tcb.getTarefa().temPrazo()) registrarPrazo(tcb.getTarefa(), tick + 1);
+        }
+    }
+
+    private void registrarPrazo(Tarefa tarefa, int conclusao) {
+        finalizadasComPrazo++;
+        int lateness = (int) Math.max(Integer.MIN_VALUE, (long) conclusao - tarefa.getPrazoAbsoluto());
+        if (lateness > 0) prazosPerdidos++;
+        atraso.registrar(Math.max(0, lateness));
+        if (tarefa.ehPeriodica()) {
+            prazosPorTarefa.computeIfAbsent(tarefa.getIdTarefa(), id -> new EstatisticasPrazo(id, tarefa.getPrazo()))
+                    .registrar(conclusao - tarefa.getInicio());
+        }
+    }
+
+    private static boolean disputaCPU(EstadoTarefa estado) {
+        return estado == EstadoTarefa.PRONTA || estado == EstadoTarefa.EXECUTANDO || estado == EstadoTarefa.DESPACHANDO;
+    }
+
+    // TCB que muda de SO (ver TCB.vincular): sai da disputa neste e entra na do outro
+    void desvincular(TCB tcb, EstadoTarefa estado) {
+        if (participacao != null && disputaCPU(estado)) participacao.sair(tcb, relogio.getTickAtual());
+    }
+
+    void vincular(TCB tcb, EstadoTarefa estado) {
+        if (participacao != null && disputaCPU(estado)) participacao.entrar(tcb, relogio.getTickAtual());
+    }
+
+    // Chamado pelo TCB ao executar; "fim" é o tick seguinte ao último executado
+    void ticksExecutados(int ticks, int fim) {
+        ticksExecutados += ticks;
+        if (fim > fimExecucao) fimExecucao = fim;
+    }
+
+    // Chamado pelo TCB a cada tick (ou salto) de sobrecarga na CPU
+    void ticksSobrecarga(int ticks, int fim) {
+        ticksSobrecarga += ticks;
+        if (fim > fimExecucao) fimExecucao = fim;
+    }
+
+    // Acrescenta as métricas de outro SO que simulou parte dos núcleos no mesmo intervalo de tempo
+    // (fragmentos do NucleoParalelo); os núcleos e o relógio continuam os desta simulação
+    public void somar(MetricasSimulacao outra) {
+        turnaround.somar(outra.turnaround);
+        espera.somar(outra.espera);
+        resposta.somar(outra.resposta);
+        admitidas += outra.admitidas;
+        finalizadas += outra.finalizadas;
+        preempcoes += outra.preempcoes;
+        ticksExecutados += outra.ticksExecutados;
+        ticksSobrecarga += outra.ticksSobrecarga;
+        despachosComCusto += outra.despachosComCusto;
+        fimExecucao = Math.max(fimExecucao, outra.fimExecucao);
+        atraso.somar(outra.atraso);
+        finalizadasComPrazo += outra.finalizadasComPrazo;
+        prazosPerdidos += outra.prazosPerdidos;
+        for (EstatisticasPrazo e : outra.prazosPorTarefa.values()) {
+            prazosPorTarefa.computeIfAbsent(e.getIdTarefa(), id -> new EstatisticasPrazo(id, e.getPrazo())).somar(e);
+        }
+        // Cada fragmento reparte os próprios núcleos entre as próprias tarefas; aqui só se juntam os desvios
+        if (outra.participacao != null) {
+            medirParticipacao();
+            participacao.somar(outra.participacao);
+        }
+    }
+
+    // Ticks já decorridos (o relógio aponta para o próximo tick a executar)
+    public int getTicksDecorridos() {
+        return Math.max(relogio.getTickAtual(), fimExecucao);
+    }
+
+    // Fração do tempo disponível (ticks x núcleos) em que as CPUs executaram alguma tarefa (sem a sobrecarga)
+    public double getUtilizacaoCPU() {
+        long disponivel = (long) getTicksDecorridos() * nucleos;
+        return disponivel == 0 ? 0.0 : Math.min(1.0, (double) ticksExecutados / disponivel);
+    }
+
+    // Fração do tempo disponível gasta com troca de contexto/despacho (as CPUs ocupadas sem progresso)
+    public double getFracaoSobrecarga() {
+        long disponivel = (long) getTicksDecorridos() * nucleos;
+        return disponivel == 0 ? 0.0 : Math.min(1.0, (double) ticksSobrecarga / disponivel);
+    }
+
+    // Tarefas finalizadas por tick
+    public double getVazao() {
+        int decorridos = getTicksDecorridos();
+        return decorridos == 0 ? 0.0 : (double) finalizadas / decorridos;
+    }
+
+    public long getAdmitidas() { return admitidas; }
+    public long getFinalizadas() { return finalizadas; }
+    public long getPreempcoes() { return preempcoes; }
+    public long getTicksExecutados() { return ticksExecutados; }
+    public long getTicksSobrecarga() { return ticksSobrecarga; }
+    public long getDespachosComCusto() { return despachosComCusto; }
+    public int getNucleos() { return nucleos; }
+    // Os histogramas só contam tarefas já finalizadas (resposta: que já usaram a CPU)
+    public HistogramaPercentis getTurnaround() { return turnaround; }
+    public HistogramaPercentis getEspera() { return espera; }
+    public HistogramaPercentis getResposta() { return resposta; }
+    public long getFinalizadasComPrazo() { return finalizadasComPrazo; }
+    public long getPrazosPerdidos() { return prazosPerdidos; }
+    public HistogramaPercentis getAtraso() { return atraso; }
+    // Na ordem em que cada tarefa periódica concluiu a primeira instância
+    public Collection<EstatisticasPrazo> getPrazosPorTarefa() { return Collections.unmodifiableCollection(prazosPorTarefa.values()); }
+    // null fora do stride e da loteria
+    public ParticipacaoCPU getParticipacao() { return participacao; }
+}
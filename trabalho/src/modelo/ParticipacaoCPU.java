@@ -0,0 +1,141 @@
+package modelo;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Participação justa na CPU (stride e loteria): quanto cada tarefa teve direito a executar e quanto
+// o que ela executou se afastou disso.
+// Direito = divisão fluida e proporcional aos bilhetes dos núcleos entre as tarefas prontas para rodar
+// (na fila, despachando ou executando), com o limite de um núcleo por tarefa: a cada tick a tarefa i
+// tem direito a min(1, lambda * bilhetes_i), com lambda tal que a soma dá min(núcleos, tarefas prontas)
+// (water-filling). Limitadas são sempre as de mais bilhetes, e nunca mais que núcleos - 1 delas quando
+// há mais prontas que núcleos, então basta olhar os maiores valores de bilhetes.
+// Entre mudanças do conjunto de prontas lambda é constante: as não limitadas acumulam direito por
+// bilhete (porBilhete, somado para todas de uma vez) e as limitadas, um tick por tick. Cada TCB guarda
+// a marca de onde começou a acumular e acerta a conta ao sair ou ao mudar de regime: O(log n + núcleos)
+// por transição, com qualquer número de tarefas.
+// O tempo é o do relógio (tick de cada transição; quem finaliza sai no fim do tick), não o executado,
+// então a sobrecarga de troca e os núcleos ociosos com tarefa pronta aparecem como desvio.
+public class ParticipacaoCPU {
+
+    private final int nucleos;
+    private final NavigableMap<Integer, LinkedHashSet<TCB>> prontas = new TreeMap<>(); // Por bilhetes
+    private int quantidade = 0;
+    private long bilhetes = 0;
+    private int limiar = Integer.MAX_VALUE;  // Tarefas com pelo menos esses bilhetes estão limitadas a 1
+    private double lambda = 0;               // Direito por bilhete por tick das não limitadas
+    private double porBilhete = 0;           // Soma de lambda no tempo
+    private int ultimoInstante = 0;
+
+    private final HistogramaPercentis desvio = new HistogramaPercentis(); // |desvio| em ticks
+    private double somaDesvios = 0;
+    private double maiorDesvio = 0;
+    private long ticksExecutados = 0;        // Pelas tarefas finalizadas
+
+    public ParticipacaoCPU(int nucleos) {
+        if (nucleos < 1) throw new IllegalArgumentException("Núcleos deve ser pelo menos 1: " + nucleos);
+        this.nucleos = nucleos;
+    }
+
+    // Tarefa passa a disputar a CPU no instante informado
+    void entrar(TCB tcb, int instante) {
+        avancar(instante);
+        int b = tcb.getBilhetes();
+        tcb.setMarcaDireito(b >= limiar ? ultimoInstante : porBilhete);
+        prontas.computeIfAbsent(b, chave -> new LinkedHashSet<>()).add(tcb);
+        quantidade++;
+        bilhetes += b;
+        recalcular();
+    }
+
+    // Tarefa deixa de disputar a CPU (bloqueou, finalizou ou mudou de SO): acerta o direito dela
+    void sair(TCB tcb, int instante) {
+        avancar(instante);
+        acertar(tcb, tcb.getBilhetes() >= limiar);
+        int b = tcb.getBilhetes();
+        LinkedHashSet<TCB> mesmas = prontas.get(b);
+        mesmas.remove(tcb);
+        if (mesmas.isEmpty()) prontas.remove(b);
+        quantidade--;
+        bilhetes -= b;
+        recalcular();
+    }
+
+    // Tarefa finalizada: o direito dela está completo
+    void registrarFinalizada(TCB tcb) {
+        double d = Math.abs(tcb.getTempoExecutado() - tcb.getDireitoCPU());
+        desvio.registrar((int) Math.min(Integer.MAX_VALUE, Math.round(d)));
+        somaDesvios += d;
+        maiorDesvio = Math.max(maiorDesvio, d);
+        ticksExecutados += tcb.getTempoExecutado();
+    }
+
+    // Junta os desvios de outro SO (fragmento do NucleoParalelo), que repartiu os próprios núcleos
+    void somar(ParticipacaoCPU outra) {
+        desvio.somar(outra.desvio);
+        somaDesvios += outra.somaDesvios;
+        maiorDesvio = Math.max(maiorDesvio, outra.maiorDesvio);
+        ticksExecutados += outra.ticksExecutados;
+    }
+
+    private void avancar(int instante) {
+        if (instante <= ultimoInstante) return;
+        porBilhete += lambda * (instante - ultimoInstante);
+        ultimoInstante = instante;
+    }
+
+    // Soma ao direito da tarefa o acumulado desde a marca, no regime em que ela estava, e remarca
+    private void acertar(TCB tcb, boolean limitada) {
+        if (limitada) tcb.acumularDireito(ultimoInstante - tcb.getMarcaDireito());
+        else tcb.acumularDireito(tcb.getBilhetes() * (porBilhete - tcb.getMarcaDireito()));
+        tcb.setMarcaDireito(limitada ? porBilhete : ultimoInstante);
+    }
+
+    // Water-filling: limita, dos maiores bilhetes para os menores, quem teria direito a mais de um núcleo
+    // com o que sobrou para as demais. Tarefas com os mesmos bilhetes são limitadas juntas
+    private void recalcular() {
+        int novoLimiar = Integer.MAX_VALUE;
+        double novoLambda = 0;
+        if (quantidade > 0 && quantidade <= nucleos) {
+            novoLimiar = prontas.firstKey(); // Um núcleo para cada
+        } else if (quantidade > nucleos) {
+            long livres = nucleos;
+            long resto = bilhetes;
+            for (Map.Entry<Integer, LinkedHashSet<TCB>> e : prontas.descendingMap().entrySet()) {
+                int b = e.getKey();
+                if (livres * b < resto) break;
+                livres -= e.getValue().size();
+                resto -= (long) b * e.getValue().size();
+                novoLimiar = b;
+            }
+            novoLambda = (double) livres / resto;
+        }
+        // Quem mudou de regime acerta a conta no regime antigo
+        if (novoLimiar < limiar) {
+            for (LinkedHashSet<TCB> mesmas : prontas.subMap(novoLimiar, true, limiar, false).values()) {
+                for (TCB tcb : mesmas) acertar(tcb, false);
+            }
+        } else if (novoLimiar > limiar) {
+            for (LinkedHashSet<TCB> mesmas : prontas.subMap(limiar, true, novoLimiar, false).values()) {
+                for (TCB tcb : mesmas) acertar(tcb, true);
+            }
+        }
+        limiar = novoLimiar;
+        lambda = novoLambda;
+    }
+
+    // |executado - direito| das tarefas finalizadas, em ticks arredondados
+    public HistogramaPercentis getDesvio() { return desvio; }
+    public double getMediaDesvio() {
+        long n = desvio.getQuantidade();
+        return n == 0 ? 0.0 : somaDesvios / n;
+    }
+    public double getMaiorDesvio() { return maiorDesvio; }
+    // Soma dos |desvio| sobre a soma dos ticks executados pelas tarefas finalizadas (0 = proporção exata;
+    // um tick mal repartido conta duas vezes, no excesso de uma tarefa e na falta de outra)
+    public double getErroRelativo() {
+        return ticksExecutados == 0 ? 0.0 : somaDesvios / ticksExecutados;
+    }
+}
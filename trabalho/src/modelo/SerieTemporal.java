@@ -0,0 +1,48 @@
+package modelo;
+
+import java.util.Arrays;
+
+// Valor que muda de tempos em tempos (ex.: min-vruntime do CFS), guardado só nos pontos de mudança,
+// como a LinhaDoNucleo: cada valor vale do tick em que foi registrado até o registro seguinte.
+// Registrar de novo no tick da última mudança substitui o valor dela.
+public class SerieTemporal {
+
+    private static final int CAPACIDADE_INICIAL = 8;
+
+    private int[] ticks = new int[CAPACIDADE_INICIAL];
+    private long[] valores = new long[CAPACIDADE_INICIAL];
+    private int pontos = 0;
+
+    public void registrar(int tick, long valor) {
+        if (pontos > 0) {
+            int ultimo = pontos - 1;
+            if (tick < ticks[ultimo]) {
+                throw new IllegalArgumentException("Tick " + tick + " anterior à última mudança (" + ticks[ultimo] + ")");
+            }
+            if (valores[ultimo] == valor) return;
+            if (tick == ticks[ultimo]) {
+                // Várias mudanças no mesmo tick: vale a última
+                pontos--;
+                if (pontos > 0 && valores[pontos - 1] == valor) return;
+            }
+        }
+        if (pontos == ticks.length) {
+            ticks = Arrays.copyOf(ticks, pontos * 2);
+            valores = Arrays.copyOf(valores, pontos * 2);
+        }
+        ticks[pontos] = tick;
+        valores[pontos] = valor;
+        pontos++;
+    }
+
+    // Valor no tick (0 antes do primeiro registro; depois do último vale o último)
+    public long valorEm(int tick) {
+        int i = Arrays.binarySearch(ticks, 0, pontos, tick);
+        if (i < 0) i = -i - 2;
+        return i < 0 ? 0 : valores[i];
+    }
+
+    public int quantidadePontos() { return pontos; }
+    public int getTick(int i) { return ticks[i]; }
+    public long getValor(int i) { return valores[i]; }
+}
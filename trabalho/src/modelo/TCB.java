@@ -1,10 +1,30 @@
 package modelo;
 
+import simulador.ContextoSimulacao;
 import simulador.Relogio;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.Comparator;
 
 public class TCB {
+
+    // Peso da tarefa no CFS e bilhetes padrão no stride e na loteria. Os pesos são os do Linux por nice,
+    // com a prioridade PRIORIDADE_NEUTRA no nice 0 (peso PESO_NEUTRO) e cada ponto de prioridade a mais
+    // valendo um nice a menos (~25%)
+    public static final int PESO_NEUTRO = 1024;
+    public static final int PRIORIDADE_NEUTRA = 10;
+    private static final int[] PESOS_POR_NICE = {
+            88761, 71755, 56483, 46273, 36291, 29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906, 3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423, 335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45, 36, 29, 23, 18, 15
+    }; // nice -20 a 19
+
+    public static int pesoDaPrioridade(int prioridade) {
+        int nice = Math.max(-20, Math.min(19, PRIORIDADE_NEUTRA - prioridade));
+        return PESOS_POR_NICE[nice + 20];
+    }
+
     public Tarefa tarefa;
     private EstadoTarefa estadoTarefa;
     private int restante = 0;
@@ -13,78 +33,143 @@ public class TCB {
     private int tickEntradaProcessador = -1;
     private int tickTermino = -1;
     private int inicioFatiaAtual = -1;
-    private int esperaAcumulada = 0;
+    private int esperaAcumulada = 0;   // Ticks na fila de prontos, somados a cada saída dela
+    private int tickUltimaTransicao;   // Tick da última mudança de estado (base da espera em curso)
+    private int tickPrimeiraExecucao = -1;
+    private int preempcoes = 0;
+    private int tickUltimaPreempcao = -1;
     private int prioridadeDinamica;
-    private int tempoRestanteBloqueioIO = 0; // Contador regressivo para I/O
+    private int tickFimBloqueioIO = -1; // Tick absoluto em que o I/O termina (-1 se não está em I/O)
+    private int ordemAdmissao = 0;      // Ordem de criação no SO (desempate entre tarefas)
+    private int nucleo = -1;            // Núcleo em que foi carregada por último (-1 se nunca rodou)
+    private final Evento[] eventos;     // Eventos da tarefa ordenados por tempo de ocorrência
+    private int cursorEvento;           // Índice do próximo evento a disparar
+    private long epocaEntradaFila = 0; // Época de envelhecimento ao entrar na fila de prontos
+    private int nivel = 0;                      // Nível na MLFQ (0 = mais prioritário)
+    private int fimNivel = Integer.MAX_VALUE;   // Tick do boost seguinte ao último rebaixamento (volta ao nível 0)
+    private long tempoVirtual = 0;              // Vruntime no CFS, passe no stride (quem interpreta é a fila)
+    private long incrementoTempoVirtual = 0;    // Quanto o tempo virtual anda por tick executado (0 nos outros)
+    private int fatia = 0;                      // Fatia da vez atual no CFS, definida ao ganhar a CPU
+    private double direitoCPU = 0;              // Ticks de CPU a que teve direito (ver ParticipacaoCPU)
+    private double marcaDireito = 0;            // De onde o direito em curso começou a contar
 
-    private final Relogio relogio = Relogio.getInstancia();
+    // Do contexto da simulação a que o TCB pertence (só muda na migração entre fragmentos, ver vincular)
+    private Relogio relogio;             // Relógio da simulação
+    private ContadoresEstado contadores; // Contagem por estado, compartilhada por todos os TCBs do SO
+    private TransicoesEstado transicoes; // Mudanças de estado para o Gantt (null se ninguém acompanha)
+    private MetricasSimulacao metricas;  // Métricas do SO, atualizadas a cada transição
 
-    public TCB(Tarefa tarefa) {
+    public TCB(Tarefa tarefa, int ordemAdmissao, ContextoSimulacao contexto) {
         this.tarefa = tarefa;
-        this.estadoTarefa = EstadoTarefa.PRONTA;
+        this.ordemAdmissao = ordemAdmissao;
+        this.relogio = contexto.getRelogio();
+        this.contadores = contexto.getContadores();
+        this.transicoes = contexto.getTransicoes();
+        this.metricas = contexto.getMetricas();
+        mudarEstado(EstadoTarefa.PRONTA); // estado anterior null: só incrementa PRONTA
         this.restante = tarefa.getDuracaoTotal();
         this.quantumUsado = 0;
         this.tickEntradaFilaPronta = relogio.getTickAtual();
         // Inicializa com a prioridade estática (original)
         this.prioridadeDinamica = tarefa.getPrioridade();
+
+        // Compila os eventos uma única vez, em ordem de ocorrência (ordenação estável: empates
+        // mantêm a ordem do arquivo). O cursor aponta para o próximo evento ainda não disparado.
+        this.eventos = tarefa.getEventos().toArray(new Evento[0]);
+        Arrays.sort(this.eventos, Comparator.comparingInt(Evento::getTempoOcorrencia));
+        this.cursorEvento = 0;
+    }
+
+    // Toda mudança de estado passa por aqui para manter os contadores do SO em dia
+    // e avisar quem acompanha a simulação
+    private void mudarEstado(EstadoTarefa novoEstado) {
+        if (novoEstado == this.estadoTarefa) return;
+        int agora = relogio.getTickAtual();
+        if (transicoes != null) transicoes.registrar(this, agora, novoEstado);
+        metricas.transicao(this, this.estadoTarefa, novoEstado, agora);
+        contadores.transicao(this.estadoTarefa, novoEstado);
+        this.estadoTarefa = novoEstado;
+        this.tickUltimaTransicao = agora;
+    }
+
+    // Passa a tarefa para o contexto de outro SO (migração entre fragmentos do NucleoParalelo):
+    // sai da contagem por estado do atual e entra na do novo, sem transição de estado.
+    // Os dois SOs precisam estar parados (fronteira de época), e os relógios deles no mesmo tick
+    public void vincular(ContextoSimulacao contexto) {
+        contadores.remover(estadoTarefa);
+        metricas.desvincular(this, estadoTarefa);
+        this.relogio = contexto.getRelogio();
+        this.contadores = contexto.getContadores();
+        this.transicoes = contexto.getTransicoes();
+        this.metricas = contexto.getMetricas();
+        metricas.vincular(this, estadoTarefa);
+        contadores.transicao(null, estadoTarefa);
     }
 
+    // --- Usados pelas MetricasSimulacao e pela ParticipacaoCPU ---
+    void acumularEspera(int ticks) { this.esperaAcumulada += ticks; }
+    void setTickPrimeiraExecucao(int tick) { this.tickPrimeiraExecucao = tick; }
+    void registrarPreempcao(int tick) { this.preempcoes++; this.tickUltimaPreempcao = tick; }
+    void desfazerPreempcao() { this.preempcoes--; this.tickUltimaPreempcao = -1; }
+    int getTickUltimaTransicao() { return tickUltimaTransicao; }
+    int getTickUltimaPreempcao() { return tickUltimaPreempcao; }
+    void acumularDireito(double ticks) { this.direitoCPU += ticks; }
+    void setMarcaDireito(double marca) { this.marcaDireito = marca; }
+    double getMarcaDireito() { return marcaDireito; }
+
     // Calcula quanto tempo "útil" a tarefa já rodou
     public int getTempoExecutado() {
         return tarefa.getDuracaoTotal() - restante;
     }
 
-    // Verifica se existe algum evento agendado EXATAMENTE para este instante de execução
+    // Retorna o próximo evento ainda não disparado cujo instante de execução já chegou (ou null) e avança o cursor.
+    // Se houver vários eventos devidos, chamadas seguidas devolvem um de cada vez, em ordem.
+    // Um evento cujo instante passou sem ele disparar (a tarefa executou sem o SO olhar os eventos dela)
+    // dispara atrasado, nunca é descartado: pular um MU deixaria o mutex preso para sempre
     public Evento verificarEventoAtual() {
-        int tempoAtualExecucao = getTempoExecutado();
-        List<Evento> eventos = tarefa.getEventos();
-
-        if (eventos == null || eventos.isEmpty()) return null;
-
-        // DEBUG: Mostra que o TCB está checando eventos
-        // System.out.println("DEBUG CHECK: Tarefa " + tarefa.getId() + " TempoExec: " + tempoAtualExecucao);
-
-        for (Evento e : eventos) {
-            if (e.getTempoOcorrencia() == tempoAtualExecucao) {
-                System.out.println("!!! MATCH !!! Evento disparado na tarefa " + tarefa.getId() + " no tempo " + tempoAtualExecucao);
-                return e;
-            }
+        if (cursorEvento < eventos.length && eventos[cursorEvento].getTempoOcorrencia() <= getTempoExecutado()) {
+            return eventos[cursorEvento++];
         }
         return null;
     }
 
-    public void bloquearPorIO(int duracao) {
-        this.estadoTarefa = EstadoTarefa.BLOQUEADA;
-        this.tempoRestanteBloqueioIO = duracao;
+    // Tempo de execução do próximo evento ainda não disparado, ou -1 se não houver mais
+    // (pode ser menor que o tempo executado, se ele está atrasado)
+    public int getProximoTempoEvento() {
+        return cursorEvento < eventos.length ? eventos[cursorEvento].getTempoOcorrencia() : -1;
     }
 
-    public void bloquearPorMutex() {
-        this.estadoTarefa = EstadoTarefa.BLOQUEADA;
+    // Em vez de um contador regressivo, guarda o tick em que o I/O termina.
+    // Na MLFQ, quem larga a CPU para fazer I/O sobe um nível (os outros algoritmos ignoram o nível)
+    public void bloquearPorIO(int duracao) {
+        mudarEstado(EstadoTarefa.BLOQUEADA);
+        this.tickFimBloqueioIO = relogio.getTickAtual() + duracao;
+        this.nivel = Math.max(getNivel() - 1, 0);
     }
 
-    public void desbloquear() {
-        this.estadoTarefa = EstadoTarefa.PRONTA;
-        this.tickEntradaFilaPronta = relogio.getTickAtual(); // Reseta espera para evitar starvation imediato
-        this.tempoRestanteBloqueioIO = 0;
+    // Esgotou o quantum do nível na MLFQ: desce um nível (até o último), valendo até o próximo boost
+    public void rebaixarNivel(int ultimoNivel, int proximoBoost) {
+        this.nivel = Math.min(getNivel() + 1, ultimoNivel);
+        this.fimNivel = proximoBoost;
     }
 
-    public void decrementarTempoBloqueio() {
-        if (tempoRestanteBloqueioIO > 0) {
-            tempoRestanteBloqueioIO--;
-        }
+    public void bloquearPorMutex() {
+        mudarEstado(EstadoTarefa.BLOQUEADA);
     }
 
-    public boolean acabouTempoBloqueio() {
-        return tempoRestanteBloqueioIO <= 0;
+    public void desbloquear() {
+        mudarEstado(EstadoTarefa.PRONTA);
+        this.tickEntradaFilaPronta = relogio.getTickAtual(); // Reseta espera para evitar starvation imediato
+        this.tickFimBloqueioIO = -1;
     }
 
     public void entrarFilaPronta(){
-        this.estadoTarefa = EstadoTarefa.PRONTA;
+        mudarEstado(EstadoTarefa.PRONTA);
         this.tickEntradaFilaPronta = relogio.getTickAtual();
     }
 
     public void entrarNoProcessador(){
-        this.estadoTarefa = EstadoTarefa.EXECUTANDO;
+        mudarEstado(EstadoTarefa.EXECUTANDO);
         this.tickEntradaProcessador = relogio.getTickAtual();
         this.inicioFatiaAtual = relogio.getTickAtual();
 
@@ -94,21 +179,26 @@ public class TCB {
         this.prioridadeDinamica = tarefa.getPrioridade();
     }
 
+    // Escolhida para a CPU, mas antes de rodar paga a sobrecarga de troca/despacho (ver hardware.CustoTroca).
+    // A fatia só começa quando o SO chamar entrarNoProcessador, no fim da sobrecarga
+    public void iniciarDespacho(){
+        mudarEstado(EstadoTarefa.DESPACHANDO);
+    }
+
     public void sairDoProcessador(){
         if(this.estadoTarefa == EstadoTarefa.FINALIZADA){
             return;
         }
         if (this.estadoTarefa != EstadoTarefa.BLOQUEADA) {
-            this.estadoTarefa = EstadoTarefa.PRONTA;
+            mudarEstado(EstadoTarefa.PRONTA);
         }
-        this.estadoTarefa = EstadoTarefa.PRONTA;
+        mudarEstado(EstadoTarefa.PRONTA);
         this.inicioFatiaAtual = relogio.getTickAtual();
-        this.esperaAcumulada = relogio.getTickAtual();
         this.tickEntradaFilaPronta = relogio.getTickAtual();
     }
 
     public void interromperTarefa(){
-        this.estadoTarefa = EstadoTarefa.BLOQUEADA;
+        mudarEstado(EstadoTarefa.BLOQUEADA);
         this.inicioFatiaAtual = relogio.getTickAtual();
     }
 
@@ -117,21 +207,51 @@ public class TCB {
         if(this.restante > 0){
             this.restante--;
         }
+        metricas.ticksExecutados(1, relogio.getTickAtual() + 1);
         this.quantumUsado++;
+        this.tempoVirtual += incrementoTempoVirtual;
+        if (this.restante == 0){
+            mudarEstado(EstadoTarefa.FINALIZADA);
+            this.tickTermino = relogio.getTickAtual();
+        }
+    }
+
+    // Executa varios ticks de uma vez. Quem chama garante que a tarefa não termina no meio do salto
+    public void executarTicks(int ticks){
+        if (ticks <= 0) return;
+        this.restante = Math.max(0, this.restante - ticks);
+        // Ticks seguintes ao atual (o relógio ainda não avançou)
+        metricas.ticksExecutados(ticks, relogio.getTickAtual() + ticks + 1);
+        this.quantumUsado += ticks;
+        this.tempoVirtual += ticks * incrementoTempoVirtual;
         if (this.restante == 0){
-            this.estadoTarefa = EstadoTarefa.FINALIZADA;
+            mudarEstado(EstadoTarefa.FINALIZADA);
             this.tickTermino = relogio.getTickAtual();
         }
     }
 
-    public void envelhecer(int alpha) {
-        this.prioridadeDinamica += alpha;
+    // Tick de sobrecarga gasto pela CPU com esta tarefa (no lugar de executarTick)
+    public void executarTickSobrecarga(){
+        metricas.ticksSobrecarga(1, relogio.getTickAtual() + 1);
+    }
+
+    // Vários ticks de sobrecarga seguintes ao atual (no lugar de executarTicks)
+    public void executarTicksSobrecarga(int ticks){
+        if (ticks <= 0) return;
+        metricas.ticksSobrecarga(ticks, relogio.getTickAtual() + ticks + 1);
     }
 
     // --- Getters e Setters ---
-    public void setEstadoTarefa(EstadoTarefa estadoTarefa) { this.estadoTarefa = estadoTarefa; }
+    public void setEstadoTarefa(EstadoTarefa estadoTarefa) { mudarEstado(estadoTarefa); }
     public void setRestante(int restante) { this.restante = restante; }
     public void setTickTermino(int tickTermino) { this.tickTermino = tickTermino; }
+    public void setEpocaEntradaFila(long epocaEntradaFila) { this.epocaEntradaFila = epocaEntradaFila; }
+    public void setNucleo(int nucleo) { this.nucleo = nucleo; }
+    // Só as filas do CFS e do stride mexem direto: ritmo e posicionamento ao entrar, migração entre
+    // filas (ver FilaCFS e FilaStride)
+    public void setTempoVirtual(long tempoVirtual) { this.tempoVirtual = tempoVirtual; }
+    public void setIncrementoTempoVirtual(long incremento) { this.incrementoTempoVirtual = incremento; }
+    public void setFatia(int fatia) { this.fatia = fatia; }
     public Tarefa getTarefa() { return tarefa; }
     public EstadoTarefa getEstadoTarefa() { return estadoTarefa; }
     public int getRestante() { return restante; }
@@ -140,6 +260,31 @@ public class TCB {
     public int getTickEntradaProcessador() { return tickEntradaProcessador; }
     public int getTickTermino() { return tickTermino; }
     public int getInicioFatiaAtual() { return inicioFatiaAtual; }
-    public int getEsperaAcumulada() { return esperaAcumulada; }
+    // Ticks na fila de prontos até agora, incluindo a espera em curso
+    public int getEsperaAcumulada() {
+        if (estadoTarefa != EstadoTarefa.PRONTA) return esperaAcumulada;
+        return esperaAcumulada + relogio.getTickAtual() - tickUltimaTransicao;
+    }
+    // Tick da primeira vez na CPU (-1 se ainda não rodou)
+    public int getTickPrimeiraExecucao() { return tickPrimeiraExecucao; }
+    // Tempo de resposta (-1 se ainda não rodou)
+    public int getTempoResposta() { return tickPrimeiraExecucao < 0 ? -1 : tickPrimeiraExecucao - tarefa.getInicio(); }
+    // Turnaround (-1 se ainda não terminou)
+    public int getTurnaround() { return tickTermino < 0 ? -1 : tickTermino + 1 - tarefa.getInicio(); }
+    public int getPreempcoes() { return preempcoes; }
     public int getPrioridadeDinamica() { return prioridadeDinamica; }
+    public long getEpocaEntradaFila() { return epocaEntradaFila; }
+    public int getTickFimBloqueioIO() { return tickFimBloqueioIO; }
+    public int getOrdemAdmissao() { return ordemAdmissao; }
+    public int getNucleo() { return nucleo; }
+    // Nível na MLFQ; a partir do boost seguinte ao último rebaixamento volta a ser 0
+    public int getNivel() { return relogio.getTickAtual() >= fimNivel ? 0 : nivel; }
+    public long getTempoVirtual() { return tempoVirtual; }
+    public int getFatia() { return fatia; }
+    // Stride e loteria: sem bilhetes explícitos na Tarefa, o peso da prioridade (mesma proporção do CFS)
+    public int getBilhetes() {
+        return tarefa.getBilhetes() > 0 ? tarefa.getBilhetes() : pesoDaPrioridade(tarefa.getPrioridade());
+    }
+    // Ticks de CPU a que a tarefa teve direito até a última vez que deixou de estar pronta
+    public double getDireitoCPU() { return direitoCPU; }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Tarefa {
+    public static final int MAX_BILHETES = 1 << 20;
+
     private String id;
     private String corHex; // MODIFICADO: Agora armazena o código Hex (ex: "FF0000")
     private int inicio;
@@ -11,8 +13,26 @@ public class Tarefa {
     private int prioridade;
     private List<Evento> eventos;
 
+    // Tempo real (opcionais): prazo relativo à chegada (0 = sem prazo) e, na tarefa periódica, o
+    // intervalo entre liberações e quantas instâncias ela libera. Cada instância é uma Tarefa própria,
+    // criada só quando a anterior é admitida (ver proximaInstancia e FilaAdmissao)
+    private int prazo;
+    private int periodo;
+    private int instancias;
+    private String idTarefa; // Id da tarefa periódica (o da primeira instância)
+    private int instancia;   // 0 na primeira
+
+    // Stride e loteria: bilhetes explícitos (0 = derivados da prioridade, ver TCB)
+    private int bilhetes = 0;
+
     // Construtor atualizado
     public Tarefa (String id, String corHex, int inicio, int duracaoTotal, int prioridade){
+        this(id, corHex, inicio, duracaoTotal, prioridade, 0, 0, 1);
+    }
+
+    // Sem prazo explícito, a tarefa periódica tem prazo igual ao período
+    public Tarefa (String id, String corHex, int inicio, int duracaoTotal, int prioridade,
+                   int prazo, int periodo, int instancias){
         if (id == null || id.isBlank()){
             throw new IllegalArgumentException("id Tarefa não pode ser vazio");
         }
@@ -36,19 +56,53 @@ public class Tarefa {
         }
         this.prioridade = prioridade;
         this.eventos = new ArrayList<>();
+
+        if (prazo < 0) throw new IllegalArgumentException("Prazo negativo");
+        if (periodo < 0) throw new IllegalArgumentException("Período negativo");
+        if (instancias < 1) throw new IllegalArgumentException("Instâncias deve ser pelo menos 1");
+        if (periodo == 0 && instancias > 1) throw new IllegalArgumentException("Várias instâncias exigem um período");
+        if ((long) inicio + (long) periodo * (instancias - 1) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Última instância chegaria depois do tick " + Integer.MAX_VALUE);
+        }
+        this.prazo = (prazo == 0 && periodo > 0) ? periodo : prazo;
+        this.periodo = periodo;
+        this.instancias = instancias;
+        this.idTarefa = this.id;
+        this.instancia = 0;
+    }
+
+    // Instância seguinte (liberada um período depois, com os mesmos eventos), ou null se esta é a última
+    public Tarefa proximaInstancia() {
+        if (instancia + 1 >= instancias) return null;
+        Tarefa proxima = new Tarefa(idTarefa + "#" + (instancia + 1), corHex, inicio + periodo, duracaoTotal,
+                prioridade, prazo, periodo, instancias);
+        proxima.idTarefa = idTarefa;
+        proxima.instancia = instancia + 1;
+        proxima.eventos = eventos;
+        proxima.bilhetes = bilhetes;
+        return proxima;
     }
 
     public void adicionarEvento(Evento e) {
         this.eventos.add(e);
     }
 
+    public void setBilhetes(int bilhetes) {
+        if (bilhetes < 1 || bilhetes > MAX_BILHETES) {
+            throw new IllegalArgumentException("Bilhetes devem estar entre 1 e " + MAX_BILHETES + ": " + bilhetes);
+        }
+        this.bilhetes = bilhetes;
+    }
+
     public List<Evento> getEventos() {
         return eventos;
     }
 
     public String resumo(){
-        return "%s [chegada=%d, duracao=%d, prio=%d, cor=#%s, eventos=%d]"
-                .formatted(id, inicio, duracaoTotal, prioridade, corHex, eventos.size());
+        String opcoes = (prazo > 0 ? ", prazo=" + prazo : "") + (periodo > 0 ? ", periodo=" + periodo + "x" + instancias : "")
+                + (bilhetes > 0 ? ", bilhetes=" + bilhetes : "");
+        return "%s [chegada=%d, duracao=%d, prio=%d%s, cor=#%s, eventos=%d]"
+                .formatted(id, inicio, duracaoTotal, prioridade, opcoes, corHex, eventos.size());
     }
 
     public String getId(){
@@ -71,4 +125,15 @@ public class Tarefa {
     public int getPrioridade(){
         return prioridade;
     }
+
+    public boolean temPrazo() { return prazo > 0; }
+    public boolean ehPeriodica() { return periodo > 0; }
+    public int getPrazo() { return prazo; }
+    // Tick até o qual a tarefa deve terminar (Integer.MAX_VALUE sem prazo)
+    public int getPrazoAbsoluto() { return prazo == 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, (long) inicio + prazo); }
+    public int getPeriodo() { return periodo; }
+    public int getInstancias() { return instancias; }
+    public String getIdTarefa() { return idTarefa; }
+    public int getInstancia() { return instancia; }
+    public int getBilhetes() { return bilhetes; }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package modelo;
+
+import java.util.Arrays;
+
+// Mudanças de estado emitidas pelos TCBs (tarefa, tick, novo estado, núcleo), na ordem em que aconteceram.
+// O núcleo é o da tarefa no momento da mudança: onde ela entrou (EXECUTANDO/DESPACHANDO) ou de onde saiu.
+// Quem acompanha a simulação (o Gantt) consome o que acumulou desde a última leitura e limpa,
+// então o custo de cada atualização é proporcional ao número de mudanças, não ao de tarefas.
+// Arrays paralelos, reaproveitados entre as leituras.
+public class TransicoesEstado {
+
+    private static final int CAPACIDADE_INICIAL = 64;
+    private static final EstadoTarefa[] ESTADOS = EstadoTarefa.values();
+
+    private TCB[] tcbs = new TCB[CAPACIDADE_INICIAL];
+    private int[] ticks = new int[CAPACIDADE_INICIAL];
+    private byte[] estados = new byte[CAPACIDADE_INICIAL];
+    private int[] nucleos = new int[CAPACIDADE_INICIAL];
+    private int quantidade = 0;
+
+    // Chamado pelo TCB a cada mudança de estado
+    void registrar(TCB tcb, int tick, EstadoTarefa estado) {
+        registrar(tcb, tick, estado, tcb.getNucleo());
+    }
+
+    private void registrar(TCB tcb, int tick, EstadoTarefa estado, int nucleo) {
+        if (quantidade == tcbs.length) {
+            int capacidade = tcbs.length * 2;
+            tcbs = Arrays.copyOf(tcbs, capacidade);
+            ticks = Arrays.copyOf(ticks, capacidade);
+            estados = Arrays.copyOf(estados, capacidade);
+            nucleos = Arrays.copyOf(nucleos, capacidade);
+        }
+        tcbs[quantidade] = tcb;
+        ticks[quantidade] = tick;
+        estados[quantidade] = (byte) estado.ordinal();
+        nucleos[quantidade] = nucleo;
+        quantidade++;
+    }
+
+    public int quantidade() { return quantidade; }
+    public boolean isEmpty() { return quantidade == 0; }
+    public TCB getTCB(int i) { return tcbs[i]; }
+    public int getTick(int i) { return ticks[i]; }
+    public EstadoTarefa getEstado(int i) { return ESTADOS[estados[i]]; }
+    // -1 se a tarefa ainda não passou por nenhum núcleo
+    public int getNucleo(int i) { return nucleos[i]; }
+
+    // Passa as transições pendentes para o fim de destino, todas com o tick dado, e limpa esta.
+    // Usado para acumular vários passos num mesmo quadro da interface sem perder em que passo
+    // cada mudança foi vista
+    public void moverPara(TransicoesEstado destino, int tick) {
+        for (int i = 0; i < quantidade; i++) {
+            destino.registrar(tcbs[i], tick, ESTADOS[estados[i]], nucleos[i]);
+        }
+        limpar();
+    }
+
+    // Descarta as transições já lidas (solta as referências aos TCBs)
+    public void limpar() {
+        Arrays.fill(tcbs, 0, quantidade, null);
+        quantidade = 0;
+    }
+}
@@ -0,0 +1,106 @@
+package simulador;
+
+import hardware.CustoTroca;
+import modelo.ContadoresEstado;
+import modelo.MetricasSimulacao;
+import modelo.TCB;
+import modelo.TransicoesEstado;
+import sistemaoperacional.nucleo.NiveisMLFQ;
+import sistemaoperacional.nucleo.ParametrosCFS;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+// Tudo que pertence a UMA simulação: relógio, tabela de processos (TCBs e contadores por estado)
+// e configuração. Cada SistemaOperacional recebe o seu, então várias simulações podem rodar
+// ao mesmo tempo na mesma JVM (uma por thread) sem compartilhar estado.
+public class ContextoSimulacao {
+
+    private final Relogio relogio = new Relogio();
+    private final ArrayList<TCB> listaTCBs = new ArrayList<>();
+    private final ContadoresEstado contadores = new ContadoresEstado();
+
+    private final String algoritmo;
+    private final int quantum;
+    private final int alpha;
+    private final int numeroDeNucleos;
+    private final MetricasSimulacao metricas;
+
+    // Execuções de estresse (milhões de tarefas) podem descartar os TCBs que terminaram;
+    // aí getListaTCBs() fica vazia e só os contadores acompanham a simulação
+    private boolean guardarTCBs = true;
+
+    // Mudanças de estado para quem acompanha a simulação (Gantt). Null quando ninguém consome
+    // (lote, estresse, benchmark), para não acumular; defina antes de criar o SistemaOperacional
+    private TransicoesEstado transicoes;
+
+    // Sobrecarga de troca de contexto/despacho: padrão de todas as CPUs e exceções por índice de CPU.
+    // Lida pelo SistemaOperacional ao ser criado
+    private CustoTroca custoTroca = CustoTroca.SEM_CUSTO;
+    private final Map<Integer, CustoTroca> custosPorCpu = new HashMap<>();
+
+    // De quantos em quantos ticks as filas de prontos dos núcleos são niveladas (0 = nunca; ver
+    // FilasPorNucleo). Núcleos ociosos roubam tarefas de qualquer jeito
+    public static final int PERIODO_BALANCEAMENTO_PADRAO = 4;
+    private int periodoBalanceamento = PERIODO_BALANCEAMENTO_PADRAO;
+
+    // Índice do primeiro núcleo deste SO na máquina: diferente de 0 só nos fragmentos do
+    // NucleoParalelo, que simulam cada um uma fatia contígua das CPUs
+    private int primeiroNucleo = 0;
+
+    // Níveis da MLFQ (só usados por esse algoritmo); o padrão deriva do quantum
+    private NiveisMLFQ niveisMLFQ;
+
+    // Latência e granularidade do CFS (só usadas por esse algoritmo)
+    private ParametrosCFS parametrosCFS = ParametrosCFS.padrao();
+
+    public ContextoSimulacao(String algoritmo, int quantum, int alpha, int numeroDeNucleos) {
+        if (numeroDeNucleos < 1) throw new IllegalArgumentException("Número de núcleos inválido: " + numeroDeNucleos);
+        this.algoritmo = algoritmo;
+        this.quantum = quantum;
+        this.alpha = alpha;
+        this.numeroDeNucleos = numeroDeNucleos;
+        this.metricas = new MetricasSimulacao(relogio, numeroDeNucleos);
+        this.niveisMLFQ = NiveisMLFQ.padrao(quantum);
+    }
+
+    public Relogio getRelogio() { return relogio; }
+    public ArrayList<TCB> getListaTCBs() { return listaTCBs; }
+    public ContadoresEstado getContadores() { return contadores; }
+    public MetricasSimulacao getMetricas() { return metricas; }
+    public String getAlgoritmo() { return algoritmo; }
+    public int getQuantum() { return quantum; }
+    public int getAlpha() { return alpha; }
+    public int getNumeroDeNucleos() { return numeroDeNucleos; }
+    public boolean isGuardarTCBs() { return guardarTCBs; }
+    public void setGuardarTCBs(boolean guardarTCBs) { this.guardarTCBs = guardarTCBs; }
+    public TransicoesEstado getTransicoes() { return transicoes; }
+    public void setTransicoes(TransicoesEstado transicoes) { this.transicoes = transicoes; }
+    public int getPeriodoBalanceamento() { return periodoBalanceamento; }
+    public void setPeriodoBalanceamento(int periodo) {
+        if (periodo < 0) throw new IllegalArgumentException("Período de balanceamento negativo: " + periodo);
+        this.periodoBalanceamento = periodo;
+    }
+    public int getPrimeiroNucleo() { return primeiroNucleo; }
+    public void setPrimeiroNucleo(int primeiroNucleo) {
+        if (primeiroNucleo < 0) throw new IllegalArgumentException("Índice de núcleo negativo: " + primeiroNucleo);
+        this.primeiroNucleo = primeiroNucleo;
+    }
+    public NiveisMLFQ getNiveisMLFQ() { return niveisMLFQ; }
+    public void setNiveisMLFQ(NiveisMLFQ niveis) { this.niveisMLFQ = niveis != null ? niveis : NiveisMLFQ.padrao(quantum); }
+    public ParametrosCFS getParametrosCFS() { return parametrosCFS; }
+    public void setParametrosCFS(ParametrosCFS parametros) { this.parametrosCFS = parametros != null ? parametros : ParametrosCFS.padrao(); }
+    public CustoTroca getCustoTroca() { return custoTroca; }
+    public void setCustoTroca(CustoTroca custoTroca) { this.custoTroca = custoTroca; }
+    // Custo da CPU de índice dado: o específico dela ou o padrão
+    public CustoTroca getCustoTroca(int cpu) { return custosPorCpu.getOrDefault(cpu, custoTroca); }
+    public void setCustoTroca(int cpu, CustoTroca custo) { custosPorCpu.put(cpu, custo); }
+
+    // Custos como lidos do arquivo de configuração (ver LeitorConfiguracaoMapeado)
+    public void setCustosTroca(CustoTroca padrao, Map<Integer, CustoTroca> porCpu) {
+        this.custoTroca = padrao;
+        this.custosPorCpu.clear();
+        this.custosPorCpu.putAll(porCpu);
+    }
+}
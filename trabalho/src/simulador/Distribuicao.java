@@ -0,0 +1,90 @@
+package simulador;
+
+import java.util.Random;
+
+// Distribuição de valores inteiros usada pelo GeradorCargas (duração, prioridade, duração de I/O).
+// O resultado fica sempre entre min e max, inclusive.
+public class Distribuicao {
+
+    private enum Tipo { FIXA, UNIFORME, EXPONENCIAL, BIMODAL }
+
+    private final Tipo tipo;
+    private final int min;
+    private final int max;
+    private final double media;          // EXPONENCIAL
+    private final int modaCurta;         // BIMODAL
+    private final int modaLonga;         // BIMODAL
+    private final double fracaoCurta;    // BIMODAL
+
+    private Distribuicao(Tipo tipo, int min, int max, double media, int modaCurta, int modaLonga, double fracaoCurta) {
+        if (min > max) {
+            throw new IllegalArgumentException("Distribuição com min (" + min + ") maior que max (" + max + ")");
+        }
+        this.tipo = tipo;
+        this.min = min;
+        this.max = max;
+        this.media = media;
+        this.modaCurta = modaCurta;
+        this.modaLonga = modaLonga;
+        this.fracaoCurta = fracaoCurta;
+    }
+
+    public static Distribuicao fixa(int valor) {
+        return new Distribuicao(Tipo.FIXA, valor, valor, valor, 0, 0, 0);
+    }
+
+    public static Distribuicao uniforme(int min, int max) {
+        return new Distribuicao(Tipo.UNIFORME, min, max, 0, 0, 0, 0);
+    }
+
+    // Muitos valores pequenos e poucos grandes (ex.: durações de CPU reais): min + exponencial(media), cortada em max
+    public static Distribuicao exponencial(double media, int min, int max) {
+        if (media <= 0) throw new IllegalArgumentException("Média da exponencial deve ser maior que zero");
+        return new Distribuicao(Tipo.EXPONENCIAL, min, max, media, 0, 0, 0);
+    }
+
+    // Mistura de tarefas curtas (interativas) e longas (CPU-bound): cada valor é uniforme
+    // em [min, modaCurta] com probabilidade fracaoCurta, senão uniforme em [modaLonga, max]
+    public static Distribuicao bimodal(int min, int modaCurta, int modaLonga, int max, double fracaoCurta) {
+        if (min > modaCurta || modaCurta > modaLonga || modaLonga > max) {
+            throw new IllegalArgumentException("Bimodal exige min <= modaCurta <= modaLonga <= max");
+        }
+        if (fracaoCurta < 0 || fracaoCurta > 1) {
+            throw new IllegalArgumentException("Fração de valores curtos deve estar entre 0 e 1");
+        }
+        return new Distribuicao(Tipo.BIMODAL, min, max, 0, modaCurta, modaLonga, fracaoCurta);
+    }
+
+    public int sortear(Random rng) {
+        switch (tipo) {
+            case FIXA:
+                return min;
+            case UNIFORME:
+                return uniforme(rng, min, max);
+            case EXPONENCIAL:
+                double valor = min - Math.log(1.0 - rng.nextDouble()) * media;
+                return (int) Math.min(max, valor);
+            case BIMODAL:
+                return rng.nextDouble() < fracaoCurta ? uniforme(rng, min, modaCurta) : uniforme(rng, modaLonga, max);
+            default:
+                throw new IllegalStateException("Tipo de distribuição desconhecido: " + tipo);
+        }
+    }
+
+    private static int uniforme(Random rng, int a, int b) {
+        return a + (int) (rng.nextDouble() * ((long) b - a + 1));
+    }
+
+    public int getMin() { return min; }
+    public int getMax() { return max; }
+
+    @Override
+    public String toString() {
+        switch (tipo) {
+            case FIXA: return "fixa(" + min + ")";
+            case UNIFORME: return "uniforme(" + min + ".." + max + ")";
+            case EXPONENCIAL: return "exponencial(media=" + media + ", " + min + ".." + max + ")";
+            default: return "bimodal(" + min + ".." + modaCurta + " | " + modaLonga + ".." + max + ", curtas=" + fracaoCurta + ")";
+        }
+    }
+}
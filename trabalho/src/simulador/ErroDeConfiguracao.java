@@ -0,0 +1,16 @@
+package simulador;
+
+// Erro de formato no arquivo de configuração, com a linha (a partir de 1) onde foi encontrado
+public class ErroDeConfiguracao extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long linha;
+
+    public ErroDeConfiguracao(long linha, String mensagem) {
+        super("Linha " + linha + ": " + mensagem);
+        this.linha = linha;
+    }
+
+    public long getLinha() { return linha; }
+}
@@ -0,0 +1,156 @@
+package simulador;
+
+import modelo.MetricasSimulacao;
+import sistemaoperacional.SistemaOperacional;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Modo sem interface gráfica: simula todos os arquivos de configuração (*.txt) de um diretório
+// em paralelo, cada um com o seu ContextoSimulacao, e escreve uma linha de resumo por arquivo.
+//
+// Uso: --lote <diretorio> [--threads N] [--limite-ticks N] [--saida arquivo.csv]
+public class ExecutorEmLote {
+
+    // Proteção contra cargas que nunca terminam (ex.: deadlock de mutex)
+    public static final long LIMITE_TICKS_PADRAO = 10_000_000L;
+
+    private static final String USO = "Uso: --lote <diretorio> [--threads N] [--limite-ticks N] [--saida arquivo.csv]";
+
+    public static final String CABECALHO =
+            "arquivo;algoritmo;tarefas;concluidas;turnaround_medio;espera_media;trocas_contexto;makespan;status";
+
+    private final Path diretorio;
+    private final int threads;
+    private final long limiteTicks;
+
+    public ExecutorEmLote(Path diretorio, int threads, long limiteTicks) {
+        this.diretorio = diretorio;
+        this.threads = threads;
+        this.limiteTicks = limiteTicks;
+    }
+
+    public List<Path> descobrirArquivos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".txt"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Simula tudo e escreve as linhas na ordem dos arquivos, à medida que ficam prontas
+    public void executar(PrintStream saida) throws IOException, InterruptedException {
+        List<Path> arquivos = descobrirArquivos();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (Path arquivo : arquivos) {
+                resultados.add(pool.submit(() -> simular(arquivo, limiteTicks)));
+            }
+
+            saida.println(CABECALHO);
+            for (int i = 0; i < arquivos.size(); i++) {
+                String linha;
+                try {
+                    linha = resultados.get(i).get();
+                } catch (ExecutionException e) {
+                    linha = linhaDeErro(arquivos.get(i), e.getCause());
+                }
+                saida.println(linha);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Roda uma simulação completa, isolada, e devolve a linha de resumo
+    public static String simular(Path arquivo, long limiteTicks) {
+        // As tarefas vão do arquivo direto para o SO, sem montar a lista inteira antes
+        try (LeitorConfiguracaoMapeado leitor = new LeitorConfiguracaoMapeado(arquivo)) {
+            return simular(arquivo, leitor, limiteTicks);
+        } catch (Exception e) {
+            return linhaDeErro(arquivo, e);
+        }
+    }
+
+    private static String simular(Path arquivo, LeitorConfiguracaoMapeado leitor, long limiteTicks) {
+        ContextoSimulacao contexto = leitor.criarContexto();
+        // O resumo sai das métricas incrementais (ver MetricasSimulacao), então os TCBs finalizados
+        // não precisam ficar guardados até o fim
+        contexto.setGuardarTCBs(false);
+        SistemaOperacional so = new SistemaOperacional(contexto, leitor);
+
+        while (!so.terminouTodasTarefas() && so.getTickAtual() < limiteTicks) {
+            so.execTick();
+            so.avancarAteProximoEvento();
+        }
+
+        MetricasSimulacao metricas = contexto.getMetricas();
+        String status = so.terminouTodasTarefas() ? "OK" : "INCOMPLETA (limite de ticks)";
+        return String.format(Locale.ROOT, "%s;%s;%d;%d;%.2f;%.2f;%d;%d;%s",
+                arquivo.getFileName(), leitor.getAlgoritmo(), contexto.getContadores().total(), metricas.getFinalizadas(),
+                metricas.getTurnaround().getMedia(), metricas.getEspera().getMedia(),
+                so.getTrocasDeContexto(), so.getTickAtual(), status);
+    }
+
+    private static String linhaDeErro(Path arquivo, Throwable erro) {
+        String msg = String.valueOf(erro.getMessage()).replace(';', ',');
+        return arquivo.getFileName() + ";-;0;0;0;0;0;0;ERRO: " + msg;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println(USO);
+            System.exit(2);
+        }
+
+        Path diretorio = Path.of(args[0]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        long limiteTicks = LIMITE_TICKS_PADRAO;
+        String caminhoSaida = null;
+
+        for (int i = 1; i < args.length; i += 2) {
+            LinhaDeComando.exigirValor(args, i, USO);
+            switch (args[i]) {
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--limite-ticks":
+                    limiteTicks = Long.parseLong(args[i + 1]);
+                    break;
+                case "--saida":
+                    caminhoSaida = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        // Em lote o log detalhado de centenas de simulações só atrapalha, a menos que seja pedido
+        if (System.getProperty("simulador.log.nivel") == null) {
+            Log.setNivel(NivelLog.AVISO);
+        }
+
+        ExecutorEmLote lote = new ExecutorEmLote(diretorio, Math.max(1, threads), limiteTicks);
+        if (caminhoSaida == null) {
+            lote.executar(System.out);
+        } else {
+            try (PrintStream saida = new PrintStream(caminhoSaida, "UTF-8")) {
+                lote.executar(saida);
+            }
+        }
+    }
+}
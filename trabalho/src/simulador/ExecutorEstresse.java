@@ -0,0 +1,262 @@
+package simulador;
+
+import hardware.CustoTroca;
+import modelo.EstadoTarefa;
+import modelo.Tarefa;
+import sistemaoperacional.NucleoParalelo;
+import sistemaoperacional.SistemaOperacional;
+import sistemaoperacional.nucleo.NiveisMLFQ;
+import sistemaoperacional.nucleo.ParametrosCFS;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+// Teste de estresse sem interface: simula uma carga enorme sem carregá-la na memória.
+// As tarefas saem do GeradorCargas (ou de um arquivo, pelo LeitorConfiguracaoMapeado) direto para
+// a fila de admissão e os TCBs finalizados não são guardados, então a memória usada depende só
+// das tarefas vivas, não do total.
+//
+// Uso: --estresse <quantidade> [--semente S] [--algoritmo X] [--quantum Q] [--alpha A]
+//                 [--chegadas POISSON|RAJADAS] [--io P] [--mutex P] [--metricas arquivo.json]
+//                 [--prazo F]  (cada tarefa com prazo de F vezes a duração, F >= 1; ver EDF)
+//                 [--nucleos N] [--balanceamento T]        (filas por núcleo, ver FilasPorNucleo)
+//                 [--taxa X]  (chegadas por tick; padrão: a do ParametrosCarga vezes os núcleos)
+//                 [--troca T] [--despacho T] [--cache T]   (sobrecarga de troca, ver hardware.CustoTroca)
+//                 [--niveis N] [--boost T]                 (MLFQ, ver NiveisMLFQ; quantum do nível i = Q * 2^i)
+//                 [--latencia T] [--granularidade T]       (CFS, ver ParametrosCFS)
+//                 [--fragmentos F] [--epoca E] [--threads T] (núcleo paralelo, ver NucleoParalelo)
+//      --estresse <arquivo de configuração> [--metricas arquivo.json] [--vruntime arquivo.csv] [--fragmentos F] [--epoca E] [--threads T]
+//                 (algoritmo, quantum, alpha, núcleos e custos de troca vêm do arquivo)
+// Com --fragmentos maior que 1 as CPUs são repartidas entre F fragmentos simulados em T threads
+// (padrão: uma por fragmento, limitado aos processadores da máquina) que se sincronizam a cada E ticks.
+// Ao final imprime as métricas (ver MetricasSimulacao) e, com --metricas, grava o resumo em JSON.
+// No CFS, --vruntime grava a evolução do min-vruntime (só sem fragmentos: cada fragmento tem o seu).
+// No STRIDE e na LOTERIA (bilhetes pela prioridade, ver TCB) o resumo traz também o desvio entre a CPU
+// que cada tarefa recebeu e a proporção dos bilhetes dela (com fragmentos, dentro de cada fragmento).
+public class ExecutorEstresse {
+
+    private static final long INTERVALO_PROGRESSO = 1_000_000L;
+    private static final int EPOCA_PADRAO = 16;
+
+    private static int fragmentos = 1;
+    private static int duracaoEpoca = EPOCA_PADRAO;
+    private static int threads = -1;
+    private static Path vruntime = null;
+
+    private static final String USO =
+            "Uso: --estresse <quantidade | arquivo> [--semente S] [--algoritmo X] [--quantum Q] [--alpha A]" +
+            " [--chegadas POISSON|RAJADAS] [--io P] [--mutex P] [--prazo F] [--nucleos N] [--balanceamento T] [--taxa X]" +
+            " [--troca T] [--despacho T] [--cache T] [--niveis N] [--boost T] [--latencia T] [--granularidade T]" +
+            " [--fragmentos F] [--epoca E] [--threads T] [--metricas arquivo.json] [--vruntime arquivo.csv]";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println(USO);
+            System.exit(2);
+        }
+
+        if (!args[0].chars().allMatch(Character::isDigit)) {
+            Path metricas = null;
+            for (int i = 1; i < args.length; i += 2) {
+                LinhaDeComando.exigirValor(args, i, USO);
+                if (args[i].equals("--metricas")) metricas = Path.of(args[i + 1]);
+                else if (!opcaoParalela(args[i], args[i + 1])) throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+            if (System.getProperty("simulador.log.nivel") == null) {
+                Log.setNivel(NivelLog.AVISO);
+            }
+            try (LeitorConfiguracaoMapeado leitor = new LeitorConfiguracaoMapeado(Path.of(args[0]))) {
+                executar(leitor.criarContexto(), leitor, metricas);
+            }
+            return;
+        }
+
+        ParametrosCarga carga = new ParametrosCarga();
+        carga.setQuantidadeTarefas(Long.parseLong(args[0]));
+        String algoritmo = "RR";
+        int quantum = 4;
+        int alpha = 1;
+        CustoTroca custoTroca = CustoTroca.SEM_CUSTO;
+        int nucleos = 1;
+        int balanceamento = ContextoSimulacao.PERIODO_BALANCEAMENTO_PADRAO;
+        double taxa = -1;
+        int niveis = NiveisMLFQ.NIVEIS_PADRAO;
+        int boost = NiveisMLFQ.PERIODO_BOOST_PADRAO;
+        int latencia = ParametrosCFS.LATENCIA_PADRAO;
+        int granularidade = ParametrosCFS.GRANULARIDADE_PADRAO;
+        Path metricas = null;
+
+        for (int i = 1; i < args.length; i += 2) {
+            LinhaDeComando.exigirValor(args, i, USO);
+            String valor = args[i + 1];
+            switch (args[i]) {
+                case "--semente":
+                    carga.setSemente(Long.parseLong(valor));
+                    break;
+                case "--algoritmo":
+                    algoritmo = valor;
+                    break;
+                case "--quantum":
+                    quantum = Integer.parseInt(valor);
+                    break;
+                case "--alpha":
+                    alpha = Integer.parseInt(valor);
+                    break;
+                case "--chegadas":
+                    carga.setModeloChegada(ParametrosCarga.ModeloChegada.valueOf(valor.toUpperCase()));
+                    break;
+                case "--io":
+                    carga.setProbabilidadeIO(Double.parseDouble(valor));
+                    break;
+                case "--mutex":
+                    carga.setProbabilidadeMutex(Double.parseDouble(valor));
+                    break;
+                case "--prazo":
+                    carga.setFatorPrazo(Double.parseDouble(valor));
+                    break;
+                case "--metricas":
+                    metricas = Path.of(valor);
+                    break;
+                case "--nucleos":
+                    nucleos = Integer.parseInt(valor);
+                    break;
+                case "--balanceamento":
+                    balanceamento = Integer.parseInt(valor);
+                    break;
+                case "--taxa":
+                    taxa = Double.parseDouble(valor);
+                    break;
+                case "--niveis":
+                    niveis = Integer.parseInt(valor);
+                    break;
+                case "--boost":
+                    boost = Integer.parseInt(valor);
+                    break;
+                case "--latencia":
+                    latencia = Integer.parseInt(valor);
+                    break;
+                case "--granularidade":
+                    granularidade = Integer.parseInt(valor);
+                    break;
+                case "--troca":
+                case "--despacho":
+                case "--cache":
+                    custoTroca = custoTroca.com(args[i].substring(2), Integer.parseInt(valor));
+                    break;
+                default:
+                    if (!opcaoParalela(args[i], valor)) throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        if (System.getProperty("simulador.log.nivel") == null) {
+            Log.setNivel(NivelLog.AVISO);
+        }
+
+        // Sem --taxa, a taxa de chegada cresce com os núcleos: a carga por núcleo fica a mesma de 1 núcleo
+        carga.setTaxaChegada(taxa > 0 ? taxa : carga.getTaxaChegada() * nucleos);
+
+        ContextoSimulacao contexto = new ContextoSimulacao(algoritmo, quantum, alpha, nucleos);
+        contexto.setPeriodoBalanceamento(balanceamento);
+        contexto.setCustoTroca(custoTroca);
+        contexto.setNiveisMLFQ(NiveisMLFQ.dobrando(niveis, quantum, boost));
+        contexto.setParametrosCFS(new ParametrosCFS(latencia, granularidade));
+        executar(contexto, new GeradorCargas(carga), metricas);
+    }
+
+    // Opções do núcleo paralelo e da série de vruntime, aceitas nos dois modos
+    private static boolean opcaoParalela(String opcao, String valor) {
+        switch (opcao) {
+            case "--vruntime":
+                vruntime = Path.of(valor);
+                return true;
+            case "--fragmentos":
+                fragmentos = Integer.parseInt(valor);
+                return true;
+            case "--epoca":
+                duracaoEpoca = Integer.parseInt(valor);
+                return true;
+            case "--threads":
+                threads = Integer.parseInt(valor);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static void executar(ContextoSimulacao contexto, Iterator<Tarefa> tarefas, Path metricas) throws IOException {
+        contexto.setGuardarTCBs(false);
+        if (fragmentos > 1) {
+            executarParalelo(contexto, tarefas, metricas);
+            return;
+        }
+        SistemaOperacional so = new SistemaOperacional(contexto, tarefas);
+
+        long inicio = System.nanoTime();
+        long proximoProgresso = INTERVALO_PROGRESSO;
+        while (!so.terminouTodasTarefas()) {
+            so.execTick();
+            so.avancarAteProximoEvento();
+
+            long finalizadas = contexto.getContadores().get(EstadoTarefa.FINALIZADA);
+            if (finalizadas >= proximoProgresso) {
+                System.out.println(String.format(Locale.ROOT, "%,d tarefas finalizadas (tick %,d, %.1f s)",
+                        finalizadas, so.getTickAtual(), (System.nanoTime() - inicio) / 1e9));
+                proximoProgresso += INTERVALO_PROGRESSO;
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        concluir(contexto, so.getNumeroDeNucleos(), so.getTickAtual(), so.getTrocasDeContexto(), so.getMigracoes(),
+                segundos, "", metricas);
+        if (vruntime != null) {
+            if (so.getSerieMinVruntime() == null) {
+                System.out.println("--vruntime ignorado: o algoritmo não é CFS");
+            } else {
+                ExportadorMetricas.gravarSerie(so.getSerieMinVruntime(), "minVruntime", vruntime);
+                System.out.println(String.format(Locale.ROOT, "min-vruntime (%,d mudanças) gravado em %s",
+                        so.getSerieMinVruntime().quantidadePontos(), vruntime));
+            }
+        }
+    }
+
+    private static void executarParalelo(ContextoSimulacao contexto, Iterator<Tarefa> tarefas, Path metricas) throws IOException {
+        int t = threads > 0 ? threads : Math.min(fragmentos, Runtime.getRuntime().availableProcessors());
+        if (vruntime != null) System.out.println("--vruntime ignorado com fragmentos");
+        NucleoParalelo nucleo = new NucleoParalelo(contexto, tarefas, fragmentos, duracaoEpoca);
+
+        long inicio = System.nanoTime();
+        long[] proximoProgresso = {INTERVALO_PROGRESSO};
+        nucleo.executar(t, () -> {
+            long finalizadas = nucleo.getContadoresEstado().get(EstadoTarefa.FINALIZADA);
+            if (finalizadas >= proximoProgresso[0]) {
+                System.out.println(String.format(Locale.ROOT, "%,d tarefas finalizadas (tick %,d, %.1f s)",
+                        finalizadas, nucleo.getTickAtual(), (System.nanoTime() - inicio) / 1e9));
+                while (proximoProgresso[0] <= finalizadas) proximoProgresso[0] += INTERVALO_PROGRESSO;
+            }
+        });
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        concluir(contexto, nucleo.getNumeroDeNucleos(), nucleo.getTickAtual(), nucleo.getTrocasDeContexto(),
+                nucleo.getMigracoes(), segundos,
+                String.format(Locale.ROOT, " | %d fragmentos x época %d em %d thread(s), %,d migrações entre fragmentos",
+                        fragmentos, duracaoEpoca, t, nucleo.getMigracoesEntreFragmentos()),
+                metricas);
+    }
+
+    private static void concluir(ContextoSimulacao contexto, int nucleos, int tick, long trocas, long migracoes,
+                                 double segundos, String extra, Path metricas) throws IOException {
+        Runtime rt = Runtime.getRuntime();
+        System.out.println(String.format(Locale.ROOT,
+                "Concluído: %,d tarefas | %d núcleo(s) | %,d ticks | %,d trocas de contexto | %,d migrações | %.2f s | %,.0f tarefas/s | heap usado %,d MB%s",
+                contexto.getContadores().total(), nucleos, tick, trocas, migracoes, segundos,
+                contexto.getContadores().total() / Math.max(segundos, 1e-9),
+                (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024), extra));
+        System.out.println(ExportadorMetricas.resumo(contexto.getMetricas()));
+        if (metricas != null) {
+            ExportadorMetricas.gravar(contexto, metricas);
+            System.out.println("Métricas gravadas em " + metricas);
+        }
+    }
+}
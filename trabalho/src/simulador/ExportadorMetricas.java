@@ -0,0 +1,151 @@
+package simulador;
+
+import modelo.EstatisticasPrazo;
+import modelo.HistogramaPercentis;
+import modelo.MetricasSimulacao;
+import modelo.ParticipacaoCPU;
+import modelo.SerieTemporal;
+import modelo.TCB;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+// Exporta as métricas de uma simulação (ver MetricasSimulacao), em qualquer ponto dela:
+//  - .json: resumo global (utilização, sobrecarga de troca, vazão, preempções e percentis de turnaround, espera e resposta;
+//           com tarefas de tempo real, também prazos perdidos e lateness/tardiness por tarefa periódica;
+//           no stride e na loteria, o desvio entre a CPU recebida e a proporção dos bilhetes);
+//  - .csv:  uma linha por tarefa (precisa dos TCBs, ver ContextoSimulacao.setGuardarTCBs).
+// Séries (ex.: min-vruntime do CFS) vão para CSV à parte, uma linha por mudança de valor.
+public class ExportadorMetricas {
+
+    private static final String CABECALHO_CSV = "id;chegada;duracao;estado;termino;turnaround;espera;resposta;preempcoes";
+
+    private ExportadorMetricas() {}
+
+    // Escolhe o formato pela extensão do arquivo (.csv ou .json)
+    public static void gravar(ContextoSimulacao contexto, Path destino) throws IOException {
+        String nome = destino.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".csv")) {
+            if (!contexto.isGuardarTCBs()) {
+                throw new IllegalArgumentException("CSV por tarefa precisa dos TCBs, que esta simulação não guarda; use .json");
+            }
+            gravarCsv(contexto.getListaTCBs(), destino);
+        } else if (nome.endsWith(".json")) {
+            Files.writeString(destino, paraJson(contexto) + System.lineSeparator(), StandardCharsets.UTF_8);
+        } else {
+            throw new IllegalArgumentException("Formato de métricas desconhecido (use .csv ou .json): " + destino);
+        }
+    }
+
+    public static void gravarCsv(List<TCB> tcbs, Path destino) throws IOException {
+        try (PrintWriter saida = new PrintWriter(Files.newBufferedWriter(destino, StandardCharsets.UTF_8))) {
+            saida.println(CABECALHO_CSV);
+            for (TCB t : tcbs) {
+                saida.println(t.getTarefa().getId() + ";" + t.getTarefa().getInicio() + ";" + t.getTarefa().getDuracaoTotal() +
+                        ";" + t.getEstadoTarefa() + ";" + t.getTickTermino() + ";" + t.getTurnaround() +
+                        ";" + t.getEsperaAcumulada() + ";" + t.getTempoResposta() + ";" + t.getPreempcoes());
+            }
+        }
+    }
+
+    public static void gravarSerie(SerieTemporal serie, String nomeValor, Path destino) throws IOException {
+        try (PrintWriter saida = new PrintWriter(Files.newBufferedWriter(destino, StandardCharsets.UTF_8))) {
+            saida.println("tick;" + nomeValor);
+            for (int i = 0; i < serie.quantidadePontos(); i++) {
+                saida.println(serie.getTick(i) + ";" + serie.getValor(i));
+            }
+        }
+    }
+
+    public static String paraJson(ContextoSimulacao contexto) {
+        MetricasSimulacao m = contexto.getMetricas();
+        return String.format(Locale.ROOT,
+                "{\"algoritmo\": \"%s\", \"quantum\": %d, \"nucleos\": %d, \"ticks\": %d, \"tarefasAdmitidas\": %d, " +
+                        "\"tarefasFinalizadas\": %d, \"utilizacaoCPU\": %.4f, \"vazao\": %.6f, \"preempcoes\": %d, " +
+                        "\"custoTroca\": \"%s\", \"despachosComCusto\": %d, \"ticksSobrecarga\": %d, \"fracaoSobrecarga\": %.4f, " +
+                        "\"turnaround\": %s, \"espera\": %s, \"resposta\": %s%s%s}",
+                contexto.getAlgoritmo().replace("\\", "\\\\").replace("\"", "\\\""), contexto.getQuantum(),
+                m.getNucleos(), m.getTicksDecorridos(), m.getAdmitidas(), m.getFinalizadas(),
+                m.getUtilizacaoCPU(), m.getVazao(), m.getPreempcoes(),
+                contexto.getCustoTroca(), m.getDespachosComCusto(), m.getTicksSobrecarga(), m.getFracaoSobrecarga(),
+                histogramaJson(m.getTurnaround()), histogramaJson(m.getEspera()), histogramaJson(m.getResposta()),
+                m.getFinalizadasComPrazo() > 0 ? ", \"prazos\": " + prazosJson(m) : "",
+                m.getParticipacao() != null ? ", \"participacao\": " + participacaoJson(m.getParticipacao()) : "");
+    }
+
+    private static String participacaoJson(ParticipacaoCPU p) {
+        return String.format(Locale.ROOT, "{\"erroRelativo\": %.6f, \"mediaDesvio\": %.4f, \"maiorDesvio\": %.4f, \"desvio\": %s}",
+                p.getErroRelativo(), p.getMediaDesvio(), p.getMaiorDesvio(), histogramaJson(p.getDesvio()));
+    }
+
+    private static String prazosJson(MetricasSimulacao m) {
+        StringBuilder porTarefa = new StringBuilder();
+        for (EstatisticasPrazo e : m.getPrazosPorTarefa()) {
+            if (porTarefa.length() > 0) porTarefa.append(", ");
+            porTarefa.append(String.format(Locale.ROOT,
+                    "{\"id\": \"%s\", \"prazo\": %d, \"instancias\": %d, \"perdas\": %d, " +
+                            "\"lateness\": {\"media\": %.2f, \"min\": %d, \"p50\": %d, \"p90\": %d, \"p99\": %d, \"max\": %d}, " +
+                            "\"tardiness\": {\"media\": %.2f, \"p50\": %d, \"p90\": %d, \"p99\": %d, \"max\": %d}}",
+                    e.getIdTarefa().replace("\\", "\\\\").replace("\"", "\\\""), e.getPrazo(), e.getInstancias(), e.getPerdas(),
+                    e.getMediaLateness(), e.getMinimoLateness(), e.percentilLateness(50), e.percentilLateness(90),
+                    e.percentilLateness(99), e.getMaximoLateness(),
+                    e.getMediaTardiness(), e.percentilTardiness(50), e.percentilTardiness(90), e.percentilTardiness(99),
+                    Math.max(0, e.getMaximoLateness())));
+        }
+        return String.format(Locale.ROOT, "{\"finalizadasComPrazo\": %d, \"perdidos\": %d, \"tardiness\": %s, \"porTarefa\": [%s]}",
+                m.getFinalizadasComPrazo(), m.getPrazosPerdidos(), histogramaJson(m.getAtraso()), porTarefa);
+    }
+
+    private static String histogramaJson(HistogramaPercentis h) {
+        return String.format(Locale.ROOT,
+                "{\"quantidade\": %d, \"media\": %.2f, \"min\": %d, \"p50\": %d, \"p90\": %d, \"p99\": %d, \"p999\": %d, \"max\": %d}",
+                h.getQuantidade(), h.getMedia(), h.getMinimo(), h.percentil(50), h.percentil(90),
+                h.percentil(99), h.percentil(99.9), h.getMaximo());
+    }
+
+    // Resumo em texto para o console
+    public static String resumo(MetricasSimulacao m) {
+        return String.format(Locale.ROOT, "CPU %.1f%% | sobrecarga %.1f%% (%,d ticks) | vazão %.4f tarefas/tick | %,d preempções",
+                100 * m.getUtilizacaoCPU(), 100 * m.getFracaoSobrecarga(), m.getTicksSobrecarga(),
+                m.getVazao(), m.getPreempcoes()) + System.lineSeparator() +
+                linhaResumo("Turnaround", m.getTurnaround()) + System.lineSeparator() +
+                linhaResumo("Espera", m.getEspera()) + System.lineSeparator() +
+                linhaResumo("Resposta", m.getResposta()) + resumoPrazos(m) + resumoParticipacao(m);
+    }
+
+    // Vazio fora do stride e da loteria
+    private static String resumoParticipacao(MetricasSimulacao m) {
+        ParticipacaoCPU p = m.getParticipacao();
+        if (p == null) return "";
+        return System.lineSeparator() + String.format(Locale.ROOT,
+                "Participação: desvio de %.2f%% da CPU | média %.2f ticks por tarefa | maior %.1f ticks",
+                100 * p.getErroRelativo(), p.getMediaDesvio(), p.getMaiorDesvio()) +
+                System.lineSeparator() + linhaResumo("Desvio", p.getDesvio());
+    }
+
+    // Vazio sem tarefas de tempo real
+    private static String resumoPrazos(MetricasSimulacao m) {
+        if (m.getFinalizadasComPrazo() == 0) return "";
+        StringBuilder sb = new StringBuilder(System.lineSeparator());
+        sb.append(String.format(Locale.ROOT, "Prazos: %,d perdidos de %,d (%.2f%%)",
+                m.getPrazosPerdidos(), m.getFinalizadasComPrazo(), 100.0 * m.getPrazosPerdidos() / m.getFinalizadasComPrazo()));
+        sb.append(System.lineSeparator()).append(linhaResumo("Tardiness", m.getAtraso()));
+        for (EstatisticasPrazo e : m.getPrazosPorTarefa()) {
+            sb.append(System.lineSeparator()).append(String.format(Locale.ROOT,
+                    "  %-10s prazo %d | %,d/%,d perdidos | lateness média %.1f p99 %d máx %d | tardiness média %.1f p99 %d",
+                    e.getIdTarefa(), e.getPrazo(), e.getPerdas(), e.getInstancias(), e.getMediaLateness(),
+                    e.percentilLateness(99), e.getMaximoLateness(), e.getMediaTardiness(), e.percentilTardiness(99)));
+        }
+        return sb.toString();
+    }
+
+    private static String linhaResumo(String nome, HistogramaPercentis h) {
+        return String.format(Locale.ROOT, "%-10s média %.1f | p50 %d | p99 %d | p99.9 %d | máx %d",
+                nome, h.getMedia(), h.percentil(50), h.percentil(99), h.percentil(99.9), h.getMaximo());
+    }
+}
@@ -0,0 +1,112 @@
+package simulador;
+
+import modelo.Evento;
+import modelo.Tarefa;
+import modelo.TipoEvento;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+// Gera tarefas sintéticas sob demanda, já em ordem de chegada, para alimentar o SO direto
+// pelo construtor com Iterator (FilaAdmissao): a carga nunca fica inteira na memória, então
+// dá para simular dezenas de milhões de tarefas. A mesma semente e os mesmos parâmetros
+// geram sempre a mesma sequência de tarefas.
+//
+// Eventos: até maximoEventosIO I/Os em instantes sorteados da execução e, opcionalmente,
+// uma seção crítica (ML no instante a, MU no instante b > a). Cada tarefa segura no máximo
+// um mutex por vez, então a carga gerada nunca entra em deadlock.
+public class GeradorCargas implements Iterator<Tarefa> {
+
+    private final ParametrosCarga parametros;
+    private final Random rng;
+
+    private long geradas = 0;
+    private double instante = 0;
+    private long restantesNaRajada = 0;
+
+    public GeradorCargas(ParametrosCarga parametros) {
+        this.parametros = parametros;
+        this.rng = new Random(parametros.getSemente());
+    }
+
+    @Override
+    public boolean hasNext() {
+        long total = parametros.getQuantidadeTarefas();
+        return total < 0 || geradas < total;
+    }
+
+    @Override
+    public Tarefa next() {
+        if (!hasNext()) throw new NoSuchElementException("Carga sintética esgotada após " + geradas + " tarefas");
+
+        avancarInstante();
+        if (instante > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Instante de chegada passou do limite de int após " + geradas + " tarefas");
+        }
+
+        long numero = geradas++;
+        int duracao = parametros.getDuracao().sortear(rng);
+        int prioridade = parametros.getPrioridade().sortear(rng);
+        int prazo = (int) Math.min(Integer.MAX_VALUE, Math.ceil(duracao * parametros.getFatorPrazo()));
+        Tarefa tarefa = new Tarefa("G" + numero, cor(numero), (int) instante, duracao, prioridade, prazo, 0, 1);
+
+        if (rng.nextDouble() < parametros.getProbabilidadeIO()) {
+            int quantidade = 1 + rng.nextInt(parametros.getMaximoEventosIO());
+            for (int i = 0; i < quantidade; i++) {
+                tarefa.adicionarEvento(new Evento(TipoEvento.IO, rng.nextInt(duracao), parametros.getDuracaoIO().sortear(rng)));
+            }
+        }
+
+        if (duracao >= 2 && rng.nextDouble() < parametros.getProbabilidadeMutex()) {
+            int mutex = rng.nextInt(parametros.getNumeroDeMutex());
+            int trava = rng.nextInt(duracao - 1);
+            int libera = trava + 1 + rng.nextInt(duracao - 1 - trava);
+            tarefa.adicionarEvento(new Evento(TipoEvento.MUTEX_SOLICITACAO, trava, mutex, true));
+            tarefa.adicionarEvento(new Evento(TipoEvento.MUTEX_LIBERACAO, libera, mutex, true));
+        }
+        return tarefa;
+    }
+
+    private void avancarInstante() {
+        double taxa = parametros.getTaxaChegada();
+        if (parametros.getModeloChegada() == ParametrosCarga.ModeloChegada.POISSON) {
+            instante += exponencial(1.0 / taxa);
+            return;
+        }
+
+        // RAJADAS: o silêncio antes de cada rajada compensa as chegadas rápidas dentro dela,
+        // mantendo a taxa média perto de taxaChegada
+        if (restantesNaRajada == 0) {
+            double media = parametros.getTamanhoMedioRajada();
+            restantesNaRajada = 1 + (long) exponencial(media - 1);
+            instante += exponencial((media - (media - 1) / parametros.getFatorRajada()) / taxa);
+        } else {
+            instante += exponencial(1.0 / (taxa * parametros.getFatorRajada()));
+        }
+        restantesNaRajada--;
+    }
+
+    private double exponencial(double media) {
+        return media <= 0 ? 0 : -Math.log(1.0 - rng.nextDouble()) * media;
+    }
+
+    // Cor fixa por tarefa sem consumir números aleatórios (não altera a sequência da carga)
+    private static String cor(long numero) {
+        int rgb = (int) ((numero * 0x9E3779B97F4A7C15L) >>> 40) & 0xFFFFFF;
+        String hex = Integer.toHexString(rgb | 0x1000000).toUpperCase();
+        return hex.substring(1);
+    }
+
+    // Conveniência para cargas pequenas que precisam estar numa lista (UI, modo em lote)
+    public static ArrayList<Tarefa> gerarLista(ParametrosCarga parametros) {
+        if (parametros.getQuantidadeTarefas() < 0) {
+            throw new IllegalArgumentException("Carga sem fim não cabe numa lista");
+        }
+        ArrayList<Tarefa> tarefas = new ArrayList<>((int) Math.min(parametros.getQuantidadeTarefas(), Integer.MAX_VALUE - 8));
+        GeradorCargas gerador = new GeradorCargas(parametros);
+        while (gerador.hasNext()) tarefas.add(gerador.next());
+        return tarefas;
+    }
+}
@@ -0,0 +1,546 @@
+package simulador;
+
+import hardware.CustoTroca;
+import modelo.Evento;
+import modelo.Tarefa;
+import modelo.TipoEvento;
+import sistemaoperacional.nucleo.NiveisMLFQ;
+import sistemaoperacional.nucleo.ParametrosCFS;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+// Leitor de arquivos de configuração de qualquer tamanho (inclusive vários GB).
+// O arquivo é mapeado em memória em janelas e lido byte a byte: os números são convertidos direto
+// dos bytes, sem split nem String intermediária; só o id e a cor viram String (a Tarefa guarda assim).
+// As tarefas são entregues aos poucos, como um Iterator, e podem ir direto para o SO (FilaAdmissao).
+//
+// Ordem de entrega: por instante de chegada (empates na ordem do arquivo). Arquivos "quase ordenados"
+// são aceitos com uma janela de reordenação: até janelaReordenacao tarefas ficam guardadas esperando
+// alguma que chegue antes. Uma tarefa que chegaria antes de outra já entregue gera erro com a linha.
+// Com janela 0 as tarefas saem na ordem do arquivo, sem reordenar nem validar.
+//
+// Formato:
+//   Primeira linha: algoritmo; quantum [; alpha] [; opções chave=valor]
+//     nucleos=n (padrão 1) e balanceamento=n (ticks entre nivelamentos das filas, ver FilasPorNucleo)
+//     custos (ticks, opcionais, ver hardware.CustoTroca): troca=n; despacho=n; cache=n
+//     e, só para a CPU i, cpui.troca=n (idem despacho e cache), ex.: RR; 2; nucleos=4; troca=1; cpu0.cache=3
+//     MLFQ (ver NiveisMLFQ): niveis=n; boost=n (0 = sem boost); quantumi=n (quantum do nível i), ex.: MLFQ; 2; niveis=4; quantum3=20
+//     CFS (ver ParametrosCFS): latencia=n; granularidade=n, ex.: CFS; 2; latencia=24; granularidade=3
+//   Demais linhas: id; corHex; ingresso; duracao; prioridade [; eventos] [; opções chave=valor]
+//   Eventos separados por vírgula: IO:xx-yy, MLxx:tt, MUxx:tt
+//   Tempo real (ver Tarefa): prazo=n (relativo à chegada); periodo=n; instancias=n (obrigatório com periodo),
+//     ex.: t1; FF0000; 0; 3; 1; periodo=10; instancias=5   (prazo = período quando omitido)
+//   Stride e loteria: bilhetes=n (sem ela, derivados da prioridade, ver TCB), ex.: t2; 00FF00; 0; 8; 1; bilhetes=300
+// Erros de formato geram ErroDeConfiguracao com o número da linha; eventos inválidos são
+// registrados no log (com a linha) e ignorados, como no leitor original.
+public class LeitorConfiguracaoMapeado implements Iterator<Tarefa>, Closeable {
+
+    public static final int JANELA_REORDENACAO_PADRAO = 1 << 16;
+
+    // Tamanho máximo de cada mapeamento; uma linha nunca pode ser maior que isto
+    private static final long TAMANHO_MAPEAMENTO = 256L << 20;
+
+    private static class Pendente {
+        final Tarefa tarefa;
+        final long ordemNoArquivo;
+
+        Pendente(Tarefa tarefa, long ordemNoArquivo) {
+            this.tarefa = tarefa;
+            this.ordemNoArquivo = ordemNoArquivo;
+        }
+    }
+
+    private final FileChannel canal;
+    private final long tamanhoArquivo;
+    private final long tamanhoMapeamento;
+    private MappedByteBuffer buffer;
+    private long inicioBuffer;    // Posição no arquivo do primeiro byte do buffer
+    private int pos;              // Próximo byte a ler, relativo ao buffer
+
+    // Linha atual: bytes [inicioLinha, fimLinha) do buffer
+    private long numeroLinha = 0;
+    private int inicioLinha;
+    private int fimLinha;
+
+    private final int[] fimCampos = new int[5];
+    private byte[] bytesTexto = new byte[64];
+    private int cursor;           // Posição de leitura dentro de um evento
+
+    private String algoritmo;
+    private int quantum;
+    private int alpha = 0;
+    private int nucleos = 0;               // 0: o arquivo não diz
+    private int periodoBalanceamento = -1; // -1: o arquivo não diz
+    private CustoTroca custoTroca = CustoTroca.SEM_CUSTO;
+    private final Map<Integer, CustoTroca> custosPorCpu = new HashMap<>();
+    private NiveisMLFQ niveisMLFQ;         // null: o arquivo não diz
+    private int quantidadeNiveis = 0;
+    private int periodoBoost = -1;
+    private final Map<Integer, Integer> quantaPorNivel = new TreeMap<>();
+    private ParametrosCFS parametrosCFS;    // null: o arquivo não diz
+    private int latencia = -1;
+    private int granularidade = -1;
+
+    private final int janelaReordenacao;
+    private final PriorityQueue<Pendente> pendentes;
+    private long lidas = 0;
+    private int ultimoInicioEntregue = Integer.MIN_VALUE;
+    private boolean fimDoArquivo = false;
+
+    public LeitorConfiguracaoMapeado(Path arquivo) throws IOException {
+        this(arquivo, JANELA_REORDENACAO_PADRAO);
+    }
+
+    public LeitorConfiguracaoMapeado(Path arquivo, int janelaReordenacao) throws IOException {
+        this(arquivo, janelaReordenacao, TAMANHO_MAPEAMENTO);
+    }
+
+    // tamanhoMapeamento menor só serve para exercitar a troca de janelas com arquivos pequenos
+    LeitorConfiguracaoMapeado(Path arquivo, int janelaReordenacao, long tamanhoMapeamento) throws IOException {
+        if (janelaReordenacao < 0) throw new IllegalArgumentException("Janela de reordenação negativa");
+        this.janelaReordenacao = janelaReordenacao;
+        this.tamanhoMapeamento = tamanhoMapeamento;
+        Comparator<Pendente> ordemArquivo = Comparator.comparingLong(p -> p.ordemNoArquivo);
+        this.pendentes = new PriorityQueue<>(janelaReordenacao == 0 ? ordemArquivo
+                : Comparator.comparingInt((Pendente p) -> p.tarefa.getInicio()).thenComparing(ordemArquivo));
+
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            this.tamanhoArquivo = canal.size();
+            mapear(0);
+            lerCabecalho();
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    public String getAlgoritmo() { return algoritmo; }
+    public int getQuantum() { return quantum; }
+    public int getAlpha() { return alpha; }
+    public CustoTroca getCustoTroca() { return custoTroca; }
+    public Map<Integer, CustoTroca> getCustosPorCpu() { return custosPorCpu; }
+    // 0 se o arquivo não informa (quem usa escolhe; sem tela, 1 núcleo)
+    public int getNucleos() { return nucleos; }
+    // -1 se o arquivo não informa (vale o padrão do ContextoSimulacao)
+    public int getPeriodoBalanceamento() { return periodoBalanceamento; }
+    // null se o arquivo não informa (vale o padrão, derivado do quantum)
+    public NiveisMLFQ getNiveisMLFQ() { return niveisMLFQ; }
+    // null se o arquivo não informa (vale ParametrosCFS.padrao())
+    public ParametrosCFS getParametrosCFS() { return parametrosCFS; }
+
+    // Contexto de simulação com tudo que o cabeçalho configura
+    public ContextoSimulacao criarContexto() {
+        ContextoSimulacao contexto = new ContextoSimulacao(algoritmo, quantum, alpha, Math.max(1, nucleos));
+        if (periodoBalanceamento >= 0) contexto.setPeriodoBalanceamento(periodoBalanceamento);
+        contexto.setCustosTroca(custoTroca, custosPorCpu);
+        if (niveisMLFQ != null) contexto.setNiveisMLFQ(niveisMLFQ);
+        if (parametrosCFS != null) contexto.setParametrosCFS(parametrosCFS);
+        return contexto;
+    }
+
+    // --- Iterator ---
+
+    @Override
+    public boolean hasNext() {
+        encherPendentes();
+        return !pendentes.isEmpty();
+    }
+
+    @Override
+    public Tarefa next() {
+        if (!hasNext()) throw new NoSuchElementException("Não há mais tarefas no arquivo");
+        Tarefa tarefa = pendentes.poll().tarefa;
+        ultimoInicioEntregue = Math.max(ultimoInicioEntregue, tarefa.getInicio());
+        return tarefa;
+    }
+
+    private void encherPendentes() {
+        int limite = Math.max(1, janelaReordenacao);
+        try {
+            while (!fimDoArquivo && pendentes.size() < limite) {
+                Tarefa tarefa = lerProximaTarefa();
+                if (tarefa == null) {
+                    fimDoArquivo = true;
+                    break;
+                }
+                if (janelaReordenacao > 0 && tarefa.getInicio() < ultimoInicioEntregue) {
+                    throw erro("tarefa " + tarefa.getId() + " chega em " + tarefa.getInicio() +
+                            ", antes de uma tarefa já admitida (" + ultimoInicioEntregue + "). " +
+                            "Ordene o arquivo por ingresso ou aumente a janela de reordenação.");
+                }
+                pendentes.add(new Pendente(tarefa, lidas++));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        canal.close();
+    }
+
+    // --- Linhas ---
+
+    private void mapear(long inicio) throws IOException {
+        long tamanho = Math.min(tamanhoMapeamento, tamanhoArquivo - inicio);
+        buffer = canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamanho);
+        inicioBuffer = inicio;
+        pos = 0;
+    }
+
+    // Avança para a próxima linha (qualquer terminação: \n ou \r\n). Retorna false no fim do arquivo.
+    private boolean proximaLinha() throws IOException {
+        while (true) {
+            if (inicioBuffer + pos >= tamanhoArquivo) return false;
+
+            int limite = buffer.limit();
+            int i = pos;
+            while (i < limite && buffer.get(i) != '\n') i++;
+
+            if (i == limite && inicioBuffer + limite < tamanhoArquivo) {
+                // A linha continua depois do fim desta janela: remapeia a partir do início dela
+                if (pos == 0) throw new ErroDeConfiguracao(numeroLinha + 1, "linha maior que " + tamanhoMapeamento + " bytes");
+                mapear(inicioBuffer + pos);
+                continue;
+            }
+
+            inicioLinha = pos;
+            fimLinha = i;
+            pos = (i < limite) ? i + 1 : i;
+            numeroLinha++;
+            return true;
+        }
+    }
+
+    private boolean linhaEmBranco() {
+        return pularEspacos(inicioLinha, fimLinha) == fimLinha;
+    }
+
+    private void lerCabecalho() throws IOException {
+        if (!proximaLinha() || linhaEmBranco()) {
+            throw new ErroDeConfiguracao(1, "arquivo de configuração vazio");
+        }
+        // Marca de ordem de bytes (BOM) de arquivos UTF-8 salvos no Windows
+        if (fimLinha - inicioLinha >= 3 && (buffer.get(inicioLinha) & 0xFF) == 0xEF
+                && (buffer.get(inicioLinha + 1) & 0xFF) == 0xBB && (buffer.get(inicioLinha + 2) & 0xFF) == 0xBF) {
+            inicioLinha += 3;
+        }
+
+        int fimAlgoritmo = fimCampo(inicioLinha);
+        if (fimAlgoritmo == fimLinha) throw erro("primeira linha deve conter algoritmo e quantum");
+        algoritmo = lerTexto(inicioLinha, fimAlgoritmo).toUpperCase();
+
+        int fimQuantum = fimCampo(fimAlgoritmo + 1);
+        quantum = lerInteiro(fimAlgoritmo + 1, fimQuantum, "quantum");
+
+        // Depois do quantum: alpha (terceiro campo, se não for chave=valor) e opções chave=valor
+        Map<Integer, Map<String, Integer>> ajustesPorCpu = new TreeMap<>();
+        int fimAnterior = fimQuantum;
+        for (int campo = 3; fimAnterior < fimLinha; campo++) {
+            int ini = fimAnterior + 1;
+            int fim = fimCampo(ini);
+            int igual = ini;
+            while (igual < fim && buffer.get(igual) != '=') igual++;
+            if (igual < fim) {
+                lerOpcao(ini, igual, fim, ajustesPorCpu);
+            } else if (campo == 3 && pularEspacos(ini, fim) < fim) {
+                try {
+                    alpha = lerInteiro(ini, fim, "alpha");
+                } catch (ErroDeConfiguracao e) {
+                    alpha = 0; // Como no leitor original: alpha inválido é ignorado
+                }
+            }
+            fimAnterior = fim;
+        }
+        // Os ajustes de uma CPU partem do custo padrão, em qualquer ordem na linha
+        for (Map.Entry<Integer, Map<String, Integer>> cpu : ajustesPorCpu.entrySet()) {
+            CustoTroca custo = custoTroca;
+            for (Map.Entry<String, Integer> ajuste : cpu.getValue().entrySet()) {
+                custo = custo.com(ajuste.getKey(), ajuste.getValue());
+            }
+            custosPorCpu.put(cpu.getKey(), custo);
+        }
+        if (quantidadeNiveis > 0 || periodoBoost >= 0 || !quantaPorNivel.isEmpty()) {
+            try {
+                NiveisMLFQ niveis = NiveisMLFQ.dobrando(quantidadeNiveis > 0 ? quantidadeNiveis : NiveisMLFQ.NIVEIS_PADRAO,
+                        quantum, periodoBoost >= 0 ? periodoBoost : NiveisMLFQ.PERIODO_BOOST_PADRAO);
+                for (Map.Entry<Integer, Integer> q : quantaPorNivel.entrySet()) {
+                    niveis = niveis.comQuantum(q.getKey(), q.getValue());
+                }
+                niveisMLFQ = niveis;
+            } catch (IllegalArgumentException e) {
+                throw erro(e.getMessage());
+            }
+        }
+        if (latencia >= 0 || granularidade >= 0) {
+            try {
+                parametrosCFS = new ParametrosCFS(latencia >= 0 ? latencia : ParametrosCFS.LATENCIA_PADRAO,
+                        granularidade >= 0 ? granularidade : ParametrosCFS.GRANULARIDADE_PADRAO);
+            } catch (IllegalArgumentException e) {
+                throw erro(e.getMessage());
+            }
+        }
+    }
+
+    // nucleos=N e balanceamento=N; MLFQ: niveis=N, boost=N e quantumI=N; CFS: latencia=N e granularidade=N; custos: "troca=2" vale para todas as CPUs, "cpu1.troca=2" só para a CPU 1
+    private void lerOpcao(int ini, int igual, int fim, Map<Integer, Map<String, Integer>> ajustesPorCpu) {
+        String chave = lerTexto(ini, igual).toLowerCase(Locale.ROOT);
+        int valor = lerInteiro(igual + 1, fim, chave);
+        int ponto = chave.indexOf('.');
+        try {
+            if (chave.equals("nucleos")) {
+                if (valor < 1) throw erro("nucleos deve ser pelo menos 1");
+                nucleos = valor;
+            } else if (chave.equals("balanceamento")) {
+                if (valor < 0) throw erro("balanceamento não pode ser negativo");
+                periodoBalanceamento = valor;
+            } else if (chave.equals("niveis")) {
+                if (valor < 1 || valor > NiveisMLFQ.MAX_NIVEIS) throw erro("niveis deve ser entre 1 e " + NiveisMLFQ.MAX_NIVEIS);
+                quantidadeNiveis = valor;
+            } else if (chave.equals("boost")) {
+                if (valor < 0) throw erro("boost não pode ser negativo");
+                periodoBoost = valor;
+            } else if (chave.equals("latencia")) {
+                if (valor < 1) throw erro("latencia deve ser pelo menos 1");
+                latencia = valor;
+            } else if (chave.equals("granularidade")) {
+                if (valor < 1) throw erro("granularidade deve ser pelo menos 1");
+                granularidade = valor;
+            } else if (chave.startsWith("quantum") && chave.length() > 7) {
+                quantaPorNivel.put(Integer.parseInt(chave.substring(7)), valor);
+            } else if (chave.startsWith("cpu") && ponto > 3) {
+                int cpu = Integer.parseInt(chave.substring(3, ponto));
+                String nome = chave.substring(ponto + 1);
+                CustoTroca.SEM_CUSTO.com(nome, valor); // Valida nome e valor agora, com a linha
+                ajustesPorCpu.computeIfAbsent(cpu, c -> new LinkedHashMap<>()).put(nome, valor);
+            } else {
+                custoTroca = custoTroca.com(chave, valor);
+            }
+        } catch (NumberFormatException e) {
+            throw erro((chave.startsWith("quantum") ? "nível" : "índice de CPU") + " inválido em '" + chave + "'");
+        } catch (ErroDeConfiguracao e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw erro(e.getMessage());
+        }
+    }
+
+    // --- Tarefas ---
+
+    private Tarefa lerProximaTarefa() throws IOException {
+        do {
+            if (!proximaLinha()) return null;
+        } while (linhaEmBranco());
+
+        int[] fim = fimCampos;
+        int inicioCampo = inicioLinha;
+        for (int campo = 0; campo < 5; campo++) {
+            if (inicioCampo > fimLinha) {
+                throw erro("formato inválido, esperado: id; corHex; ingresso; duracao; prioridade [; eventos]");
+            }
+            fim[campo] = fimCampo(inicioCampo);
+            inicioCampo = fim[campo] + 1;
+        }
+
+        String id = lerTexto(inicioLinha, fim[0]);
+        String cor = lerTexto(fim[0] + 1, fim[1]);
+        int ingresso = lerInteiro(fim[1] + 1, fim[2], "ingresso");
+        int duracao = lerInteiro(fim[2] + 1, fim[3], "duracao");
+        int prioridade = lerInteiro(fim[3] + 1, fim[4], "prioridade");
+
+        // Depois da prioridade: a lista de eventos (sexto campo) e opções chave=valor, em qualquer ordem
+        int inicioEventos = -1;
+        int fimEventos = -1;
+        int prazo = 0;
+        int periodo = 0;
+        int instancias = 0;
+        int bilhetes = 0;
+        for (int fimAnterior = fim[4]; fimAnterior < fimLinha; ) {
+            int ini = fimAnterior + 1;
+            int fimOpcao = fimCampo(ini);
+            int igual = ini;
+            while (igual < fimOpcao && buffer.get(igual) != '=') igual++;
+            if (igual < fimOpcao) {
+                String chave = lerTexto(ini, igual).toLowerCase(Locale.ROOT);
+                int valor = lerInteiro(igual + 1, fimOpcao, chave);
+                if (chave.equals("prazo")) prazo = valor;
+                else if (chave.equals("periodo")) periodo = valor;
+                else if (chave.equals("instancias")) instancias = valor;
+                else if (chave.equals("bilhetes")) bilhetes = valor;
+                else throw erro("opção de tarefa desconhecida: '" + chave + "'");
+            } else if (inicioEventos < 0) {
+                inicioEventos = ini;
+                fimEventos = fimOpcao;
+            }
+            fimAnterior = fimOpcao;
+        }
+        if (periodo > 0 && instancias == 0) throw erro("periodo exige instancias=n");
+
+        Tarefa tarefa;
+        try {
+            tarefa = new Tarefa(id, cor, ingresso, duracao, prioridade, prazo, periodo, Math.max(1, instancias));
+            if (bilhetes != 0) tarefa.setBilhetes(bilhetes);
+        } catch (IllegalArgumentException e) {
+            throw erro(e.getMessage());
+        }
+
+        // Lista de eventos separados por vírgula (opcional)
+        if (inicioEventos >= 0) {
+            int inicioToken = inicioEventos;
+            while (inicioToken <= fimEventos) {
+                int fimToken = inicioToken;
+                while (fimToken < fimEventos && buffer.get(fimToken) != ',') fimToken++;
+                lerEvento(tarefa, inicioToken, fimToken);
+                inicioToken = fimToken + 1;
+            }
+        }
+        return tarefa;
+    }
+
+    private void lerEvento(Tarefa tarefa, int a, int b) {
+        a = pularEspacos(a, b);
+        b = recuarEspacos(a, b);
+        if (a == b) return;
+
+        try {
+            if (b - a < 2) throw new IllegalArgumentException("evento desconhecido");
+            char c0 = maiuscula(buffer.get(a));
+            char c1 = maiuscula(buffer.get(a + 1));
+            cursor = a + 2;
+
+            if (c0 == 'I' && c1 == 'O') {
+                // IO:xx-yy
+                esperar(':', b);
+                int instante = lerNumeroNoCursor(b);
+                esperar('-', b);
+                int duracao = lerNumeroNoCursor(b);
+                esperarFim(b);
+                tarefa.adicionarEvento(new Evento(TipoEvento.IO, instante, duracao));
+            } else if (c0 == 'M' && (c1 == 'L' || c1 == 'U')) {
+                // MLxx:tt / MUxx:tt
+                int idRecurso = lerNumeroNoCursor(b);
+                esperar(':', b);
+                int instante = lerNumeroNoCursor(b);
+                esperarFim(b);
+                TipoEvento tipo = (c1 == 'L') ? TipoEvento.MUTEX_SOLICITACAO : TipoEvento.MUTEX_LIBERACAO;
+                tarefa.adicionarEvento(new Evento(tipo, instante, idRecurso, true));
+            } else {
+                throw new IllegalArgumentException("evento desconhecido");
+            }
+        } catch (IllegalArgumentException e) {
+            Log.erro("Linha {}: evento inválido '{}' ignorado ({})", numeroLinha, lerTexto(a, b), e.getMessage());
+        }
+    }
+
+    private void esperar(char separador, int b) {
+        cursor = pularEspacos(cursor, b);
+        if (cursor >= b || buffer.get(cursor) != separador) {
+            throw new IllegalArgumentException("esperado '" + separador + "'");
+        }
+        cursor++;
+    }
+
+    private void esperarFim(int b) {
+        if (pularEspacos(cursor, b) != b) throw new IllegalArgumentException("texto sobrando no fim");
+    }
+
+    private int lerNumeroNoCursor(int b) {
+        int a = pularEspacos(cursor, b);
+        int fim = a;
+        while (fim < b && ehDigito(buffer.get(fim))) fim++;
+        if (fim == a) throw new IllegalArgumentException("número esperado");
+        cursor = fim;
+        return converterInteiro(a, fim);
+    }
+
+    // --- Campos ---
+
+    // Índice do próximo ';' a partir de "de", ou o fim da linha
+    private int fimCampo(int de) {
+        int i = de;
+        while (i < fimLinha && buffer.get(i) != ';') i++;
+        return i;
+    }
+
+    private int pularEspacos(int a, int b) {
+        while (a < b && ehEspaco(buffer.get(a))) a++;
+        return a;
+    }
+
+    private int recuarEspacos(int a, int b) {
+        while (b > a && ehEspaco(buffer.get(b - 1))) b--;
+        return b;
+    }
+
+    private int lerInteiro(int a, int b, String nomeCampo) {
+        int ini = pularEspacos(a, b);
+        int fim = recuarEspacos(ini, b);
+        int digitos = ini;
+        if (digitos < fim && (buffer.get(digitos) == '-' || buffer.get(digitos) == '+')) digitos++;
+        if (digitos == fim) throw erro("campo " + nomeCampo + " vazio");
+        for (int i = digitos; i < fim; i++) {
+            if (!ehDigito(buffer.get(i))) throw erro("campo " + nomeCampo + " não é um número: '" + lerTexto(ini, fim) + "'");
+        }
+        try {
+            int valor = converterInteiro(digitos, fim);
+            return buffer.get(ini) == '-' ? -valor : valor;
+        } catch (IllegalArgumentException e) {
+            throw erro("campo " + nomeCampo + " fora do limite: '" + lerTexto(ini, fim) + "'");
+        }
+    }
+
+    // Só dígitos em [a, b)
+    private int converterInteiro(int a, int b) {
+        long valor = 0;
+        for (int i = a; i < b; i++) {
+            valor = valor * 10 + (buffer.get(i) - '0');
+            if (valor > Integer.MAX_VALUE) throw new IllegalArgumentException("número grande demais");
+        }
+        return (int) valor;
+    }
+
+    // Texto sem os espaços das pontas (UTF-8)
+    private String lerTexto(int a, int b) {
+        a = pularEspacos(a, b);
+        b = recuarEspacos(a, b);
+        int n = b - a;
+        if (n > bytesTexto.length) bytesTexto = new byte[Math.max(n, bytesTexto.length * 2)];
+        for (int i = 0; i < n; i++) bytesTexto[i] = buffer.get(a + i);
+        return new String(bytesTexto, 0, n, StandardCharsets.UTF_8);
+    }
+
+    private static boolean ehEspaco(byte c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private static boolean ehDigito(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char maiuscula(byte c) {
+        return (c >= 'a' && c <= 'z') ? (char) (c - 32) : (char) c;
+    }
+
+    private ErroDeConfiguracao erro(String mensagem) {
+        return new ErroDeConfiguracao(numeroLinha, mensagem);
+    }
+}
@@ -0,0 +1,65 @@
+package simulador;
+
+import hardware.CustoTroca;
+import modelo.Tarefa;
+import sistemaoperacional.nucleo.NiveisMLFQ;
+import sistemaoperacional.nucleo.ParametrosCFS;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+
+// Lê um arquivo de configuração inteiro para uma lista, sem depender da interface gráfica.
+// A leitura em si é do LeitorConfiguracaoMapeado; para arquivos grandes, use-o direto como
+// Iterator e passe ao SO, sem montar a lista.
+// Primeira linha: algoritmo; quantum [; alpha] [; nucleos=n; balanceamento=n; troca=n; despacho=n; cache=n; cpui.troca=n;
+//                 niveis=n; boost=n; quantumi=n; latencia=n; granularidade=n ...]
+// Demais linhas: id; corHex; ingresso; duracao; prioridade [; eventos]
+public class LeitorDeConfiguracao {
+
+    private final String caminho;
+    private String algoritmo;
+    private int quantum;
+    private int alpha = 0;
+    private CustoTroca custoTroca = CustoTroca.SEM_CUSTO;
+    private Map<Integer, CustoTroca> custosPorCpu = Map.of();
+    private int nucleos = 0;
+    private int periodoBalanceamento = -1;
+    private NiveisMLFQ niveisMLFQ;
+    private ParametrosCFS parametrosCFS;
+
+    public LeitorDeConfiguracao(String caminho) {
+        this.caminho = caminho;
+    }
+
+    // Tarefas na ordem do arquivo; erros de formato vêm como ErroDeConfiguracao, com a linha
+    public ArrayList<Tarefa> lerTarefas() throws IOException {
+        ArrayList<Tarefa> tarefas = new ArrayList<>();
+        try (LeitorConfiguracaoMapeado leitor = new LeitorConfiguracaoMapeado(Path.of(caminho), 0)) {
+            algoritmo = leitor.getAlgoritmo();
+            quantum = leitor.getQuantum();
+            alpha = leitor.getAlpha();
+            custoTroca = leitor.getCustoTroca();
+            custosPorCpu = leitor.getCustosPorCpu();
+            nucleos = leitor.getNucleos();
+            periodoBalanceamento = leitor.getPeriodoBalanceamento();
+            niveisMLFQ = leitor.getNiveisMLFQ();
+            parametrosCFS = leitor.getParametrosCFS();
+            while (leitor.hasNext()) tarefas.add(leitor.next());
+        }
+        return tarefas;
+    }
+
+    public String getAlgoritmo() { return algoritmo; }
+    public int getQuantum() { return quantum; }
+    public int getAlpha() { return alpha; }
+    public CustoTroca getCustoTroca() { return custoTroca; }
+    public Map<Integer, CustoTroca> getCustosPorCpu() { return custosPorCpu; }
+    // 0 / -1 quando o arquivo não informa (ver LeitorConfiguracaoMapeado)
+    public int getNucleos() { return nucleos; }
+    public int getPeriodoBalanceamento() { return periodoBalanceamento; }
+    // null quando o arquivo não informa
+    public NiveisMLFQ getNiveisMLFQ() { return niveisMLFQ; }
+    public ParametrosCFS getParametrosCFS() { return parametrosCFS; }
+}
@@ -0,0 +1,17 @@
+package simulador;
+
+// Verificações comuns às opções de linha de comando dos modos sem interface (--lote, --estresse, --benchmark)
+public final class LinhaDeComando {
+
+    private LinhaDeComando() {
+    }
+
+    // Toda opção tem valor: sem ele (no fim ou seguida de outra opção) é erro de uso, não é ignorada.
+    // Imprime a opção e o uso do modo e encerra com código 2
+    public static void exigirValor(String[] args, int i, String uso) {
+        if (i + 1 < args.length && !args[i + 1].startsWith("--")) return;
+        System.err.println("Opção sem valor: " + args[i]);
+        System.err.println(uso);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,132 @@
+package simulador;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+// Log com níveis, usado no lugar dos prints diretos no console.
+// A mensagem só é montada se o nível estiver habilitado: os parâmetros são passados separados
+// e substituem os "{}" do texto, ou a mensagem vem de um Supplier. Com o nível desligado,
+// uma chamada custa apenas uma comparação.
+// As linhas habilitadas vão para um arquivo através de SaidaLogAssincrona. O arquivo é recriado
+// vazio a cada execução do programa (e a cada simulação iniciada na interface, ver reiniciar),
+// então não cresce sem limite entre execuções.
+//
+// Configuração (propriedades da JVM):
+//   -Dsimulador.log.nivel=DEBUG|INFO|AVISO|ERRO|DESLIGADO   (padrão: INFO)
+//   -Dsimulador.log.arquivo=caminho                         (padrão: simulador.log)
+public final class Log {
+
+    private static volatile NivelLog nivel = lerNivelConfigurado();
+    private static String arquivo = System.getProperty("simulador.log.arquivo", "simulador.log");
+    private static volatile SaidaLogAssincrona saida; // Criada na primeira mensagem habilitada
+    private static boolean ganchoRegistrado = false;   // Fecha a saída atual ao encerrar a JVM
+
+    private Log() {}
+
+    private static NivelLog lerNivelConfigurado() {
+        String valor = System.getProperty("simulador.log.nivel", "INFO");
+        try {
+            return NivelLog.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return NivelLog.INFO;
+        }
+    }
+
+    public static NivelLog getNivel() { return nivel; }
+    public static void setNivel(NivelLog novoNivel) { nivel = novoNivel; }
+
+    public static boolean habilitado(NivelLog nivelMensagem) {
+        return nivel.habilita(nivelMensagem);
+    }
+
+    // Troca o arquivo de destino (a saída atual é fechada depois de gravar o que falta)
+    public static synchronized void setArquivo(String caminho) {
+        if (saida != null) {
+            saida.fechar();
+            saida = null;
+        }
+        arquivo = caminho;
+    }
+
+    // Começa o log do zero: fecha a saída atual e a próxima mensagem recria o arquivo vazio
+    public static synchronized void reiniciar() {
+        setArquivo(arquivo);
+    }
+
+    // Bloqueia até tudo que já foi logado estar no arquivo
+    public static synchronized void descarregar() {
+        if (saida != null) saida.descarregar();
+    }
+
+    // --- DEBUG ---
+    public static void debug(String msg) { if (nivel.habilita(NivelLog.DEBUG)) escrever(NivelLog.DEBUG, msg); }
+    public static void debug(String formato, Object a) { if (nivel.habilita(NivelLog.DEBUG)) escrever(NivelLog.DEBUG, formatar(formato, a)); }
+    public static void debug(String formato, Object a, Object b) { if (nivel.habilita(NivelLog.DEBUG)) escrever(NivelLog.DEBUG, formatar(formato, a, b)); }
+    public static void debug(String formato, Object a, Object b, Object c) { if (nivel.habilita(NivelLog.DEBUG)) escrever(NivelLog.DEBUG, formatar(formato, a, b, c)); }
+    public static void debug(Supplier<String> msg) { if (nivel.habilita(NivelLog.DEBUG)) escrever(NivelLog.DEBUG, msg.get()); }
+
+    // --- INFO ---
+    public static void info(String msg) { if (nivel.habilita(NivelLog.INFO)) escrever(NivelLog.INFO, msg); }
+    public static void info(String formato, Object a) { if (nivel.habilita(NivelLog.INFO)) escrever(NivelLog.INFO, formatar(formato, a)); }
+    public static void info(String formato, Object a, Object b) { if (nivel.habilita(NivelLog.INFO)) escrever(NivelLog.INFO, formatar(formato, a, b)); }
+    public static void info(String formato, Object a, Object b, Object c) { if (nivel.habilita(NivelLog.INFO)) escrever(NivelLog.INFO, formatar(formato, a, b, c)); }
+    public static void info(Supplier<String> msg) { if (nivel.habilita(NivelLog.INFO)) escrever(NivelLog.INFO, msg.get()); }
+
+    // --- AVISO ---
+    public static void aviso(String msg) { if (nivel.habilita(NivelLog.AVISO)) escrever(NivelLog.AVISO, msg); }
+    public static void aviso(String formato, Object a) { if (nivel.habilita(NivelLog.AVISO)) escrever(NivelLog.AVISO, formatar(formato, a)); }
+    public static void aviso(String formato, Object a, Object b) { if (nivel.habilita(NivelLog.AVISO)) escrever(NivelLog.AVISO, formatar(formato, a, b)); }
+
+    // --- ERRO (também vai para o System.err, para não passar despercebido) ---
+    public static void erro(String msg) { if (nivel.habilita(NivelLog.ERRO)) escrever(NivelLog.ERRO, msg); }
+    public static void erro(String formato, Object a) { if (nivel.habilita(NivelLog.ERRO)) escrever(NivelLog.ERRO, formatar(formato, a)); }
+    public static void erro(String formato, Object a, Object b) { if (nivel.habilita(NivelLog.ERRO)) escrever(NivelLog.ERRO, formatar(formato, a, b)); }
+    public static void erro(String formato, Object a, Object b, Object c) { if (nivel.habilita(NivelLog.ERRO)) escrever(NivelLog.ERRO, formatar(formato, a, b, c)); }
+
+    // Substitui cada "{}" pelo próximo argumento
+    static String formatar(String formato, Object... args) {
+        StringBuilder sb = new StringBuilder(formato.length() + 16 * args.length);
+        int arg = 0;
+        int i = 0;
+        while (i < formato.length()) {
+            char c = formato.charAt(i);
+            if (c == '{' && i + 1 < formato.length() && formato.charAt(i + 1) == '}' && arg < args.length) {
+                sb.append(args[arg++]);
+                i += 2;
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void escrever(NivelLog nivelMensagem, String msg) {
+        String linha = "[" + nivelMensagem + "] " + msg;
+        if (nivelMensagem == NivelLog.ERRO) System.err.println(linha);
+
+        SaidaLogAssincrona destino = saida;
+        if (destino == null) destino = obterSaida();
+        if (destino != null) destino.publicar(linha);
+    }
+
+    private static synchronized SaidaLogAssincrona obterSaida() {
+        if (saida == null) {
+            try {
+                saida = new SaidaLogAssincrona(arquivo);
+                if (!ganchoRegistrado) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(Log::fechar, "log-fechamento"));
+                    ganchoRegistrado = true;
+                }
+            } catch (IOException e) {
+                System.err.println("Não foi possível abrir o log " + arquivo + ": " + e.getMessage() + ". Log desligado.");
+                nivel = NivelLog.DESLIGADO;
+            }
+        }
+        return saida;
+    }
+
+    private static synchronized void fechar() {
+        if (saida != null) saida.fechar();
+    }
+}
@@ -0,0 +1,13 @@
+package simulador;
+
+public enum NivelLog {
+    DEBUG,
+    INFO,
+    AVISO,
+    ERRO,
+    DESLIGADO;
+
+    public boolean habilita(NivelLog nivelMensagem) {
+        return this != DESLIGADO && nivelMensagem.ordinal() >= this.ordinal();
+    }
+}
@@ -0,0 +1,112 @@
+package simulador;
+
+// Configuração do GeradorCargas. Os valores padrão geram uma carga com a CPU perto de saturar:
+// chegadas de Poisson com taxa ~ 1 / duração média, sem eventos.
+public class ParametrosCarga {
+
+    public enum ModeloChegada {
+        POISSON,  // Intervalos exponenciais com taxa constante
+        RAJADAS   // Grupos de chegadas próximas separados por períodos de silêncio, com a mesma taxa média
+    }
+
+    private long semente = 1L;
+    private long quantidadeTarefas = 1000;  // -1 = sem fim
+
+    private ModeloChegada modeloChegada = ModeloChegada.POISSON;
+    private double taxaChegada = 0.09;        // Tarefas por tick, em média
+    private double tamanhoMedioRajada = 20;   // RAJADAS: tarefas por rajada, em média
+    private double fatorRajada = 10;          // RAJADAS: quantas vezes a taxa média dentro da rajada
+
+    private Distribuicao duracao = Distribuicao.uniforme(1, 20);
+    private Distribuicao prioridade = Distribuicao.uniforme(0, 20);
+
+    private double probabilidadeIO = 0.0;     // Fração das tarefas com I/O
+    private int maximoEventosIO = 1;          // Cada tarefa com I/O tem de 1 a este número de eventos
+    private Distribuicao duracaoIO = Distribuicao.uniforme(1, 10);
+
+    private double probabilidadeMutex = 0.0;  // Fração das tarefas com uma seção crítica (ML ... MU)
+    private int numeroDeMutex = 8;
+
+    private double fatorPrazo = 0;            // Prazo = duração x fator, arredondado para cima (0 = sem prazo)
+
+    public long getSemente() { return semente; }
+    public void setSemente(long semente) { this.semente = semente; }
+
+    public long getQuantidadeTarefas() { return quantidadeTarefas; }
+    public void setQuantidadeTarefas(long quantidadeTarefas) {
+        if (quantidadeTarefas < -1) throw new IllegalArgumentException("Quantidade de tarefas inválida: " + quantidadeTarefas);
+        this.quantidadeTarefas = quantidadeTarefas;
+    }
+
+    public ModeloChegada getModeloChegada() { return modeloChegada; }
+    public void setModeloChegada(ModeloChegada modeloChegada) { this.modeloChegada = modeloChegada; }
+
+    public double getTaxaChegada() { return taxaChegada; }
+    public void setTaxaChegada(double taxaChegada) {
+        if (taxaChegada <= 0) throw new IllegalArgumentException("Taxa de chegada deve ser maior que zero");
+        this.taxaChegada = taxaChegada;
+    }
+
+    public double getTamanhoMedioRajada() { return tamanhoMedioRajada; }
+    public void setTamanhoMedioRajada(double tamanhoMedioRajada) {
+        if (tamanhoMedioRajada < 1) throw new IllegalArgumentException("Rajada média deve ter ao menos 1 tarefa");
+        this.tamanhoMedioRajada = tamanhoMedioRajada;
+    }
+
+    public double getFatorRajada() { return fatorRajada; }
+    public void setFatorRajada(double fatorRajada) {
+        if (fatorRajada < 1) throw new IllegalArgumentException("Fator da rajada deve ser pelo menos 1");
+        this.fatorRajada = fatorRajada;
+    }
+
+    public Distribuicao getDuracao() { return duracao; }
+    public void setDuracao(Distribuicao duracao) {
+        if (duracao.getMin() < 1) throw new IllegalArgumentException("Duração mínima deve ser pelo menos 1");
+        this.duracao = duracao;
+    }
+
+    public Distribuicao getPrioridade() { return prioridade; }
+    public void setPrioridade(Distribuicao prioridade) {
+        if (prioridade.getMin() < 0) throw new IllegalArgumentException("Prioridade não pode ser negativa");
+        this.prioridade = prioridade;
+    }
+
+    public double getProbabilidadeIO() { return probabilidadeIO; }
+    public void setProbabilidadeIO(double probabilidadeIO) {
+        this.probabilidadeIO = validarProbabilidade(probabilidadeIO);
+    }
+
+    public int getMaximoEventosIO() { return maximoEventosIO; }
+    public void setMaximoEventosIO(int maximoEventosIO) {
+        if (maximoEventosIO < 1) throw new IllegalArgumentException("Máximo de eventos de I/O deve ser pelo menos 1");
+        this.maximoEventosIO = maximoEventosIO;
+    }
+
+    public Distribuicao getDuracaoIO() { return duracaoIO; }
+    public void setDuracaoIO(Distribuicao duracaoIO) {
+        if (duracaoIO.getMin() < 0) throw new IllegalArgumentException("Duração de I/O não pode ser negativa");
+        this.duracaoIO = duracaoIO;
+    }
+
+    public double getProbabilidadeMutex() { return probabilidadeMutex; }
+    public void setProbabilidadeMutex(double probabilidadeMutex) {
+        this.probabilidadeMutex = validarProbabilidade(probabilidadeMutex);
+    }
+
+    public int getNumeroDeMutex() { return numeroDeMutex; }
+    public void setNumeroDeMutex(int numeroDeMutex) {
+        if (numeroDeMutex < 1) throw new IllegalArgumentException("Número de mutex deve ser pelo menos 1");
+        this.numeroDeMutex = numeroDeMutex;
+    }
+
+    public double getFatorPrazo() { return fatorPrazo; }
+    public void setFatorPrazo(double fatorPrazo) {
+        if (fatorPrazo != 0 && fatorPrazo < 1) throw new IllegalArgumentException("Fator de prazo deve ser 0 ou pelo menos 1: " + fatorPrazo);
+        this.fatorPrazo = fatorPrazo;
+    }
+
+    private static double validarProbabilidade(double p) {
+        if (p < 0 || p > 1) throw new IllegalArgumentException("Probabilidade deve estar entre 0 e 1: " + p);
+        return p;
+    }
+}
@@ -2,18 +2,14 @@ package simulador;
 
 public class Relogio {
 
-    private static final Relogio instancia = new Relogio();
+    // Cada simulação tem o seu relógio (ver ContextoSimulacao)
 
     private int tickAtual;
 
-    private Relogio(){
+    public Relogio(){
         this.tickAtual = 0;
     }
 
-    public static Relogio getInstancia(){
-        return instancia;
-    }
-
     public int getTickAtual() {
         return tickAtual;
     }
@@ -22,6 +18,14 @@ public class Relogio {
         tickAtual++;
     }
 
+    // Usado pelo modo orientado a eventos para saltar direto ao próximo tick relevante
+    public void avancarPara(int tick) {
+        if (tick < tickAtual) {
+            throw new IllegalArgumentException("Relógio não pode voltar no tempo");
+        }
+        tickAtual = tick;
+    }
+
     public void resetar(){
         tickAtual = 0;
     }
@@ -0,0 +1,105 @@
+package simulador;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Saída do Log: a simulação só enfileira a linha num buffer circular de tamanho fixo
+// (ArrayBlockingQueue) e uma thread separada grava no arquivo em lotes.
+// Se o buffer encher, quem loga espera (nenhuma linha é descartada).
+// O arquivo é aberto truncado: cada saída começa um log novo.
+class SaidaLogAssincrona {
+
+    private static final int CAPACIDADE = 8192;
+    private static final int TAMANHO_LOTE = 1024;
+
+    private final ArrayBlockingQueue<String> buffer = new ArrayBlockingQueue<>(CAPACIDADE);
+    private final Writer escritor;
+    private final Thread thread;
+    private final AtomicLong publicadas = new AtomicLong();
+    private volatile long gravadas = 0;
+    private volatile boolean fechada = false;
+
+    SaidaLogAssincrona(String caminho) throws IOException {
+        this.escritor = new BufferedWriter(new FileWriter(caminho, false));
+        this.thread = new Thread(this::laco, "log-escritor");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void publicar(String linha) {
+        if (fechada) return;
+        try {
+            buffer.put(linha);
+            publicadas.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void laco() {
+        List<String> lote = new ArrayList<>(TAMANHO_LOTE);
+        long total = 0;
+        try {
+            while (!fechada || !buffer.isEmpty()) {
+                String primeira = buffer.poll(50, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    escritor.flush();
+                    continue;
+                }
+                lote.add(primeira);
+                buffer.drainTo(lote, TAMANHO_LOTE - 1);
+                for (String linha : lote) {
+                    escritor.write(linha);
+                    escritor.write(System.lineSeparator());
+                }
+                total += lote.size();
+                lote.clear();
+                if (buffer.isEmpty()) {
+                    escritor.flush();
+                    gravadas = total;
+                }
+            }
+            escritor.flush();
+            gravadas = total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar log: " + e.getMessage());
+        } finally {
+            try {
+                escritor.close();
+            } catch (IOException ignorada) {
+                // nada a fazer
+            }
+        }
+    }
+
+    // Espera até tudo que já foi publicado estar gravado no arquivo
+    void descarregar() {
+        long alvo = publicadas.get();
+        while (gravadas < alvo && thread.isAlive()) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void fechar() {
+        fechada = true;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,24 +6,23 @@ import modelo.Tarefa;
 import java.util.ArrayList;
 import java.util.Scanner;
 
-import ui.Terminal;
-
 public class Simulador {
 
     private SistemaOperacional so;
 
-    Relogio relogio;
+    private Scanner entrada;
 
     ArrayList<Tarefa> tarefasDoArquivoDeConfiguracao = new ArrayList<>();
 
     public Simulador(String caminhoDoArquivoDeConfiguracao) {
         //this.leitor = new LeitorDeConfiguracao(caminhoDoArquivoDeConfiguracao);
-        relogio = Relogio.getInstancia();
     }
     
     private void carregarTarefasDoArquivoDeConfiguracao(){
 
         //tarefasDoArquivoDeConfiguracao = leitor.lerTarefas();
+        // O SO não consome mais esta lista, então ela é refeita a cada execução
+        tarefasDoArquivoDeConfiguracao.clear();
         tarefasDoArquivoDeConfiguracao.add(new Tarefa("t01", "E74C3C", 0, 5, 3)); // Vermelho
         tarefasDoArquivoDeConfiguracao.add(new Tarefa("t02", "3498DB", 0, 3, 2)); // Azul
         tarefasDoArquivoDeConfiguracao.add(new Tarefa("t03", "27AE60", 2, 6, 4)); // Verde
@@ -33,6 +32,7 @@ public class Simulador {
 
     public void executar() {
         try(Scanner scanner = new Scanner(System.in)){
+            entrada = scanner;
             String comando;
 
             while (true) {
@@ -60,19 +60,16 @@ public class Simulador {
     public void execTodoSO(){
         carregarTarefasDoArquivoDeConfiguracao();
 
-        Terminal.println("Executando Tudo");
-        Terminal.println("Lista de Tarefas carregadas do arquivo de configuração:");
+        Log.info("Executando Tudo");
+        logarTarefasCarregadas();
 
-        Terminal.printaListaTarefa(tarefasDoArquivoDeConfiguracao);
-        Terminal.debugPrintln("Pronto para iniciar a simulacao?");
-        Terminal.esperar();
-        so = new SistemaOperacional(tarefasDoArquivoDeConfiguracao, "SRTF", 3, 1);
+        so = new SistemaOperacional(new ContextoSimulacao("SRTF", 3, 0, 1), tarefasDoArquivoDeConfiguracao);
         while (!so.terminouTodasTarefas()) {
             // Executa uma unidade de tempo do SO
             so.execTick();
 
-            // Avança o relógio
-            relogio.tick();
+            // Avança o relógio direto para o próximo tick em que algo pode acontecer
+            so.avancarAteProximoEvento();
         }
 
 
@@ -81,19 +78,17 @@ public class Simulador {
     public void execSOPassoAPasso(){
         carregarTarefasDoArquivoDeConfiguracao();
 
-        Terminal.println("Executando Tudo");
-        Terminal.println("Lista de Tarefas carregadas do arquivo de configuração:");
+        Log.info("Executando passo a passo");
+        logarTarefasCarregadas();
 
-        Terminal.printaListaTarefa(tarefasDoArquivoDeConfiguracao);
-        Terminal.debugPrintln("Pronto para iniciar a simulacao?");
-        Terminal.esperar();
-        so = new SistemaOperacional(tarefasDoArquivoDeConfiguracao, "PRIORIDADE_PREEMPTIVO", 3, 1);
+        ContextoSimulacao contexto = new ContextoSimulacao("PRIORIDADE_PREEMPTIVO", 3, 0, 1);
+        Relogio relogio = contexto.getRelogio();
+        so = new SistemaOperacional(contexto, tarefasDoArquivoDeConfiguracao);
         while (!so.terminouTodasTarefas()) {
             // Executa uma unidade de tempo do SO
             so.execTick();
 
-            Terminal.debugPrintln("Executar tick?");
-            Terminal.esperar();
+            esperar("Tick " + relogio.getTickAtual() + " executado. Pressione Enter para o próximo...");
 
             // Avança o relógio
             relogio.tick();
@@ -101,4 +96,18 @@ public class Simulador {
 
     }
 
-}
\ No newline at end of file
+    private void logarTarefasCarregadas() {
+        Log.info("Lista de Tarefas carregadas do arquivo de configuração:");
+        for (Tarefa tarefa : tarefasDoArquivoDeConfiguracao) {
+            Log.info(tarefa::resumo);
+        }
+    }
+
+    // Pausa do modo passo a passo (interação com o usuário, não é log)
+    private void esperar(String mensagem) {
+        if (entrada == null) return;
+        System.out.println(mensagem);
+        entrada.nextLine();
+    }
+
+}
@@ -0,0 +1,141 @@
+package sistemaoperacional;
+
+import modelo.TCB;
+import simulador.ContextoSimulacao;
+import sistemaoperacional.nucleo.CaixaPostal;
+import sistemaoperacional.nucleo.FilaAdmissao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Um fragmento do NucleoParalelo: um SistemaOperacional comum que simula uma fatia contígua das CPUs,
+// com as tarefas que estão nelas, o próprio relógio, contadores e métricas.
+// A cada época [inicio, fim) roda sozinho, no modo orientado a eventos, e só fala com os outros
+// fragmentos por mensagens (ver MensagemFragmento), lidas no começo da época seguinte.
+class Fragmento {
+
+    private final int indice;
+    private final NucleoParalelo nucleo;
+    private final ContextoSimulacao contexto;
+    private final SistemaOperacional so;
+    private final GerenciadorRecursosFragmentado recursos;
+
+    // Duas caixas, alternadas por época: o que chega durante a época k fica na caixa de k + 1
+    // e não se mistura com o que está sendo lido
+    private final List<CaixaPostal<MensagemFragmento>> caixas = List.of(new CaixaPostal<>(), new CaixaPostal<>());
+    private long sequencia = 0;
+
+    private final ArrayDeque<MensagemFragmento> admissoes = new ArrayDeque<>(); // Em ordem de chegada
+    private final List<MensagemFragmento> pendentes = new ArrayList<>();        // Aplicadas no primeiro passo da época
+    private int aplicadoAte = 0;                 // Ticks anteriores a este já foram simulados
+    private int proximaAcao = Integer.MAX_VALUE; // Próximo tick em que o SO precisa decidir algo
+    private int ultimoPasso = -1;
+
+    Fragmento(int indice, NucleoParalelo nucleo, ContextoSimulacao contexto) {
+        this.indice = indice;
+        this.nucleo = nucleo;
+        this.contexto = contexto;
+        this.recursos = new GerenciadorRecursosFragmentado(this);
+        this.so = new SistemaOperacional(contexto, new FilaAdmissao(Collections.emptyIterator()), recursos);
+    }
+
+    // Simula os ticks [inicio, fim). O coordenador garante que nada acontece aqui entre o fim da
+    // época anterior e inicio (inicio <= proximaAcao), então esse trecho é aplicado em lote
+    void executarEpoca(int epoca, int inicio, int fim) {
+        List<MensagemFragmento> recebidas = caixas.get(epoca & 1).retirarTodas();
+        recebidas.sort(MensagemFragmento.ORDEM);
+        for (MensagemFragmento m : recebidas) {
+            if (m.tipo == MensagemFragmento.Tipo.ADMITIR) admissoes.add(m);
+            else pendentes.add(m);
+        }
+        if (!pendentes.isEmpty()) proximaAcao = inicio;
+        proximaAcao = Math.min(proximaAcao, proximaAdmissao());
+
+        while (true) {
+            int alvo = Math.max(inicio, Math.min(proximaAcao, fim));
+            so.saltarPara(alvo, alvo - aplicadoAte);
+            aplicadoAte = alvo;
+            if (alvo == fim) break;
+
+            // Um passo sem nenhuma tarefa viva só tira da CPU quem acabou de terminar; o laço sequencial
+            // para antes dele, então não conta como tick simulado
+            boolean ocioso = so.terminouTodasTarefas() && pendentes.isEmpty() && proximaAdmissao() > alvo;
+            passo(alvo);
+            aplicadoAte = alvo + 1;
+            if (!ocioso) ultimoPasso = alvo;
+            proximaAcao = Math.min(so.proximoTickAgendado(), proximaAdmissao());
+        }
+    }
+
+    // Um tick completo, na ordem do execTick
+    private void passo(int tick) {
+        so.criarTarefas();
+        while (!admissoes.isEmpty() && admissoes.peek().tarefa.getInicio() <= tick) {
+            MensagemFragmento m = admissoes.poll();
+            so.admitir(m.tarefa, m.valor);
+        }
+        for (MensagemFragmento m : pendentes) aplicar(m);
+        pendentes.clear();
+
+        so.verificarTarefasProcessandoEEscalonar();
+        so.gerenciarEventosEBloqueios();
+        so.executarProcessos();
+    }
+
+    private void aplicar(MensagemFragmento m) {
+        switch (m.tipo) {
+            case MIGRAR:
+                so.receberMigrada(m.tcb);
+                break;
+            case ACORDAR:
+                so.acordarPorMutex(m.tcb);
+                break;
+            case SOLICITAR_MUTEX:
+                recursos.solicitacaoRemota(m.valor, m.tcb);
+                break;
+            case LIBERAR_MUTEX:
+                TCB acordada = recursos.liberacaoRemota(m.valor, m.tcb);
+                if (acordada != null) so.acordarPorMutex(acordada);
+                break;
+            default:
+                throw new IllegalStateException("Mensagem inesperada: " + m.tipo);
+        }
+    }
+
+    private int proximaAdmissao() {
+        return admissoes.isEmpty() ? Integer.MAX_VALUE : admissoes.peek().tarefa.getInicio();
+    }
+
+    // --- Mensagens ---
+
+    // Chamado pela thread deste fragmento durante a época
+    void enviar(int destino, MensagemFragmento.Tipo tipo, TCB tcb, int valor) {
+        nucleo.getFragmento(destino).receber(nucleo.getEpoca() + 1,
+                new MensagemFragmento(tipo, indice, sequencia++, tcb, null, valor));
+    }
+
+    // Entra na caixa lida no começo da época informada
+    void receber(int epoca, MensagemFragmento mensagem) {
+        caixas.get(epoca & 1).enviar(mensagem);
+    }
+
+    boolean temMensagens(int epoca) {
+        return !caixas.get(epoca & 1).isEmpty();
+    }
+
+    int fragmentoDoMutex(int idMutex) { return nucleo.fragmentoDoMutex(idMutex); }
+    // Fragmento em que a tarefa está: o do núcleo em que ela rodou por último
+    int fragmentoDaTarefa(TCB tcb) { return nucleo.fragmentoDoNucleo(tcb.getNucleo()); }
+
+    int getIndice() { return indice; }
+    ContextoSimulacao getContexto() { return contexto; }
+    SistemaOperacional getSO() { return so; }
+    int getProximaAcao() { return proximaAcao; }
+    int getUltimoPasso() { return ultimoPasso; }
+    // Tarefas admitidas ou a admitir aqui que ainda não terminaram (nas filas, nas CPUs ou a chegar)
+    int getCarga() {
+        return so.getTarefasNasFilas() + so.getNumeroDeNucleos() - so.getNucleosOciosos() + admissoes.size();
+    }
+}
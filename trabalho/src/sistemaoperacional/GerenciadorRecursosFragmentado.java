@@ -0,0 +1,60 @@
+package sistemaoperacional;
+
+import modelo.TCB;
+import sistemaoperacional.nucleo.GerenciadorRecursos;
+
+// Mutexes repartidos entre os fragmentos do NucleoParalelo: o mutex de id M pertence ao fragmento
+// M mod (quantidade de fragmentos), que é o único a mexer no dono e na fila de espera dele.
+//  - mutex do próprio fragmento: igual ao GerenciadorRecursos de um SO comum;
+//  - mutex de outro fragmento: o pedido vai pela caixa postal e a tarefa fica BLOQUEADA até o dono
+//    do mutex responder com ACORDAR (pelo menos uma época depois); a liberação também vai pela caixa,
+//    sem bloquear quem libera;
+//  - quem ganha o mutex numa liberação é acordado no fragmento em que está (a passagem do mutex para
+//    uma tarefa de outro fragmento também é uma mensagem).
+class GerenciadorRecursosFragmentado extends GerenciadorRecursos {
+
+    private final Fragmento fragmento;
+
+    GerenciadorRecursosFragmentado(Fragmento fragmento) {
+        this.fragmento = fragmento;
+    }
+
+    @Override
+    public boolean solicitarMutex(int idMutex, TCB solicitante) {
+        int dono = fragmento.fragmentoDoMutex(idMutex);
+        if (dono == fragmento.getIndice()) return super.solicitarMutex(idMutex, solicitante);
+        fragmento.enviar(dono, MensagemFragmento.Tipo.SOLICITAR_MUTEX, solicitante, idMutex);
+        return false;
+    }
+
+    @Override
+    public TCB liberarMutex(int idMutex, TCB solicitante) {
+        int dono = fragmento.fragmentoDoMutex(idMutex);
+        if (dono != fragmento.getIndice()) {
+            fragmento.enviar(dono, MensagemFragmento.Tipo.LIBERAR_MUTEX, solicitante, idMutex);
+            return null;
+        }
+        return entregar(super.liberarMutex(idMutex, solicitante));
+    }
+
+    // Pedido vindo de outro fragmento para um mutex deste
+    void solicitacaoRemota(int idMutex, TCB solicitante) {
+        if (super.solicitarMutex(idMutex, solicitante)) {
+            fragmento.enviar(fragmento.fragmentoDaTarefa(solicitante), MensagemFragmento.Tipo.ACORDAR, solicitante, idMutex);
+        }
+    }
+
+    // Liberação vinda de outro fragmento; devolve quem acordar aqui (ou null)
+    TCB liberacaoRemota(int idMutex, TCB solicitante) {
+        return entregar(super.liberarMutex(idMutex, solicitante));
+    }
+
+    // O novo dono só é devolvido se estiver neste fragmento; senão é acordado por mensagem
+    private TCB entregar(TCB novoDono) {
+        if (novoDono == null) return null;
+        int destino = fragmento.fragmentoDaTarefa(novoDono);
+        if (destino == fragmento.getIndice()) return novoDono;
+        fragmento.enviar(destino, MensagemFragmento.Tipo.ACORDAR, novoDono, 0);
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package sistemaoperacional;
+
+import modelo.Tarefa;
+import modelo.TCB;
+
+import java.util.Comparator;
+
+// Mensagem entre fragmentos do NucleoParalelo (ou do coordenador para um fragmento), entregue pela
+// CaixaPostal do destino no início da época seguinte ao envio.
+// Quem lê ordena por (origem, sequência), então o resultado não depende da ordem em que as threads
+// enviaram: o coordenador (origem -1) vem primeiro e depois cada fragmento na ordem em que enviou.
+final class MensagemFragmento {
+
+    enum Tipo {
+        ADMITIR,          // Tarefa nova, admitida no tick de chegada dela (valor = ordem de admissão global)
+        MIGRAR,           // Tarefa pronta vinda de outro fragmento (já vinculada ao contexto do destino)
+        ACORDAR,          // Tarefa bloqueada no destino que ganhou o mutex que esperava
+        SOLICITAR_MUTEX,  // Para o fragmento dono do mutex (valor = id do mutex)
+        LIBERAR_MUTEX     // Idem
+    }
+
+    static final Comparator<MensagemFragmento> ORDEM =
+            Comparator.comparingInt((MensagemFragmento m) -> m.origem).thenComparingLong(m -> m.sequencia);
+
+    final Tipo tipo;
+    final int origem;        // Fragmento que enviou (-1 = coordenador)
+    final long sequencia;    // Ordem de envio dentro da origem
+    final TCB tcb;
+    final Tarefa tarefa;
+    final int valor;
+
+    MensagemFragmento(Tipo tipo, int origem, long sequencia, TCB tcb, Tarefa tarefa, int valor) {
+        this.tipo = tipo;
+        this.origem = origem;
+        this.sequencia = sequencia;
+        this.tcb = tcb;
+        this.tarefa = tarefa;
+        this.valor = valor;
+    }
+}
@@ -0,0 +1,348 @@
+package sistemaoperacional;
+
+import modelo.ContadoresEstado;
+import modelo.EstadoTarefa;
+import modelo.Tarefa;
+import modelo.TCB;
+import simulador.ContextoSimulacao;
+import simulador.Log;
+import sistemaoperacional.nucleo.FilaAdmissao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+// Simulação de uma máquina de muitos núcleos em várias threads.
+// As CPUs são repartidas em fragmentos (ver Fragmento), cada um com as tarefas que estão nas CPUs dele,
+// e o tempo é dividido em épocas de duracaoEpoca ticks:
+//  - durante a época, cada fragmento simula seus ticks sozinho, numa das threads, sem trava nenhuma;
+//  - na barreira do fim da época o coordenador (a ação da barreira, com todas as threads paradas)
+//    distribui as chegadas da próxima época pelos fragmentos menos carregados, migra tarefas prontas
+//    dos fragmentos sobrecarregados para os ociosos e decide em que tick a próxima época começa
+//    (pulando trechos em que nenhum fragmento tem nada a fazer);
+//  - tudo que cruza fragmentos (chegadas, migrações, pedidos/liberações de mutex e a passagem do
+//    mutex para quem esperava) vai por CaixaPostal, sem trava, e só é lido na época seguinte.
+// Mensagens são lidas em ordem fixa e o coordenador é sequencial, então o resultado depende da
+// quantidade de fragmentos e da duração da época, mas não da quantidade de threads nem do escalonamento
+// delas. Com um fragmento só, é exatamente a simulação do SistemaOperacional com todas as CPUs.
+// O que cruza fragmentos tem latência de uma época (com duracaoEpoca = 1, um tick): uma tarefa que pede
+// um mutex de outro fragmento fica bloqueada até a resposta, mesmo que ele esteja livre.
+// Não alimenta o Gantt (TransicoesEstado): é para execuções sem interface, como o ExecutorEstresse.
+public class NucleoParalelo {
+
+    private final ContextoSimulacao contexto;
+    private final FilaAdmissao tarefasParaCriar;
+    private final Fragmento[] fragmentos;
+    private final int[] fragmentoDoNucleo;
+    private final int duracaoEpoca;
+    private final int periodoBalanceamento;
+
+    // Estado do coordenador (só muda na ação da barreira, com as threads paradas)
+    private int epoca = 0;
+    private int inicioEpoca = 0;
+    private int fimEpoca = 0;
+    private int admitidas = 0;
+    private int ultimoBalanceamento = 0;
+    private long migracoesEntreFragmentos = 0;
+    private long sequenciaCoordenador = 0;
+    private boolean terminou = false;
+    private Throwable erro;
+
+    public NucleoParalelo(ContextoSimulacao contexto, Collection<Tarefa> tarefas, int quantidadeFragmentos, int duracaoEpoca) {
+        this(contexto, new FilaAdmissao(tarefas), quantidadeFragmentos, duracaoEpoca);
+    }
+
+    // Recebe as tarefas já ordenadas por chegada; elas são consumidas aos poucos, época a época
+    public NucleoParalelo(ContextoSimulacao contexto, Iterator<Tarefa> tarefasOrdenadas, int quantidadeFragmentos, int duracaoEpoca) {
+        this(contexto, new FilaAdmissao(tarefasOrdenadas), quantidadeFragmentos, duracaoEpoca);
+    }
+
+    private NucleoParalelo(ContextoSimulacao contexto, FilaAdmissao tarefasParaCriar, int quantidadeFragmentos, int duracaoEpoca) {
+        int nucleos = contexto.getNumeroDeNucleos();
+        if (quantidadeFragmentos < 1 || quantidadeFragmentos > nucleos) {
+            throw new IllegalArgumentException("Fragmentos devem ser entre 1 e " + nucleos + " (núcleos): " + quantidadeFragmentos);
+        }
+        if (duracaoEpoca < 1) throw new IllegalArgumentException("Duração da época inválida: " + duracaoEpoca);
+        if (contexto.getTransicoes() != null) {
+            throw new IllegalArgumentException("O núcleo paralelo não alimenta o Gantt; use o SistemaOperacional");
+        }
+        this.contexto = contexto;
+        this.tarefasParaCriar = tarefasParaCriar;
+        this.duracaoEpoca = duracaoEpoca;
+        this.periodoBalanceamento = contexto.getPeriodoBalanceamento();
+        this.fragmentos = new Fragmento[quantidadeFragmentos];
+        this.fragmentoDoNucleo = new int[nucleos];
+
+        // Fatias contíguas, de tamanhos que diferem no máximo em 1
+        for (int f = 0; f < quantidadeFragmentos; f++) {
+            int primeiro = (int) ((long) nucleos * f / quantidadeFragmentos);
+            int ultimo = (int) ((long) nucleos * (f + 1) / quantidadeFragmentos);
+            ContextoSimulacao parte = new ContextoSimulacao(contexto.getAlgoritmo(), contexto.getQuantum(),
+                    contexto.getAlpha(), ultimo - primeiro);
+            parte.setPrimeiroNucleo(primeiro);
+            parte.setPeriodoBalanceamento(periodoBalanceamento);
+            parte.setNiveisMLFQ(contexto.getNiveisMLFQ());
+            parte.setParametrosCFS(contexto.getParametrosCFS());
+            parte.setGuardarTCBs(contexto.isGuardarTCBs());
+            parte.setCustoTroca(contexto.getCustoTroca());
+            for (int n = primeiro; n < ultimo; n++) {
+                parte.setCustoTroca(n, contexto.getCustoTroca(n));
+                fragmentoDoNucleo[n] = f;
+            }
+            fragmentos[f] = new Fragmento(f, this, parte);
+        }
+        Log.info("Núcleo paralelo: {} núcleos em {} fragmentos | época de {} tick(s)", nucleos, quantidadeFragmentos, duracaoEpoca);
+    }
+
+    public void executar(int threads) {
+        executar(threads, null);
+    }
+
+    // Simula até todas as tarefas terminarem. A thread que chama é uma das "threads"; acompanhamento
+    // (se não for null) roda no fim de cada época, com as threads paradas
+    public void executar(int threads, Runnable acompanhamento) {
+        if (threads < 1) throw new IllegalArgumentException("Quantidade de threads inválida: " + threads);
+        if (terminou) return;
+        int quantidadeThreads = Math.min(threads, fragmentos.length);
+        prepararEpoca();
+
+        if (quantidadeThreads == 1) {
+            while (!terminou) {
+                executarFragmentos(0, 1);
+                fimDeEpoca(acompanhamento);
+            }
+        } else {
+            CyclicBarrier barreira = new CyclicBarrier(quantidadeThreads, () -> fimDeEpoca(acompanhamento));
+            List<Thread> trabalhadoras = new ArrayList<>();
+            for (int t = 1; t < quantidadeThreads; t++) {
+                int primeira = t;
+                Thread thread = new Thread(() -> laco(primeira, quantidadeThreads, barreira), "fragmentos-" + t);
+                thread.setDaemon(true);
+                trabalhadoras.add(thread);
+                thread.start();
+            }
+            laco(0, quantidadeThreads, barreira);
+            for (Thread thread : trabalhadoras) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrompido esperando as threads dos fragmentos", e);
+                }
+            }
+        }
+        if (erro != null) throw new IllegalStateException("Falha na simulação paralela: " + erro.getMessage(), erro);
+        consolidar();
+    }
+
+    // Cada thread fica com os fragmentos primeira, primeira + passo, ...
+    private void laco(int primeira, int passo, CyclicBarrier barreira) {
+        while (!terminou) {
+            executarFragmentos(primeira, passo);
+            try {
+                barreira.await();
+            } catch (InterruptedException | BrokenBarrierException e) {
+                // Só acontece se a ação da barreira falhar (ela mesma registra o erro) ou na interrupção
+                if (erro == null) erro = e;
+                return;
+            }
+        }
+    }
+
+    // Um erro num fragmento não pode deixar as outras threads presas na barreira: é registrado
+    // e a simulação termina no fim da época
+    private void executarFragmentos(int primeira, int passo) {
+        for (int f = primeira; f < fragmentos.length; f += passo) {
+            try {
+                fragmentos[f].executarEpoca(epoca, inicioEpoca, fimEpoca);
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    if (erro == null) erro = e;
+                }
+            }
+        }
+    }
+
+    // --- Coordenador ---
+
+    private void fimDeEpoca(Runnable acompanhamento) {
+        try {
+            if (erro != null) {
+                terminou = true;
+                return;
+            }
+            epoca++;
+            if (fragmentos.length > 1) balancear();
+            prepararEpoca();
+            if (acompanhamento != null) acompanhamento.run();
+        } catch (RuntimeException | Error e) {
+            erro = e;
+            terminou = true;
+        }
+    }
+
+    // Decide onde a próxima época começa e entrega as chegadas dela
+    private void prepararEpoca() {
+        boolean mensagens = false;
+        int proximo = tarefasParaCriar.isEmpty() ? Integer.MAX_VALUE : tarefasParaCriar.proximoInicio();
+        for (Fragmento f : fragmentos) {
+            mensagens |= f.temMensagens(epoca);
+            proximo = Math.min(proximo, f.getProximaAcao());
+        }
+
+        if (!mensagens && proximo == Integer.MAX_VALUE) {
+            if (tarefasParaCriar.isEmpty() && finalizadas() == admitidas) {
+                terminou = true;
+                return;
+            }
+            proximo = fimEpoca; // Nada agendado, mas há tarefas vivas (ex.: todas esperando mutex): segue época a época
+        }
+        // Mensagens são lidas no primeiro tick da época, então não dá para pular nada
+        inicioEpoca = mensagens ? fimEpoca : Math.max(fimEpoca, proximo);
+        fimEpoca = (int) Math.min(Integer.MAX_VALUE, (long) inicioEpoca + duracaoEpoca);
+        admitirChegadas();
+    }
+
+    // Cada tarefa que chega na época vai para o fragmento com menos tarefas por núcleo
+    private void admitirChegadas() {
+        if (tarefasParaCriar.isEmpty() || tarefasParaCriar.proximoInicio() >= fimEpoca) return;
+        long[] cargas = new long[fragmentos.length];
+        for (int f = 0; f < fragmentos.length; f++) cargas[f] = fragmentos[f].getCarga();
+        Tarefa tarefa;
+        while ((tarefa = tarefasParaCriar.retirarSeChegou(fimEpoca - 1)) != null) {
+            int destino = 0;
+            for (int f = 1; f < fragmentos.length; f++) {
+                if (cargas[f] * nucleos(destino) < cargas[destino] * nucleos(f)) destino = f;
+            }
+            cargas[destino]++;
+            fragmentos[destino].receber(epoca, new MensagemFragmento(MensagemFragmento.Tipo.ADMITIR, -1,
+                    sequenciaCoordenador++, null, tarefa, admitidas++));
+        }
+    }
+
+    // Migra tarefas prontas entre fragmentos: sempre que algum tem CPU ociosa sem nada na fila enquanto
+    // outro tem fila (roubo), e a cada periodoBalanceamento ticks para nivelar as tarefas por núcleo.
+    // As tarefas mudam de contexto aqui mesmo (todos os fragmentos parados no mesmo tick) e chegam
+    // ao destino pela caixa postal, no primeiro tick da época seguinte
+    private void balancear() {
+        boolean periodico = periodoBalanceamento > 0 && fimEpoca - ultimoBalanceamento >= periodoBalanceamento;
+        int[] filas = new int[fragmentos.length];
+        int[] ociosos = new int[fragmentos.length];
+        long carga = 0;
+        boolean ocioso = false;
+        boolean comFila = false;
+        for (int f = 0; f < fragmentos.length; f++) {
+            SistemaOperacional so = fragmentos[f].getSO();
+            filas[f] = so.getTarefasNasFilas();
+            ociosos[f] = so.getNucleosOciosos();
+            carga += filas[f] + so.getNumeroDeNucleos() - ociosos[f];
+            ocioso |= ociosos[f] > 0 && filas[f] == 0;
+            comFila |= filas[f] > 0;
+        }
+        if (!comFila || !(periodico || ocioso)) return;
+        if (periodico) ultimoBalanceamento = fimEpoca;
+
+        // Excesso de cada fragmento em relação à parte dele na carga total (proporcional aos núcleos)
+        int nucleosTotais = contexto.getNumeroDeNucleos();
+        double[] excesso = new double[fragmentos.length];
+        for (int f = 0; f < fragmentos.length; f++) {
+            SistemaOperacional so = fragmentos[f].getSO();
+            excesso[f] = filas[f] + so.getNumeroDeNucleos() - ociosos[f] - (double) carga * nucleos(f) / nucleosTotais;
+        }
+        while (true) {
+            int origem = -1;
+            int destino = 0;
+            for (int f = 0; f < fragmentos.length; f++) {
+                if (filas[f] > 0 && (origem < 0 || excesso[f] > excesso[origem])) origem = f;
+                if (excesso[f] < excesso[destino]) destino = f;
+            }
+            // Mover só se melhora: a diferença cai de d para |d - 2|
+            if (origem < 0 || excesso[origem] - excesso[destino] <= 1.0) break;
+
+            TCB tcb = fragmentos[origem].getSO().cederParaMigracao();
+            tcb.vincular(fragmentos[destino].getContexto());
+            fragmentos[destino].receber(epoca, new MensagemFragmento(MensagemFragmento.Tipo.MIGRAR, -1,
+                    sequenciaCoordenador++, tcb, null, 0));
+            filas[origem]--;
+            excesso[origem]--;
+            excesso[destino]++;
+            migracoesEntreFragmentos++;
+        }
+    }
+
+    private int nucleos(int fragmento) {
+        return fragmentos[fragmento].getSO().getNumeroDeNucleos();
+    }
+
+    private int finalizadas() {
+        int finalizadas = 0;
+        for (Fragmento f : fragmentos) finalizadas += f.getContexto().getContadores().get(EstadoTarefa.FINALIZADA);
+        return finalizadas;
+    }
+
+    // No fim, as métricas e contadores dos fragmentos são somados no contexto da simulação
+    private void consolidar() {
+        for (Fragmento f : fragmentos) {
+            contexto.getMetricas().somar(f.getContexto().getMetricas());
+            contexto.getContadores().somar(f.getContexto().getContadores());
+        }
+        contexto.getRelogio().avancarPara(getTickAtual());
+    }
+
+    // --- Usados pelos fragmentos ---
+
+    Fragmento getFragmento(int indice) { return fragmentos[indice]; }
+    int getEpoca() { return epoca; }
+    int fragmentoDoMutex(int idMutex) { return Math.floorMod(idMutex, fragmentos.length); }
+    int fragmentoDoNucleo(int nucleo) { return fragmentoDoNucleo[nucleo]; }
+
+    // --- Consultas (entre épocas ou no fim) ---
+
+    public boolean terminouTodasTarefas() { return terminou && erro == null; }
+
+    // Tick seguinte ao último em que algum fragmento agiu (como o relógio do SistemaOperacional no fim)
+    public int getTickAtual() {
+        int ultimo = -1;
+        for (Fragmento f : fragmentos) ultimo = Math.max(ultimo, f.getUltimoPasso());
+        return ultimo + 1;
+    }
+
+    public ContadoresEstado getContadoresEstado() {
+        ContadoresEstado soma = new ContadoresEstado();
+        for (Fragmento f : fragmentos) soma.somar(f.getContexto().getContadores());
+        return soma;
+    }
+
+    public long getTrocasDeContexto() {
+        long trocas = 0;
+        for (Fragmento f : fragmentos) trocas += f.getSO().getTrocasDeContexto();
+        return trocas;
+    }
+
+    // Migrações dentro de cada fragmento (ver FilasPorNucleo) e entre fragmentos
+    public long getMigracoes() {
+        long migracoes = migracoesEntreFragmentos;
+        for (Fragmento f : fragmentos) migracoes += f.getSO().getMigracoes();
+        return migracoes;
+    }
+
+    public long getMigracoesEntreFragmentos() { return migracoesEntreFragmentos; }
+
+    // TCBs de todos os fragmentos, na ordem de admissão (vazia se o contexto não guarda TCBs)
+    public List<TCB> getListaTCBs() {
+        List<TCB> tcbs = new ArrayList<>();
+        for (Fragmento f : fragmentos) tcbs.addAll(f.getContexto().getListaTCBs());
+        tcbs.sort(Comparator.comparingInt(TCB::getOrdemAdmissao));
+        return Collections.unmodifiableList(tcbs);
+    }
+
+    public int getNumeroDeNucleos() { return contexto.getNumeroDeNucleos(); }
+    public int getQuantidadeFragmentos() { return fragmentos.length; }
+    public int getDuracaoEpoca() { return duracaoEpoca; }
+    public ContextoSimulacao getContexto() { return contexto; }
+}
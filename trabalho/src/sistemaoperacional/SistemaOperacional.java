@@ -2,61 +2,125 @@ package sistemaoperacional;
 
 import hardware.CPU;
 import hardware.Processador;
+import modelo.ContadoresEstado;
 import modelo.Evento;
 import modelo.Tarefa;
 import modelo.TCB;
 import modelo.EstadoTarefa;
+import modelo.SerieTemporal;
 import modelo.TipoEvento;
+import simulador.ContextoSimulacao;
 import simulador.Relogio;
 import sistemaoperacional.nucleo.AlgoritmosEscalonamento;
 import sistemaoperacional.nucleo.Escalonador;
+import sistemaoperacional.nucleo.FilaAdmissao;
+import sistemaoperacional.nucleo.FilaProntos;
+import sistemaoperacional.nucleo.FilasPorNucleo;
+import sistemaoperacional.nucleo.NiveisMLFQ;
 import sistemaoperacional.nucleo.CausaEscalonamento;
 import sistemaoperacional.nucleo.GerenciadorRecursos; // Importe o novo gerenciador
-import ui.Terminal;
+import simulador.Log;
+import simulador.NivelLog;
 
 import java.util.ArrayList;
-import java.util.Queue;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Collections;
+import java.util.List;
 
 public class SistemaOperacional {
 
-    private String algoritmoEscalonador = "";
+    private final ContextoSimulacao contexto;
     private int quantum = 0;
     private int alpha = 0;
-    private ArrayList<Tarefa> tarefasParaCriar;
+    private FilaAdmissao tarefasParaCriar;
     private Escalonador escalonador;
     private Processador processador;
     private Relogio relogio;
-    private Queue<TCB> listaTCBs;
-    private Queue<TCB> listaProntos;
+    private List<TCB> listaTCBs;
+    private ContadoresEstado contadores;
+    private FilasPorNucleo filasProntos;   // Uma fila de prontos por núcleo
     private boolean houveInsercaoDeTarefas = false;
+    private final int periodoBalanceamento;
+    private final NiveisMLFQ niveis;       // Só na MLFQ (null nos outros algoritmos)
+    private final boolean cfs;
+    private final boolean edf;             // Sem quantum: a tarefa roda até terminar, bloquear ou perder a vez por prazo
+    // CFS: menor min-vruntime entre os núcleos com carga, a cada tick processado (null nos outros algoritmos)
+    private final SerieTemporal serieMinVruntime;
+    private long trocasDeContexto = 0;
+    // Tarefas bloqueadas por I/O, ordenadas pelo tick em que acordam (desempate: ordem de admissão)
+    private final PriorityQueue<TCB> despertaresIO = new PriorityQueue<>(
+            Comparator.comparingInt(TCB::getTickFimBloqueioIO).thenComparingInt(TCB::getOrdemAdmissao));
 
     // NOVO: Gerenciador de Recursos
     private GerenciadorRecursos gerenciadorRecursos;
 
-    public SistemaOperacional(ArrayList<Tarefa> tarefasParaCriar, String algoritmoEscalonador, int quantum, int alpha, int numeroDeNucleos) {
+    public SistemaOperacional(ContextoSimulacao contexto, Collection<Tarefa> tarefasParaCriar) {
+        this(contexto, new FilaAdmissao(tarefasParaCriar));
+    }
+
+    // Recebe as tarefas já ordenadas por chegada; elas são consumidas aos poucos, sem carregar tudo antes
+    public SistemaOperacional(ContextoSimulacao contexto, Iterator<Tarefa> tarefasOrdenadas) {
+        this(contexto, new FilaAdmissao(tarefasOrdenadas));
+    }
+
+    private SistemaOperacional(ContextoSimulacao contexto, FilaAdmissao tarefasParaCriar) {
+        this(contexto, tarefasParaCriar, new GerenciadorRecursos());
+    }
+
+    // Usado pelos fragmentos do NucleoParalelo, que recebem as tarefas pela caixa postal e
+    // repartem os mutexes entre si (ver GerenciadorRecursosFragmentado)
+    SistemaOperacional(ContextoSimulacao contexto, FilaAdmissao tarefasParaCriar, GerenciadorRecursos gerenciadorRecursos) {
+        this.contexto = contexto;
         this.tarefasParaCriar = tarefasParaCriar;
-        this.algoritmoEscalonador = algoritmoEscalonador;
-        this.quantum = quantum;
-        this.alpha = alpha;
-        this.escalonador = new Escalonador(algoritmoEscalonador, quantum);
-        this.processador = new Processador(numeroDeNucleos);
-        this.listaTCBs = new LinkedList<>();
-        this.listaProntos = new LinkedList<>();
-        this.relogio = Relogio.getInstancia();
-
-        // Inicializa o Gerenciador
-        this.gerenciadorRecursos = new GerenciadorRecursos();
-
-        Terminal.println("SO configurado: " + algoritmoEscalonador + " | Q: " + quantum + " | Alpha: " + alpha);
+        this.quantum = contexto.getQuantum();
+        this.alpha = contexto.getAlpha();
+        this.escalonador = new Escalonador(contexto.getAlgoritmo(), quantum, contexto.getNiveisMLFQ(), contexto.getParametrosCFS());
+        this.niveis = escalonador.getAlgoritmoEscolhido() == AlgoritmosEscalonamento.MLFQ ? escalonador.getNiveis() : null;
+        this.cfs = escalonador.getAlgoritmoEscolhido() == AlgoritmosEscalonamento.CFS;
+        this.edf = escalonador.getAlgoritmoEscolhido() == AlgoritmosEscalonamento.EDF;
+        this.serieMinVruntime = cfs ? new SerieTemporal() : null;
+        AlgoritmosEscalonamento algoritmo = escalonador.getAlgoritmoEscolhido();
+        if (algoritmo == AlgoritmosEscalonamento.STRIDE || algoritmo == AlgoritmosEscalonamento.LOTERIA) {
+            contexto.getMetricas().medirParticipacao(); // Desvio entre a CPU recebida e a proporção dos bilhetes
+        }
+        this.processador = new Processador(contexto.getPrimeiroNucleo(), contexto.getNumeroDeNucleos());
+        this.listaTCBs = contexto.getListaTCBs();
+        this.contadores = contexto.getContadores();
+        this.relogio = contexto.getRelogio();
+        List<CPU> nucleos = processador.getNucleos();
+        this.filasProntos = new FilasPorNucleo(escalonador, alpha, nucleos);
+        this.periodoBalanceamento = contexto.getPeriodoBalanceamento();
+        for (CPU cpu : nucleos) {
+            cpu.setCustoTroca(contexto.getCustoTroca(cpu.getIndice()));
+        }
+
+        this.gerenciadorRecursos = gerenciadorRecursos;
+
+        Log.info("SO configurado: {} | Q: {} | Alpha: {}", contexto.getAlgoritmo(), quantum, alpha);
+    }
+
+    // Construtores auxiliares mantidos: cada um cria um contexto novo, com relógio próprio
+    public SistemaOperacional(ArrayList<Tarefa> tarefasParaCriar, String algoritmoEscalonador, int quantum, int alpha, int numeroDeNucleos) {
+        this(new ContextoSimulacao(algoritmoEscalonador, quantum, alpha, numeroDeNucleos), tarefasParaCriar);
     }
 
-    // Construtor auxiliar mantido
     public SistemaOperacional(ArrayList<Tarefa> tarefasParaCriar, String algoritmoEscalonador, int quantum, int numeroDeNucleos) {
         this(tarefasParaCriar, algoritmoEscalonador, quantum, 0, numeroDeNucleos);
     }
 
     public void execTick() {
+        prepararTick();
+
+        // 4. Hardware: Roda o ciclo de clock na CPU (se tiver alguém lá)
+        processador.executarProcessos();
+    }
+
+    // Fases 1 a 3 do execTick. A interface chama esta e depois executarProcessos, para desenhar o Gantt
+    // entre as duas; qualquer outra ordem das fases dá outro escalonamento para o mesmo arquivo
+    public void prepararTick() {
         // 1. Admitir novas tarefas
         criarTarefas();
 
@@ -67,32 +131,30 @@ public class SistemaOperacional {
         // 3. Gerenciador de Eventos: Verifica eventos da tarefa que ACABOU de ser escalonada
         // Isso garante que eventos no tempo 0 (logo que entra) sejam processados
         gerenciarEventosEBloqueios();
+    }
 
-        // 4. Hardware: Roda o ciclo de clock na CPU (se tiver alguém lá)
-        processador.executarProcessos();
+    private boolean usaEnvelhecimento() {
+        return escalonador.getAlgoritmoEscolhido() == AlgoritmosEscalonamento.PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO && alpha > 0;
     }
 
-    private void aplicarEnvelhecimento() {
-        if (escalonador.getAlgoritmoEscolhido() == AlgoritmosEscalonamento.PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO && alpha > 0) {
-            for (TCB tcb : listaProntos) {
-                tcb.envelhecer(alpha);
-            }
+    // O(1): só avança a época global da fila (ver FilaProntos)
+    private void aplicarEnvelhecimento(int ticks) {
+        if (usaEnvelhecimento()) {
+            filasProntos.envelhecer(ticks);
         }
     }
 
     public void gerenciarEventosEBloqueios() {
         // --- PARTE 1: Desbloqueio de I/O ---
-        for (TCB tcb : listaTCBs) {
-            if (tcb.getEstadoTarefa() == EstadoTarefa.BLOQUEADA) {
-                if (!tcb.acabouTempoBloqueio()) {
-                    tcb.decrementarTempoBloqueio();
-                    if (tcb.acabouTempoBloqueio()) {
-                        tcb.desbloquear();
-                        listaProntos.add(tcb);
-                        Terminal.println("DEBUG: Tarefa " + tcb.getTarefa().getId() + " ACORDOU do I/O.");
-                    }
-                }
-            }
+        // Só toca nas tarefas cujo I/O termina agora (topo do heap de despertares)
+        int agora = relogio.getTickAtual();
+        // As mensagens por tarefa e por tick são DEBUG; desligado, nenhum argumento é montado
+        boolean depurar = Log.habilitado(NivelLog.DEBUG);
+        while (!despertaresIO.isEmpty() && despertaresIO.peek().getTickFimBloqueioIO() <= agora) {
+            TCB tcb = despertaresIO.poll();
+            tcb.desbloquear();
+            filasProntos.acordar(tcb); // No núcleo em que rodou por último
+            if (depurar) Log.debug("Tarefa {} ACORDOU do I/O.", tcb.getTarefa().getId());
         }
 
         // --- PARTE 2: Disparo de Eventos ---
@@ -101,30 +163,40 @@ public class SistemaOperacional {
 
             // DEBUG 1: Quem está na CPU?
             if (tarefaExecutando == null) {
-                Terminal.println("DEBUG: CPU Ociosa neste tick.");
+                if (depurar) Log.debug("CPU Ociosa neste tick.");
             } else {
-                Terminal.println("DEBUG: CPU tem " + tarefaExecutando.getTarefa().getId() +
-                        " | Estado: " + tarefaExecutando.getEstadoTarefa() +
-                        " | TempoExec: " + tarefaExecutando.getTempoExecutado());
+                if (depurar) Log.debug("CPU tem {} | Estado: {} | TempoExec: {}", tarefaExecutando.getTarefa().getId(),
+                        tarefaExecutando.getEstadoTarefa(), tarefaExecutando.getTempoExecutado());
 
                 // Se a tarefa não estiver EXECUTANDO, algo está errado com o estado
                 if (tarefaExecutando.getEstadoTarefa() == EstadoTarefa.EXECUTANDO) {
                     Evento evento = tarefaExecutando.verificarEventoAtual();
 
                     // DEBUG 2: Achou evento?
-                    if (evento != null) {
-                        Terminal.println("DEBUG: !!! EVENTO ENCONTRADO: " + evento);
-                        processarEvento(cpu, tarefaExecutando, evento);
-                    } else {
-                        Terminal.println("DEBUG: Nenhum evento para agora.");
+                    if (evento == null && depurar) {
+                        Log.debug("Nenhum evento para agora.");
+                    }
+
+                    // Vários eventos podem estar devidos; para se a tarefa bloquear
+                    // (os restantes disparam quando ela voltar à CPU, antes de executar mais nada)
+                    while (evento != null) {
+                        if (depurar) Log.debug("!!! EVENTO ENCONTRADO: {}", evento);
+                        processarEvento(cpu, tarefaExecutando, evento, depurar);
+                        if (tarefaExecutando.getEstadoTarefa() != EstadoTarefa.EXECUTANDO) break;
+                        evento = tarefaExecutando.verificarEventoAtual();
                     }
                 }
             }
         }
+
+        if (serieMinVruntime != null) {
+            long min = filasProntos.minVruntime();
+            if (min >= 0) serieMinVruntime.registrar(agora, min);
+        }
     }
 
-    private void processarEvento(CPU cpu, TCB tarefa, Evento evento) {
-        Terminal.println("Evento disparado: " + evento + " na tarefa " + tarefa.getTarefa().getId());
+    private void processarEvento(CPU cpu, TCB tarefa, Evento evento, boolean depurar) {
+        if (depurar) Log.debug("Evento disparado: {} na tarefa {}", evento, tarefa.getTarefa().getId());
 
         switch (evento.getTipo()) {
             case IO:
@@ -132,8 +204,9 @@ public class SistemaOperacional {
                 tarefa.sairDoProcessador(); // Sai da CPU
                 cpu.finalizarProcesso();    // CPU fica ociosa
                 tarefa.bloquearPorIO(evento.getDuracao()); // Define tempo e estado BLOQUEADA
-                // Não adiciona na listaProntos (está bloqueada)
-                Terminal.println("Tarefa " + tarefa.getTarefa().getId() + " bloqueada por I/O (" + evento.getDuracao() + " ticks)");
+                despertaresIO.add(tarefa);
+                // Não adiciona na fila de prontos (está bloqueada)
+                if (depurar) Log.debug("Tarefa {} bloqueada por I/O ({} ticks)", tarefa.getTarefa().getId(), evento.getDuracao());
                 break;
 
             case MUTEX_SOLICITACAO:
@@ -142,20 +215,20 @@ public class SistemaOperacional {
                     tarefa.sairDoProcessador();
                     cpu.finalizarProcesso();
                     tarefa.bloquearPorMutex(); // Estado BLOQUEADA (sem tempo definido)
-                    Terminal.println("Tarefa " + tarefa.getTarefa().getId() + " bloqueada aguardando Mutex " + evento.getIdRecurso());
-                } else {
-                    Terminal.println("Tarefa " + tarefa.getTarefa().getId() + " adquiriu Mutex " + evento.getIdRecurso());
+                    if (depurar) Log.debug("Tarefa {} bloqueada aguardando Mutex {}", tarefa.getTarefa().getId(), evento.getIdRecurso());
+                } else if (depurar) {
+                    Log.debug("Tarefa {} adquiriu Mutex {}", tarefa.getTarefa().getId(), evento.getIdRecurso());
                 }
                 break;
 
             case MUTEX_LIBERACAO:
                 TCB desbloqueada = gerenciadorRecursos.liberarMutex(evento.getIdRecurso(), tarefa);
-                Terminal.println("Tarefa " + tarefa.getTarefa().getId() + " liberou Mutex " + evento.getIdRecurso());
+                if (depurar) Log.debug("Tarefa {} liberou Mutex {}", tarefa.getTarefa().getId(), evento.getIdRecurso());
 
                 if (desbloqueada != null) {
                     desbloqueada.desbloquear(); // Muda estado para PRONTA
-                    listaProntos.add(desbloqueada); // Volta para o escalonador
-                    Terminal.println("Tarefa " + desbloqueada.getTarefa().getId() + " foi desbloqueada (ganhou o Mutex).");
+                    filasProntos.acordar(desbloqueada); // Volta para o escalonador
+                    if (depurar) Log.debug("Tarefa {} foi desbloqueada (ganhou o Mutex).", desbloqueada.getTarefa().getId());
 
                     // Opcional: Se a política for preempção imediata ao liberar recurso, poderia chamar o escalonador aqui.
                     // Por padrão, seguimos o fluxo normal (tick termina, escalonador decide na próxima etapa).
@@ -166,27 +239,65 @@ public class SistemaOperacional {
 
     public void criarTarefas() {
         this.houveInsercaoDeTarefas = false;
-        ArrayList<Tarefa> tarefasRemovidas = new ArrayList<>();
-        for (Tarefa tarefa : tarefasParaCriar) {
-            if (tarefa.getInicio() == relogio.getTickAtual()) {
-                TCB novoTCB = new TCB(tarefa);
-                listaTCBs.add(novoTCB);
-                listaProntos.add(novoTCB);
-                tarefasRemovidas.add(tarefa);
-            }
+        int criadas = 0;
+        Tarefa tarefa;
+        while ((tarefa = tarefasParaCriar.retirarSeChegou(relogio.getTickAtual())) != null) {
+            // Todo TCB criado entra nos contadores, então o total é a ordem de admissão
+            admitir(tarefa, contadores.total());
+            criadas++;
         }
-        tarefasParaCriar.removeAll(tarefasRemovidas);
-        if (!tarefasRemovidas.isEmpty()) {
-            this.houveInsercaoDeTarefas = true;
-            Terminal.println("Tarefas criadas: " + tarefasRemovidas.size());
+        if (criadas > 0) {
+            Log.debug("Tarefas criadas: {}", criadas);
         }
     }
 
+    // Cria o TCB e o coloca na fila do núcleo menos carregado. Os fragmentos do NucleoParalelo
+    // admitem por aqui as tarefas que o coordenador distribui, com a ordem de admissão global
+    void admitir(Tarefa tarefa, int ordemAdmissao) {
+        TCB novoTCB = new TCB(tarefa, ordemAdmissao, contexto);
+        if (contexto.isGuardarTCBs()) listaTCBs.add(novoTCB);
+        filasProntos.adicionar(novoTCB);
+        this.houveInsercaoDeTarefas = true;
+    }
+
+    // --- Usados pelo NucleoParalelo (migração e mutexes entre fragmentos) ---
+
+    // Tarefa vinda de outro fragmento; como uma chegada, pode preemptar no núcleo que a recebe
+    void receberMigrada(TCB tcb) {
+        filasProntos.receberMigrada(tcb);
+        this.houveInsercaoDeTarefas = true;
+    }
+
+    // Tarefa pronta a ceder para outro fragmento (null se as filas estão vazias)
+    TCB cederParaMigracao() {
+        return filasProntos.extrairParaMigracao();
+    }
+
+    // Tarefa que ganhou um mutex liberado em outro fragmento: volta para o escalonador,
+    // como em processarEvento quando o mutex é local
+    void acordarPorMutex(TCB tcb) {
+        tcb.desbloquear();
+        filasProntos.acordar(tcb);
+    }
+
+    int getTarefasNasFilas() { return filasProntos.total(); }
+    int getNucleosOciosos() { return filasProntos.nucleosOciosos(); }
+
     public void verificarTarefasProcessandoEEscalonar(){
-        aplicarEnvelhecimento();
+        aplicarEnvelhecimento(1);
+
+        // Boost da MLFQ: as filas juntam os níveis no 0; as tarefas fora delas voltam ao 0 sozinhas (TCB.getNivel)
+        if (niveis != null && niveis.ehTickDeBoost(relogio.getTickAtual())) {
+            filasProntos.boost();
+        }
+
+        // Balanceamento periódico das filas dos núcleos; quem foi migrado pode preemptar no destino
+        boolean houveMigracao = periodoBalanceamento > 0 && relogio.getTickAtual() % periodoBalanceamento == 0
+                && filasProntos.balancear() > 0;
 
         for (CPU cpu : processador.getNucleos()) {
             TCB tarefaAtual = cpu.getTarefaAtual();
+            FilaProntos fila = filasProntos.get(cpu.getIndice());
 
             // SE A CPU ESTIVER OCUPADA, MAS A TAREFA ESTIVER BLOQUEADA (SAIU POR EVENTO),
             // Precisamos garantir que o escalonador saiba que a vaga abriu.
@@ -196,32 +307,65 @@ public class SistemaOperacional {
             // Re-pega a tarefa atual caso tenha mudado no `processarEvento`
             tarefaAtual = cpu.getTarefaAtual();
 
-            CausaEscalonamento causa = null;
-
-            if (tarefaAtual == null) {
-                causa = CausaEscalonamento.CPU_OCIOSA;
-            } else if (tarefaAtual.getEstadoTarefa() == EstadoTarefa.FINALIZADA) {
-                causa = CausaEscalonamento.TAREFA_FINALIZADA;
-            } else if (quantum > 0 && (relogio.getTickAtual() - tarefaAtual.getInicioFatiaAtual()) >= quantum) {
-                causa = CausaEscalonamento.QUANTUM_EXPIRADO;
-            } else if (houveInsercaoDeTarefas) {
-                causa = CausaEscalonamento.NOVA_TAREFA;
-            } else if (alpha > 0 && escalonador.getAlgoritmoEscolhido() == AlgoritmosEscalonamento.PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO) {
-                causa = CausaEscalonamento.ENVELHECIMENTO;
+            // O despacho não é interrompido: a tarefa só começa a rodar (e pode ser trocada)
+            // depois de pagar a sobrecarga. O que chegou nesse meio tempo é avaliado agora
+            boolean fimDespacho = false;
+            if (tarefaAtual != null && tarefaAtual.getEstadoTarefa() == EstadoTarefa.DESPACHANDO) {
+                if (cpu.getSobrecargaRestante() > 0) continue;
+                tarefaAtual.entrarNoProcessador();
+                // Com envelhecimento a fila envelheceu durante a sobrecarga e a tarefa acabou de voltar à
+                // prioridade base: comparada agora, perderia a CPU sem executar nada, e a seguinte também
+                // (livelock). Roda pelo menos este tick; a decisão de todo tick volta no próximo
+                if (usaEnvelhecimento()) continue;
+                fimDespacho = true;
             }
 
+            CausaEscalonamento causa = determinarCausa(tarefaAtual, relogio.getTickAtual(),
+                    houveInsercaoDeTarefas || houveMigracao || (fimDespacho && !fila.isEmpty()));
+
             if (causa == null) continue;
 
             // Se a CPU está ociosa (pq a tarefa bloqueou), o escalonador DEVE rodar para encher a vaga
             boolean deveEscalonar = (causa == CausaEscalonamento.CPU_OCIOSA) ||
-                    escalonador.deveTrocarContexto(tarefaAtual, listaProntos, causa);
+                    escalonador.deveTrocarContexto(tarefaAtual, fila, causa);
 
             if (deveEscalonar) {
+                // MLFQ: quem sai por esgotar o quantum desce um nível antes de voltar à fila
+                if (niveis != null && causa == CausaEscalonamento.QUANTUM_EXPIRADO) {
+                    tarefaAtual.rebaixarNivel(niveis.quantidade() - 1, niveis.proximoBoost(relogio.getTickAtual()));
+                }
                 realizarTrocaDeContexto(cpu, tarefaAtual);
             }
         }
     }
 
+    private CausaEscalonamento determinarCausa(TCB tarefaAtual, int tick, boolean houveInsercao) {
+        if (tarefaAtual == null) {
+            return CausaEscalonamento.CPU_OCIOSA;
+        } else if (tarefaAtual.getEstadoTarefa() == EstadoTarefa.FINALIZADA) {
+            return CausaEscalonamento.TAREFA_FINALIZADA;
+        } else if (expirouQuantum(tarefaAtual, tick)) {
+            return CausaEscalonamento.QUANTUM_EXPIRADO;
+        } else if (houveInsercao) {
+            return CausaEscalonamento.NOVA_TAREFA;
+        } else if (alpha > 0 && escalonador.getAlgoritmoEscolhido() == AlgoritmosEscalonamento.PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO) {
+            return CausaEscalonamento.ENVELHECIMENTO;
+        }
+        return null;
+    }
+
+    // Na MLFQ o quantum é o do nível da tarefa; no CFS, a fatia que ela recebeu ao sair da fila; EDF não tem
+    private int quantumDe(TCB tarefa) {
+        if (cfs) return tarefa.getFatia();
+        if (edf) return 0;
+        return niveis != null ? niveis.getQuantum(tarefa.getNivel()) : quantum;
+    }
+
+    private boolean expirouQuantum(TCB tarefa, int tick) {
+        int q = quantumDe(tarefa);
+        return q > 0 && (tick - tarefa.getInicioFatiaAtual()) >= q;
+    }
+
     private void realizarTrocaDeContexto(CPU cpu, TCB tarefaAtual) {
         if (tarefaAtual != null) {
             tarefaAtual.sairDoProcessador();
@@ -230,28 +374,167 @@ public class SistemaOperacional {
             // SÓ devolve pra fila de prontos se NÃO estiver Finalizada E NÃO estiver Bloqueada
             if (tarefaAtual.getEstadoTarefa() != EstadoTarefa.FINALIZADA &&
                     tarefaAtual.getEstadoTarefa() != EstadoTarefa.BLOQUEADA) {
-                listaProntos.add(tarefaAtual);
+                filasProntos.adicionar(tarefaAtual);
             }
         }
 
-        TCB proximaTarefa = escalonador.escolherProximaTarefa(listaProntos);
+        // A fila deste núcleo já está na ordem do algoritmo; vazia, rouba de outro núcleo
+        TCB proximaTarefa = filasProntos.extrair(cpu.getIndice());
 
         if (proximaTarefa != null) {
+            // Só conta como troca se a CPU passa a rodar uma tarefa diferente da anterior
+            if (proximaTarefa != tarefaAtual) trocasDeContexto++;
+            // Devolver a CPU para quem acabou de sair dela não custa nada (ver CustoTroca)
+            int sobrecarga = (proximaTarefa == tarefaAtual) ? 0 : cpu.custoDespacho(proximaTarefa);
             cpu.novoProcesso(proximaTarefa);
-            proximaTarefa.entrarNoProcessador();
+            if (sobrecarga > 0) {
+                cpu.iniciarSobrecarga(sobrecarga);
+                proximaTarefa.iniciarDespacho();
+            } else {
+                proximaTarefa.entrarNoProcessador();
+            }
         }
     }
 
     public void executarProcessos(){ processador.executarProcessos(); }
 
+    // --- Modo orientado a eventos ---
+    // Chamado no lugar de relogio.tick() depois que o tick atual foi executado por completo.
+    // Calcula o próximo tick em que algo pode mudar (chegada, fim de tarefa, evento da tarefa,
+    // fim de quantum, fim de I/O, fim da sobrecarga de despacho, balanceamento), aplica em lote
+    // os ticks vazios do meio e posiciona o relógio nele.
+    // O resultado (Gantt/TCBs) é o mesmo do laço tick a tick. Retorna quantos ticks o relógio andou.
+    public int avancarAteProximoEvento() {
+        int agora = relogio.getTickAtual();
+        int proximo = calcularProximoTickRelevante();
+        saltarPara(proximo, proximo - agora - 1);
+        return proximo - agora;
+    }
+
+    // Aplica em lote ticksVazios ticks sem decisão do escalonador e posiciona o relógio em tick
+    void saltarPara(int tick, int ticksVazios) {
+        if (ticksVazios > 0) {
+            aplicarEnvelhecimento(ticksVazios);
+            processador.executarProcessos(ticksVazios);
+        }
+        relogio.avancarPara(tick);
+    }
+
+    private int calcularProximoTickRelevante() {
+        int proximo = proximoTickAgendado();
+        // Sem nada agendado (ex.: todas bloqueadas por mutex) segue tick a tick, como o laço original
+        return proximo == Integer.MAX_VALUE ? relogio.getTickAtual() + 1 : proximo;
+    }
+
+    // Próximo tick em que algo muda neste SO, ou Integer.MAX_VALUE se nada está agendado
+    // (um fragmento do NucleoParalelo sem nada agendado só volta a agir se receber mensagens)
+    int proximoTickAgendado() {
+        int agora = relogio.getTickAtual();
+        int proximo = Integer.MAX_VALUE;
+
+        // Próxima chegada
+        if (!tarefasParaCriar.isEmpty()) {
+            proximo = Math.min(proximo, tarefasParaCriar.proximoInicio());
+        }
+
+        // Fim de I/O mais próximo
+        if (!despertaresIO.isEmpty()) {
+            proximo = Math.min(proximo, despertaresIO.peek().getTickFimBloqueioIO());
+        }
+
+        // Próximo balanceamento, se houver o que mover
+        if (periodoBalanceamento > 0 && filasProntos.quantidadeNucleos() > 1 && !filasProntos.isEmpty()) {
+            proximo = Math.min(proximo, (agora / periodoBalanceamento + 1) * periodoBalanceamento);
+        }
+
+        // Próximo boost da MLFQ, se houver fila para reordenar
+        if (niveis != null && !filasProntos.isEmpty()) {
+            proximo = Math.min(proximo, niveis.proximoBoost(agora));
+        }
+
+        boolean envelhecimento = usaEnvelhecimento();
+
+        for (CPU cpu : processador.getNucleos()) {
+            TCB tarefaAtual = cpu.getTarefaAtual();
+            FilaProntos fila = filasProntos.get(cpu.getIndice());
+
+            if (tarefaAtual == null) {
+                // CPU ociosa com alguém pronto (em qualquer fila, pelo roubo): o escalonador age já no próximo tick
+                if (!filasProntos.isEmpty()) return agora + 1;
+                continue;
+            }
+
+            if (tarefaAtual.getEstadoTarefa() == EstadoTarefa.DESPACHANDO) {
+                // Nada muda nesta CPU até a tarefa começar a rodar, no tick seguinte ao fim da sobrecarga
+                proximo = Math.min(proximo, agora + cpu.getSobrecargaRestante() + 1);
+                continue;
+            }
+
+            if (tarefaAtual.getEstadoTarefa() != EstadoTarefa.EXECUTANDO) {
+                return agora + 1;
+            }
+
+            if (envelhecimento) {
+                // Com envelhecimento a decisão é tomada todo tick: troca quando o topo da fila,
+                // que ganha alpha por tick, passar a prioridade da tarefa atual
+                TCB topo = fila.espiar();
+                if (topo != null) {
+                    int diferenca = tarefaAtual.getPrioridadeDinamica() - fila.prioridadeEfetiva(topo);
+                    int ticksAteUltrapassar = (diferenca < 0) ? 1 : diferenca / alpha + 1;
+                    proximo = Math.min(proximo, agora + ticksAteUltrapassar);
+                }
+            } else {
+                // Simula a decisão do próximo tick: se já haveria troca, não dá para pular nada
+                CausaEscalonamento causa = determinarCausa(tarefaAtual, agora + 1, false);
+                if (causa != null && escalonador.deveTrocarContexto(tarefaAtual, fila, causa)) {
+                    return agora + 1;
+                }
+            }
+
+            // Tick em que a tarefa executa sua última unidade
+            proximo = Math.min(proximo, agora + tarefaAtual.getRestante());
+
+            int quantumAtual = quantumDe(tarefaAtual);
+            if (quantumAtual > 0) {
+                int fimFatia = tarefaAtual.getInicioFatiaAtual() + quantumAtual;
+                if (fimFatia > agora) proximo = Math.min(proximo, fimFatia);
+            }
+
+            int proximoEvento = tarefaAtual.getProximoTempoEvento();
+            if (proximoEvento >= 0) {
+                proximo = Math.min(proximo, agora + 1 + proximoEvento - tarefaAtual.getTempoExecutado());
+            }
+        }
+
+        if (proximo == Integer.MAX_VALUE) return proximo;
+        return Math.max(proximo, agora + 1);
+    }
+
+    // O(1): usa os contadores por estado em vez de percorrer os TCBs
     public boolean terminouTodasTarefas() {
-        if (!tarefasParaCriar.isEmpty()) return false;
-        for (TCB tcb : listaTCBs) {
-            if (tcb.getEstadoTarefa() != EstadoTarefa.FINALIZADA) return false;
+        return tarefasParaCriar.isEmpty() && contadores.get(EstadoTarefa.FINALIZADA) == contadores.total();
+    }
+
+    // Retrato dos contadores por estado (cópia barata, não muda com a simulação)
+    public ContadoresEstado getContadoresEstado() { return contadores.copia(); }
+
+    // Para tarefas prontas a prioridade dinâmica depende do envelhecimento acumulado na fila
+    // (igual em todas as filas dos núcleos, ver FilasPorNucleo)
+    public int getPrioridadeDinamica(TCB tcb) {
+        if (tcb.getEstadoTarefa() == EstadoTarefa.PRONTA) {
+            return filasProntos.get(contexto.getPrimeiroNucleo()).prioridadeEfetiva(tcb);
         }
-        return true;
+        return tcb.getPrioridadeDinamica();
     }
 
-    public ArrayList<TCB> getListaTCBs() { return new ArrayList<>(listaTCBs); }
+    // Visão somente leitura, sem copiar a lista a cada consulta
+    public List<TCB> getListaTCBs() { return Collections.unmodifiableList(listaTCBs); }
     public int getTickAtual() { return relogio.getTickAtual(); }
+    public ContextoSimulacao getContexto() { return contexto; }
+    public long getTrocasDeContexto() { return trocasDeContexto; }
+    // Tarefas movidas entre as filas dos núcleos (roubo por núcleo ocioso e balanceamento)
+    public long getMigracoes() { return filasProntos.getMigracoes(); }
+    public int getNumeroDeNucleos() { return processador.getNucleos().size(); }
+    // Evolução do min-vruntime no CFS (null nos outros algoritmos)
+    public SerieTemporal getSerieMinVruntime() { return serieMinVruntime; }
 }
\ No newline at end of file
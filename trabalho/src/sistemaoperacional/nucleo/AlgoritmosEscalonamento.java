@@ -4,5 +4,10 @@ public enum AlgoritmosEscalonamento {
     RR,
     SRTF,
     PRIORIDADE_PREEMPTIVO,
-    PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO
+    PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO,
+    MLFQ,
+    CFS,
+    EDF,
+    STRIDE,
+    LOTERIA
 }
\ No newline at end of file
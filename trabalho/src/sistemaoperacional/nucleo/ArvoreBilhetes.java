@@ -0,0 +1,76 @@
+package sistemaoperacional.nucleo;
+
+import java.util.Arrays;
+
+// Bilhetes da loteria por posição, numa árvore de Fenwick (binary indexed tree): o nó i guarda a soma
+// das posições (i - lsb(i), i]. Mudar uma posição e achar o dono de um bilhete são O(log n), sem
+// percorrer as tarefas; o total fica à parte, em O(1).
+// As posições livres são reaproveitadas (a última liberada primeiro); sem nenhuma livre, a capacidade
+// dobra e a árvore é remontada em O(n).
+final class ArvoreBilhetes {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private long[] arvore = new long[CAPACIDADE_INICIAL + 1]; // Índice 1 a capacidade
+    private long[] bilhetes = new long[CAPACIDADE_INICIAL];   // Por posição (0 = livre)
+    private int[] livres = new int[CAPACIDADE_INICIAL];       // Pilha de posições livres
+    private int quantidadeLivres = 0;
+    private int usadas = 0;                                   // Posições já entregues alguma vez
+    private long total = 0;
+
+    // Ocupa uma posição com a quantidade de bilhetes (pelo menos 1) e a retorna
+    int inserir(long quantidade) {
+        if (quantidade < 1) throw new IllegalArgumentException("Bilhetes devem ser pelo menos 1: " + quantidade);
+        int posicao;
+        if (quantidadeLivres > 0) {
+            posicao = livres[--quantidadeLivres];
+        } else {
+            if (usadas == bilhetes.length) crescer();
+            posicao = usadas++;
+        }
+        bilhetes[posicao] = quantidade;
+        somar(posicao, quantidade);
+        return posicao;
+    }
+
+    void remover(int posicao) {
+        somar(posicao, -bilhetes[posicao]);
+        bilhetes[posicao] = 0;
+        if (quantidadeLivres == livres.length) livres = Arrays.copyOf(livres, livres.length * 2);
+        livres[quantidadeLivres++] = posicao;
+    }
+
+    // Posição dona do bilhete de número "bilhete" (0 <= bilhete < total): a primeira cuja soma de
+    // prefixo passa dele. Desce pela árvore de cima para baixo, uma potência de 2 por vez
+    int buscar(long bilhete) {
+        if (bilhete < 0 || bilhete >= total) throw new IllegalArgumentException("Bilhete fora do total: " + bilhete);
+        int no = 0;
+        for (int passo = Integer.highestOneBit(bilhetes.length); passo > 0; passo >>= 1) {
+            int proximo = no + passo;
+            if (proximo < arvore.length && arvore[proximo] <= bilhete) {
+                no = proximo;
+                bilhete -= arvore[proximo];
+            }
+        }
+        return no; // Nó seguinte (no + 1) na base 1 = posição no na base 0
+    }
+
+    long total() { return total; }
+
+    private void somar(int posicao, long delta) {
+        total += delta;
+        for (int i = posicao + 1; i < arvore.length; i += i & -i) arvore[i] += delta;
+    }
+
+    // Dobra a capacidade e remonta a árvore em O(n): cada nó passa a própria soma para o pai
+    private void crescer() {
+        int capacidade = bilhetes.length * 2;
+        bilhetes = Arrays.copyOf(bilhetes, capacidade);
+        arvore = new long[capacidade + 1];
+        for (int i = 1; i <= capacidade; i++) {
+            arvore[i] += bilhetes[i - 1];
+            int pai = i + (i & -i);
+            if (pai <= capacidade) arvore[pai] += arvore[i];
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package sistemaoperacional.nucleo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Caixa de mensagens sem trava (lock-free) com vários remetentes e um único leitor, para a troca
+// de mensagens entre as threads do NucleoParalelo.
+// Enviar é um push numa pilha encadeada com compareAndSet (pilha de Treiber): nenhum remetente
+// bloqueia os outros nem o leitor. O leitor retira tudo de uma vez com getAndSet(null).
+// A ordem de chegada entre remetentes diferentes não é determinística; quem lê ordena as mensagens
+// se precisar (a ordem de um mesmo remetente é preservada).
+public class CaixaPostal<T> {
+
+    private static final class No<T> {
+        final T mensagem;
+        final No<T> proximo;
+
+        No(T mensagem, No<T> proximo) {
+            this.mensagem = mensagem;
+            this.proximo = proximo;
+        }
+    }
+
+    private final AtomicReference<No<T>> topo = new AtomicReference<>();
+
+    public void enviar(T mensagem) {
+        No<T> atual;
+        No<T> novo;
+        do {
+            atual = topo.get();
+            novo = new No<>(mensagem, atual);
+        } while (!topo.compareAndSet(atual, novo));
+    }
+
+    // Esvazia a caixa e devolve as mensagens na ordem de envio de cada remetente
+    public List<T> retirarTodas() {
+        No<T> no = topo.getAndSet(null);
+        List<T> mensagens = new ArrayList<>();
+        for (; no != null; no = no.proximo) mensagens.add(no.mensagem);
+        Collections.reverse(mensagens); // A pilha guarda da mais nova para a mais antiga
+        return mensagens;
+    }
+
+    public boolean isEmpty() {
+        return topo.get() == null;
+    }
+}
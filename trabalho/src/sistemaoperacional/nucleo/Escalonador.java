@@ -1,23 +1,35 @@
 package sistemaoperacional.nucleo;
 
 import modelo.TCB;
-import java.util.Queue;
+import simulador.Log;
 
 public class Escalonador {
 
     private AlgoritmosEscalonamento algoritmoEscolhido;
     private int quantum;
+    private final NiveisMLFQ niveis;
+    private final ParametrosCFS cfs;
 
     public Escalonador(String nomeEscalonador, int quantum) {
+        this(nomeEscalonador, quantum, NiveisMLFQ.padrao(quantum));
+    }
+
+    public Escalonador(String nomeEscalonador, int quantum, NiveisMLFQ niveis) {
+        this(nomeEscalonador, quantum, niveis, ParametrosCFS.padrao());
+    }
+
+    public Escalonador(String nomeEscalonador, int quantum, NiveisMLFQ niveis, ParametrosCFS cfs) {
         defineAlgoritmoEscalonador(nomeEscalonador);
         this.quantum = quantum;
+        this.niveis = niveis;
+        this.cfs = cfs;
     }
 
     public AlgoritmosEscalonamento getAlgoritmoEscolhido() {
         return algoritmoEscolhido;
     }
 
-    public boolean deveTrocarContexto(TCB tarefaAtual, Queue<TCB> filaProntos, CausaEscalonamento causa) {
+    public boolean deveTrocarContexto(TCB tarefaAtual, FilaProntos filaProntos, CausaEscalonamento causa) {
         if (causa == CausaEscalonamento.TAREFA_FINALIZADA || causa == CausaEscalonamento.CPU_OCIOSA) {
             return true;
         }
@@ -55,28 +67,59 @@ public class Escalonador {
                 }
                 return false;
 
+            case MLFQ:
+                // Esgotou o quantum do nível (e desce um, ver SistemaOperacional) ou chegou alguém
+                // num nível acima do dela
+                if (causa == CausaEscalonamento.QUANTUM_EXPIRADO) return true;
+                if (causa == CausaEscalonamento.NOVA_TAREFA) {
+                    return filaProntos.espiar().getNivel() < tarefaAtual.getNivel();
+                }
+                return false;
+
+            case CFS:
+                // Acabou a fatia (a tarefa volta para a árvore e pode ser escolhida de novo se ainda for
+                // a de menor vruntime) ou chegou alguém com vruntime menor por mais que a granularidade
+                if (causa == CausaEscalonamento.QUANTUM_EXPIRADO) return true;
+                if (causa == CausaEscalonamento.NOVA_TAREFA) {
+                    return filaProntos.espiar().getTempoVirtual() + cfs.granularidadeVirtual() < tarefaAtual.getTempoVirtual();
+                }
+                return false;
+
+            case EDF:
+                // Sem quantum: só troca quando chega alguém com prazo estritamente mais cedo
+                if (causa == CausaEscalonamento.NOVA_TAREFA) {
+                    return filaProntos.espiar().getTarefa().getPrazoAbsoluto() < tarefaAtual.getTarefa().getPrazoAbsoluto();
+                }
+                return false;
+
+            case STRIDE:
+            case LOTERIA:
+                // Uma decisão por quantum: quem sai volta para a fila e disputa de novo (menor passe ou
+                // novo sorteio); chegadas esperam o fim do quantum
+                if (causa == CausaEscalonamento.QUANTUM_EXPIRADO) return true;
+                return false;
+
             default:
                 if (causa == CausaEscalonamento.QUANTUM_EXPIRADO) return true;
                 return false;
         }
     }
 
-    private boolean verificarSeExisteTarefaMaisCurta(TCB atual, Queue<TCB> fila) {
-        for (TCB t : fila) {
-            if (t.getRestante() < atual.getRestante()) return true;
-        }
-        return false;
+    // O topo do heap é a tarefa mais curta da fila: basta comparar com ele
+    private boolean verificarSeExisteTarefaMaisCurta(TCB atual, FilaProntos fila) {
+        TCB melhor = fila.espiar();
+        return melhor != null && melhor.getRestante() < atual.getRestante();
     }
 
-    private boolean verificarSeExisteMaiorPrioridade(TCB atual, Queue<TCB> fila, boolean usarDinamica) {
-        for (TCB t : fila) {
-            int pFila = usarDinamica ? t.getPrioridadeDinamica() : t.getTarefa().getPrioridade();
-            int pAtual = usarDinamica ? atual.getPrioridadeDinamica() : atual.getTarefa().getPrioridade();
+    private boolean verificarSeExisteMaiorPrioridade(TCB atual, FilaProntos fila, boolean usarDinamica) {
+        TCB melhor = fila.espiar();
+        if (melhor == null) return false;
 
-            // Se a prioridade de alguém na fila for ESTRITAMENTE maior, preempta.
-            if (pFila > pAtual) return true;
-        }
-        return false;
+        int pFila = usarDinamica ? fila.prioridadeEfetiva(melhor) : melhor.getTarefa().getPrioridade();
+        int pAtual = usarDinamica ? atual.getPrioridadeDinamica() : atual.getTarefa().getPrioridade();
+
+        // Se a prioridade de alguém na fila for ESTRITAMENTE maior, preempta.
+        return pFila > pAtual;
     }
 
     private void defineAlgoritmoEscalonador(String nomeEscalonador){
@@ -94,56 +137,57 @@ public class Escalonador {
         else if (nome.equals("PRIOPENV") || nome.equals("PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO")) {
             algoritmoEscolhido = AlgoritmosEscalonamento.PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO;
         }
+        else if (nome.equals("MLFQ")) {
+            algoritmoEscolhido = AlgoritmosEscalonamento.MLFQ;
+        }
+        else if (nome.equals("CFS")) {
+            algoritmoEscolhido = AlgoritmosEscalonamento.CFS;
+        }
+        else if (nome.equals("EDF")) {
+            algoritmoEscolhido = AlgoritmosEscalonamento.EDF;
+        }
+        else if (nome.equals("STRIDE")) {
+            algoritmoEscolhido = AlgoritmosEscalonamento.STRIDE;
+        }
+        else if (nome.equals("LOTERIA") || nome.equals("LOTTERY")) {
+            algoritmoEscolhido = AlgoritmosEscalonamento.LOTERIA;
+        }
         else{
-            System.out.println("Algoritmo desconhecido ("+nome+"). Usando FIFO.");
+            Log.aviso("Algoritmo desconhecido ({}). Usando FIFO.", nome);
             algoritmoEscolhido = AlgoritmosEscalonamento.RR;
         }
     }
 
-    public TCB escolherProximaTarefa(Queue<TCB> readyQueue) {
+    // A fila já está ordenada conforme o algoritmo (ver FilaProntos)
+    public TCB escolherProximaTarefa(FilaProntos readyQueue) {
         if (readyQueue.isEmpty()) return null;
+        return readyQueue.extrair();
+    }
 
-        switch(algoritmoEscolhido) {
-            case RR:
-                return escalonarRoundRobin(readyQueue);
+    // Uma fila de prontos do tipo que o algoritmo usa (ver FilaProntos); o alpha só vale com envelhecimento
+    public FilaProntos criarFilaProntos(int alpha) {
+        switch (algoritmoEscolhido) {
             case SRTF:
-                return escalonarSRTF(readyQueue);
+                return FilaHeap.porRestante();
             case PRIORIDADE_PREEMPTIVO:
-                return escalonarPrioridade(readyQueue, false);
+                return FilaHeap.porPrioridade();
             case PRIORIDADE_PREEMPTIVO_ENVELHECIMENTO:
-                return escalonarPrioridade(readyQueue, true);
+                return FilaHeap.porPrioridadeEnvelhecida(alpha);
+            case EDF:
+                return FilaHeap.porPrazo();
+            case MLFQ:
+                return new FilaMLFQ(niveis.quantidade());
+            case CFS:
+                return new FilaCFS(cfs);
+            case STRIDE:
+                return new FilaStride();
+            case LOTERIA:
+                return new FilaLoteria();
             default:
-                return null;
-        }
-    }
-
-    private TCB escalonarRoundRobin(Queue<TCB> readyQueue) {
-        if (readyQueue.isEmpty()) return null;
-        return readyQueue.poll();
-    }
-
-    private TCB escalonarSRTF(Queue<TCB> readyQueue) {
-        TCB melhor = null;
-        for(TCB t : readyQueue) {
-            if(melhor == null || t.getRestante() < melhor.getRestante()) melhor = t;
+                return new FilaFIFO();
         }
-        if (melhor != null) readyQueue.remove(melhor);
-        return melhor;
     }
 
-    private TCB escalonarPrioridade(Queue<TCB> readyQueue, boolean usarDinamica) {
-        TCB melhor = null;
-        for(TCB t : readyQueue) {
-            if(melhor == null) {
-                melhor = t;
-            } else {
-                int pMelhor = usarDinamica ? melhor.getPrioridadeDinamica() : melhor.getTarefa().getPrioridade();
-                int pAtual = usarDinamica ? t.getPrioridadeDinamica() : t.getTarefa().getPrioridade();
-
-                if (pAtual > pMelhor) melhor = t;
-            }
-        }
-        if (melhor != null) readyQueue.remove(melhor);
-        return melhor;
-    }
+    public NiveisMLFQ getNiveis() { return niveis; }
+    public ParametrosCFS getParametrosCFS() { return cfs; }
 }
\ No newline at end of file
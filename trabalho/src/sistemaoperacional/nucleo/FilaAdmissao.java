@@ -0,0 +1,77 @@
+package sistemaoperacional.nucleo;
+
+import modelo.Tarefa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Tarefas ainda não admitidas pelo SO, em ordem de chegada.
+// Pode ser montada a partir de uma coleção (ordenada uma única vez, sem alterar a original)
+// ou de um iterador já ordenado por getInicio(), consumido aos poucos conforme o tempo avança.
+// Tarefas periódicas liberam as instâncias seguintes uma a uma: quando uma instância é admitida,
+// a próxima entra num heap por chegada, então há no máximo uma pendente por tarefa periódica.
+public class FilaAdmissao {
+
+    private final Iterator<Tarefa> origem;
+    private Tarefa proxima;
+    private int ultimoInicio = Integer.MIN_VALUE;
+    private final PriorityQueue<Tarefa> instancias = new PriorityQueue<>(
+            Comparator.comparingInt(Tarefa::getInicio).thenComparing(Tarefa::getIdTarefa));
+
+    public FilaAdmissao(Collection<Tarefa> tarefas) {
+        List<Tarefa> ordenadas = new ArrayList<>(tarefas);
+        // Ordenação estável: tarefas que chegam no mesmo tick mantêm a ordem original
+        ordenadas.sort(Comparator.comparingInt(Tarefa::getInicio));
+        this.origem = ordenadas.iterator();
+        avancar();
+    }
+
+    public FilaAdmissao(Iterator<Tarefa> tarefasOrdenadas) {
+        this.origem = tarefasOrdenadas;
+        avancar();
+    }
+
+    private void avancar() {
+        if (!origem.hasNext()) {
+            proxima = null;
+            return;
+        }
+        proxima = origem.next();
+        if (proxima.getInicio() < ultimoInicio) {
+            throw new IllegalArgumentException("Tarefa " + proxima.getId() + " fora da ordem de chegada (" +
+                    proxima.getInicio() + " < " + ultimoInicio + ")");
+        }
+        ultimoInicio = proxima.getInicio();
+    }
+
+    // Remove e retorna a próxima tarefa se ela já deve ser admitida no tick informado (ou null).
+    // Empate entre uma instância periódica e uma tarefa da origem: a instância sai primeiro
+    public Tarefa retirarSeChegou(int tick) {
+        Tarefa tarefa;
+        if (!instancias.isEmpty() && (proxima == null || instancias.peek().getInicio() <= proxima.getInicio())) {
+            if (instancias.peek().getInicio() > tick) return null;
+            tarefa = instancias.poll();
+        } else {
+            if (proxima == null || proxima.getInicio() > tick) return null;
+            tarefa = proxima;
+            avancar();
+        }
+        Tarefa seguinte = tarefa.proximaInstancia();
+        if (seguinte != null) instancias.add(seguinte);
+        return tarefa;
+    }
+
+    // Tick de chegada da próxima tarefa, ou -1 se não há mais tarefas
+    public int proximoInicio() {
+        if (instancias.isEmpty()) return proxima != null ? proxima.getInicio() : -1;
+        return proxima != null ? Math.min(proxima.getInicio(), instancias.peek().getInicio()) : instancias.peek().getInicio();
+    }
+
+    public boolean isEmpty() {
+        return proxima == null && instancias.isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package sistemaoperacional.nucleo;
+
+import modelo.TCB;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+// CFS: árvore rubro-negra (TreeSet) ordenada por vruntime, com a entrada mais à esquerda guardada para
+// espiar em O(1). A fila mantém o min-vruntime (só cresce) e posiciona quem entra a partir dele: tarefa
+// nova começa nele e tarefa que acorda fica no máximo meia latência antes (ver ParametrosCFS), para
+// não monopolizar a CPU pelo tempo que dormiu. Entre filas o vruntime viaja relativo ao min-vruntime
+// da origem e é refeito no destino.
+// O vruntime é o tempo virtual do TCB, que esta fila faz andar ESCALA_VRUNTIME por tick executado para
+// uma tarefa de peso TCB.PESO_NEUTRO (mais devagar quanto maior o peso, ver TCB.pesoDaPrioridade).
+final class FilaCFS extends FilaProntos {
+
+    static final long ESCALA_VRUNTIME = 1024;
+
+    private static class Entrada {
+        final TCB tcb;
+        final long ordemChegada;
+        final int peso;
+
+        Entrada(TCB tcb, long ordemChegada, int peso) {
+            this.tcb = tcb;
+            this.ordemChegada = ordemChegada;
+            this.peso = peso;
+        }
+    }
+
+    private static final Comparator<Entrada> ORDEM_VRUNTIME =
+            Comparator.comparingLong((Entrada e) -> e.tcb.getTempoVirtual()).thenComparingLong(e -> e.ordemChegada);
+
+    private final ParametrosCFS cfs;
+    private final TreeSet<Entrada> arvore = new TreeSet<>(ORDEM_VRUNTIME);
+    private Entrada maisAEsquerda;            // Menor vruntime da árvore (null se vazia)
+    private long pesoTotal = 0;               // Soma dos pesos das tarefas da árvore
+    private long minVruntime = 0;
+    private long contadorChegada = 0;
+
+    FilaCFS(ParametrosCFS cfs) {
+        super(0);
+        this.cfs = cfs;
+    }
+
+    // A tarefa que acabou de sair da CPU ainda conta para o mínimo
+    @Override
+    void posicionarNova(TCB tcb) {
+        if (tcb.getNucleo() < 0) tcb.setTempoVirtual(Math.max(tcb.getTempoVirtual(), minVruntime));
+        else atualizarTempoVirtual(tcb);
+    }
+
+    @Override
+    void posicionarAcordada(TCB tcb) {
+        tcb.setTempoVirtual(Math.max(tcb.getTempoVirtual(), minVruntime - cfs.creditoAoAcordar()));
+    }
+
+    // O vruntime de uma tarefa tirada com extrairParaMigracao volta a ser absoluto, agora em relação a esta fila
+    @Override
+    public void acomodarMigrada(TCB tcb) {
+        tcb.setTempoVirtual(tcb.getTempoVirtual() + minVruntime);
+    }
+
+    @Override
+    void inserir(TCB tcb) {
+        int peso = pesoDe(tcb);
+        tcb.setIncrementoTempoVirtual(ESCALA_VRUNTIME * TCB.PESO_NEUTRO / peso);
+        Entrada entrada = new Entrada(tcb, contadorChegada++, peso);
+        arvore.add(entrada);
+        pesoTotal += peso;
+        if (maisAEsquerda == null || ORDEM_VRUNTIME.compare(entrada, maisAEsquerda) < 0) maisAEsquerda = entrada;
+    }
+
+    @Override
+    public TCB extrair() {
+        return retirar(arvore.pollFirst());
+    }
+
+    @Override
+    public TCB espiar() {
+        return maisAEsquerda != null ? maisAEsquerda.tcb : null;
+    }
+
+    // A de maior vruntime, que leva o vruntime relativo ao min-vruntime daqui (ver acomodarMigrada)
+    @Override
+    public TCB extrairParaMigracao() {
+        TCB tcb = retirar(arvore.pollLast());
+        if (tcb != null) tcb.setTempoVirtual(tcb.getTempoVirtual() - minVruntime);
+        return tcb;
+    }
+
+    private TCB retirar(Entrada e) {
+        if (e == null) return null;
+        pesoTotal -= e.peso;
+        if (e == maisAEsquerda) maisAEsquerda = arvore.isEmpty() ? null : arvore.first();
+        return e.tcb;
+    }
+
+    // Fatia da vez, dividindo a latência com quem ficou na fila
+    @Override
+    public void entregarParaCPU(TCB tcb) {
+        int peso = pesoDe(tcb);
+        tcb.setFatia(cfs.fatia(peso, pesoTotal + peso, arvore.size() + 1L));
+    }
+
+    private static int pesoDe(TCB tcb) {
+        return TCB.pesoDaPrioridade(tcb.getTarefa().getPrioridade());
+    }
+
+    // min-vruntime = maior entre o atual e o menor vruntime entre a tarefa em execução no núcleo
+    // (pode ser null) e a mais à esquerda da árvore; nunca diminui
+    @Override
+    public void atualizarTempoVirtual(TCB emExecucao) {
+        long menor = Long.MAX_VALUE;
+        if (emExecucao != null) menor = emExecucao.getTempoVirtual();
+        if (maisAEsquerda != null) menor = Math.min(menor, maisAEsquerda.tcb.getTempoVirtual());
+        if (menor != Long.MAX_VALUE) minVruntime = Math.max(minVruntime, menor);
+    }
+
+    @Override
+    public long getTempoVirtual() {
+        return minVruntime;
+    }
+
+    @Override
+    public int tamanho() {
+        return arvore.size();
+    }
+
+    // Em ordem de vruntime
+    @Override
+    public Iterator<TCB> iterator() {
+        return tcbsDe(arvore.iterator(), e -> e.tcb);
+    }
+}
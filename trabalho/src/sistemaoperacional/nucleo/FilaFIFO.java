@@ -0,0 +1,47 @@
+package sistemaoperacional.nucleo;
+
+import modelo.TCB;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+// RR: fila FIFO simples, na ordem de chegada
+final class FilaFIFO extends FilaProntos {
+
+    private final ArrayDeque<TCB> fifo = new ArrayDeque<>();
+
+    FilaFIFO() {
+        super(0);
+    }
+
+    @Override
+    void inserir(TCB tcb) {
+        fifo.addLast(tcb);
+    }
+
+    @Override
+    public TCB extrair() {
+        return fifo.pollFirst();
+    }
+
+    @Override
+    public TCB espiar() {
+        return fifo.peekFirst();
+    }
+
+    // A última, que mais demoraria a rodar aqui
+    @Override
+    public TCB extrairParaMigracao() {
+        return fifo.pollLast();
+    }
+
+    @Override
+    public int tamanho() {
+        return fifo.size();
+    }
+
+    @Override
+    public Iterator<TCB> iterator() {
+        return fifo.iterator();
+    }
+}
@@ -0,0 +1,87 @@
+package sistemaoperacional.nucleo;
+
+import modelo.TCB;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+// SRTF, prioridades e EDF: heap com inserção/extração em O(log n) e consulta da "melhor" tarefa (topo)
+// em O(1). Empates são resolvidos pela ordem de chegada na fila, como na busca linear original.
+// A ordem de cada algoritmo não muda enquanto a tarefa está na fila (ver as fábricas abaixo).
+class FilaHeap extends FilaProntos {
+
+    private static class Entrada {
+        final TCB tcb;
+        final long ordemChegada;
+
+        Entrada(TCB tcb, long ordemChegada) {
+            this.tcb = tcb;
+            this.ordemChegada = ordemChegada;
+        }
+    }
+
+    private final PriorityQueue<Entrada> heap;
+    private long contadorChegada = 0;
+
+    FilaHeap(Comparator<TCB> ordem, int alpha) {
+        super(alpha);
+        this.heap = new PriorityQueue<>(
+                Comparator.comparing((Entrada e) -> e.tcb, ordem).thenComparingLong(e -> e.ordemChegada));
+    }
+
+    // Menor tempo restante primeiro
+    static FilaHeap porRestante() {
+        return new FilaHeap(Comparator.comparingInt(TCB::getRestante), 0);
+    }
+
+    // Maior prioridade estática primeiro
+    static FilaHeap porPrioridade() {
+        return new FilaHeap(Comparator.comparingInt((TCB t) -> t.getTarefa().getPrioridade()).reversed(), 0);
+    }
+
+    // Maior prioridade efetiva primeiro (ver o envelhecimento em FilaProntos)
+    static FilaHeap porPrioridadeEnvelhecida(int alpha) {
+        return new FilaHeap(Comparator.comparingLong((TCB t) ->
+                t.getPrioridadeDinamica() - (long) alpha * t.getEpocaEntradaFila()).reversed(), alpha);
+    }
+
+    // Prazo absoluto mais cedo primeiro; sem prazo fica por último, na ordem de chegada
+    static FilaHeap porPrazo() {
+        return new FilaHeap(Comparator.comparingInt((TCB t) -> t.getTarefa().getPrazoAbsoluto()), 0);
+    }
+
+    @Override
+    void inserir(TCB tcb) {
+        heap.add(new Entrada(tcb, contadorChegada++));
+    }
+
+    @Override
+    public TCB extrair() {
+        Entrada e = heap.poll();
+        return e != null ? e.tcb : null;
+    }
+
+    @Override
+    public TCB espiar() {
+        Entrada e = heap.peek();
+        return e != null ? e.tcb : null;
+    }
+
+    // A melhor, que passa a rodar antes na fila menos carregada
+    @Override
+    public TCB extrairParaMigracao() {
+        return extrair();
+    }
+
+    @Override
+    public int tamanho() {
+        return heap.size();
+    }
+
+    // Sem ordem garantida
+    @Override
+    public Iterator<TCB> iterator() {
+        return tcbsDe(heap.iterator(), e -> e.tcb);
+    }
+}
@@ -0,0 +1,93 @@
+package sistemaoperacional.nucleo;
+
+import modelo.TCB;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+// Loteria: cada tarefa ocupa uma posição numa árvore de Fenwick com os bilhetes dela (ArvoreBilhetes),
+// então sortear o dono de um bilhete é O(log n), sem percorrer a fila. O sorteio é determinístico
+// (SplitMix64 sobre o número de extrações já feitas) para a simulação ser reproduzível.
+final class FilaLoteria extends FilaProntos {
+
+    private static final long SEMENTE_LOTERIA = 0x5EED_1071L;
+
+    private final ArvoreBilhetes loteria = new ArvoreBilhetes();
+    private TCB[] sorteaveis = new TCB[16];   // Tarefa de cada posição da árvore de bilhetes
+    private int sorteada = -1;                // Posição da ganhadora do sorteio em curso (-1: sortear de novo)
+    private long sorteios = 0;                // Extrações já feitas
+    private int tamanho = 0;
+
+    FilaLoteria() {
+        super(0);
+    }
+
+    @Override
+    void inserir(TCB tcb) {
+        int posicao = loteria.inserir(tcb.getBilhetes());
+        if (posicao >= sorteaveis.length) sorteaveis = Arrays.copyOf(sorteaveis, Math.max(posicao + 1, sorteaveis.length * 2));
+        sorteaveis[posicao] = tcb;
+        tamanho++;
+        sorteada = -1;
+    }
+
+    // Ganhadora do sorteio em curso, sorteada só quando alguém pergunta e guardada até a fila mudar.
+    // O bilhete sorteado depende só de quantas tarefas já saíram da fila, não de quantas vezes se
+    // espiou: espiar não muda a simulação, que dá o mesmo resultado tick a tick e por eventos
+    private int sortear() {
+        if (sorteada < 0 && tamanho > 0) {
+            long bilhete = Long.remainderUnsigned(misturar(SEMENTE_LOTERIA + sorteios * 0x9E3779B97F4A7C15L), loteria.total());
+            sorteada = loteria.buscar(bilhete);
+        }
+        return sorteada;
+    }
+
+    @Override
+    public TCB extrair() {
+        int posicao = sortear();
+        if (posicao < 0) return null;
+        TCB tcb = sorteaveis[posicao];
+        loteria.remover(posicao);
+        sorteaveis[posicao] = null;
+        tamanho--;
+        sorteada = -1;
+        sorteios++;
+        return tcb;
+    }
+
+    @Override
+    public TCB espiar() {
+        int posicao = sortear();
+        return posicao < 0 ? null : sorteaveis[posicao];
+    }
+
+    // A sorteada
+    @Override
+    public TCB extrairParaMigracao() {
+        return extrair();
+    }
+
+    // Finalizador do SplitMix64: valores bem espalhados a partir de um contador
+    private static long misturar(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    @Override
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // Na ordem das posições (cópia), sem relação com a ordem do sorteio
+    @Override
+    public Iterator<TCB> iterator() {
+        List<TCB> tarefas = new ArrayList<>(tamanho);
+        for (TCB tcb : sorteaveis) {
+            if (tcb != null) tarefas.add(tcb);
+        }
+        return tarefas.iterator();
+    }
+}
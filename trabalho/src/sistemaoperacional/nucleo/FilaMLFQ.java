@@ -0,0 +1,104 @@
+package sistemaoperacional.nucleo;
+
+import modelo.TCB;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// MLFQ: uma lista FIFO por nível e um mapa de bits dos níveis não vazios, como no escalonador O(1)
+// do Linux: a melhor tarefa é a primeira do nível do bit menos significativo (numberOfTrailingZeros),
+// então inserir, extrair e espiar são O(1). As listas são encadeadas pelas próprias entradas para o
+// boost juntar todos os níveis no 0 em O(níveis), sem percorrer as tarefas.
+final class FilaMLFQ extends FilaProntos {
+
+    private static class Entrada {
+        final TCB tcb;
+        Entrada proxima; // Próxima do mesmo nível
+
+        Entrada(TCB tcb) {
+            this.tcb = tcb;
+        }
+    }
+
+    private final Entrada[] primeiraDoNivel;
+    private final Entrada[] ultimaDoNivel;
+    private long niveisOcupados = 0;          // Bit i ligado: nível i tem alguém
+    private int tamanho = 0;
+
+    FilaMLFQ(int niveis) {
+        super(0);
+        if (niveis < 1 || niveis > NiveisMLFQ.MAX_NIVEIS) throw new IllegalArgumentException("Níveis inválidos: " + niveis);
+        this.primeiraDoNivel = new Entrada[niveis];
+        this.ultimaDoNivel = new Entrada[niveis];
+    }
+
+    @Override
+    void inserir(TCB tcb) {
+        int nivel = Math.min(tcb.getNivel(), primeiraDoNivel.length - 1);
+        Entrada entrada = new Entrada(tcb);
+        if (ultimaDoNivel[nivel] == null) primeiraDoNivel[nivel] = entrada;
+        else ultimaDoNivel[nivel].proxima = entrada;
+        ultimaDoNivel[nivel] = entrada;
+        niveisOcupados |= 1L << nivel;
+        tamanho++;
+    }
+
+    @Override
+    public TCB extrair() {
+        return niveisOcupados == 0 ? null : retirarDoNivel(Long.numberOfTrailingZeros(niveisOcupados));
+    }
+
+    @Override
+    public TCB espiar() {
+        return niveisOcupados == 0 ? null : primeiraDoNivel[Long.numberOfTrailingZeros(niveisOcupados)].tcb;
+    }
+
+    // A primeira do nível menos prioritário ocupado
+    @Override
+    public TCB extrairParaMigracao() {
+        return niveisOcupados == 0 ? null : retirarDoNivel(63 - Long.numberOfLeadingZeros(niveisOcupados));
+    }
+
+    private TCB retirarDoNivel(int nivel) {
+        Entrada e = primeiraDoNivel[nivel];
+        primeiraDoNivel[nivel] = e.proxima;
+        e.proxima = null;
+        if (primeiraDoNivel[nivel] == null) {
+            ultimaDoNivel[nivel] = null;
+            niveisOcupados &= ~(1L << nivel);
+        }
+        tamanho--;
+        return e.tcb;
+    }
+
+    // Todas as tarefas vão para o nível 0, mantendo a ordem (primeiro as que já estavam nele, depois
+    // as do nível 1...). Cada TCB passa sozinho a dizer nível 0 (ver TCB.getNivel)
+    @Override
+    public void boost() {
+        for (int nivel = 1; nivel < primeiraDoNivel.length; nivel++) {
+            if (primeiraDoNivel[nivel] == null) continue;
+            if (ultimaDoNivel[0] == null) primeiraDoNivel[0] = primeiraDoNivel[nivel];
+            else ultimaDoNivel[0].proxima = primeiraDoNivel[nivel];
+            ultimaDoNivel[0] = ultimaDoNivel[nivel];
+            primeiraDoNivel[nivel] = null;
+            ultimaDoNivel[nivel] = null;
+        }
+        if (niveisOcupados != 0) niveisOcupados = 1L;
+    }
+
+    @Override
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // Do nível 0 ao último (cópia: o boost e a retirada mexem nos encadeamentos)
+    @Override
+    public Iterator<TCB> iterator() {
+        List<TCB> tarefas = new ArrayList<>(tamanho);
+        for (Entrada primeira : primeiraDoNivel) {
+            for (Entrada e = primeira; e != null; e = e.proxima) tarefas.add(e.tcb);
+        }
+        return tarefas.iterator();
+    }
+}
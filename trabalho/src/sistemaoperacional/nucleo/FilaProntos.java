@@ -0,0 +1,116 @@
+package sistemaoperacional.nucleo;
+
+import modelo.TCB;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+// Fila de prontos de um núcleo. Cada algoritmo tem a sua implementação, escolhida pelo
+// Escalonador (ver criarFilaProntos):
+//  - FilaFIFO: RR;
+//  - FilaHeap: SRTF, prioridades e EDF;
+//  - FilaMLFQ: uma lista por nível e um mapa de bits dos níveis ocupados;
+//  - FilaCFS: árvore ordenada por vruntime;
+//  - FilaStride e FilaLoteria: divisão proporcional aos bilhetes.
+// Aqui fica só o que é comum a todas: os três jeitos de entrar (tarefa nova ou preemptada, que acorda,
+// migrada de outra fila) e o envelhecimento.
+//
+// Envelhecimento: em vez de somar alpha em cada TCB a cada tick, a fila mantém uma época global
+// (quantas vezes o envelhecimento foi aplicado). Cada TCB guarda a época em que entrou na fila e a
+// prioridade efetiva é: prioridade + alpha * (épocaAtual - épocaEntrada). Como a época é comum a
+// todos, a ordem do heap depende só de (prioridade - alpha * épocaEntrada), que não muda na fila.
+public abstract class FilaProntos implements Iterable<TCB> {
+
+    private final int alpha;
+    private long epocaEnvelhecimento = 0;
+
+    FilaProntos(int alpha) {
+        this.alpha = alpha;
+    }
+
+    // Tarefa nova ou que acabou de sair da CPU
+    public void adicionar(TCB tcb) {
+        posicionarNova(tcb);
+        tcb.setEpocaEntradaFila(epocaEnvelhecimento);
+        inserir(tcb);
+    }
+
+    // Tarefa que volta de um bloqueio
+    public void acordar(TCB tcb) {
+        posicionarAcordada(tcb);
+        tcb.setEpocaEntradaFila(epocaEnvelhecimento);
+        inserir(tcb);
+    }
+
+    // Tarefa migrada de outra fila (ver FilasPorNucleo): mantém o envelhecimento que já acumulou,
+    // pois todas as filas de um SO estão na mesma época
+    public void receber(TCB tcb) {
+        acomodarMigrada(tcb);
+        inserir(tcb);
+    }
+
+    // Ajustes de quem entra, antes de inserir; só as filas de tempo virtual (CFS e stride) usam
+    void posicionarNova(TCB tcb) { }
+    void posicionarAcordada(TCB tcb) { }
+
+    abstract void inserir(TCB tcb);
+
+    // Remove e retorna a melhor tarefa segundo o algoritmo (ou null se vazia)
+    public abstract TCB extrair();
+
+    // Consulta a melhor tarefa sem remover (ou null se vazia)
+    public abstract TCB espiar();
+
+    // Tarefa a ceder para outra fila (ou null se vazia); cada fila escolhe qual
+    public abstract TCB extrairParaMigracao();
+
+    public abstract int tamanho();
+
+    public boolean isEmpty() {
+        return tamanho() == 0;
+    }
+
+    // Tarefa tirada de outra fila com extrairParaMigracao que entra nesta (ver receber), ou que vai
+    // direto para a CPU do núcleo desta fila (roubo)
+    public void acomodarMigrada(TCB tcb) { }
+
+    // A tarefa acabou de sair desta fila (ou foi roubada por ela) e vai para a CPU do núcleo
+    public void entregarParaCPU(TCB tcb) { }
+
+    // Atualiza o tempo virtual da fila com a tarefa em execução no núcleo (pode ser null)
+    public void atualizarTempoVirtual(TCB emExecucao) { }
+
+    // Tempo virtual da fila: min-vruntime no CFS, passe global no stride, 0 nas outras
+    public long getTempoVirtual() { return 0; }
+
+    // Boost da MLFQ; as outras filas não têm níveis
+    public void boost() { }
+
+    // Aplica o envelhecimento a toda a fila em O(1)
+    public void envelhecer(int ticks) {
+        epocaEnvelhecimento += ticks;
+    }
+
+    // Prioridade dinâmica de uma tarefa que está na fila, já considerando o envelhecimento.
+    // Satura em Integer.MAX_VALUE: numa espera muito longa o cast direto daria a volta e a tarefa
+    // mais envelhecida passaria a perder para todas
+    public int prioridadeEfetiva(TCB tcb) {
+        return (int) Math.min(Integer.MAX_VALUE,
+                tcb.getPrioridadeDinamica() + (long) alpha * (epocaEnvelhecimento - tcb.getEpocaEntradaFila()));
+    }
+
+    // Iteração pelos TCBs das entradas de uma fila
+    static <E> Iterator<TCB> tcbsDe(Iterator<E> entradas, Function<E, TCB> tcb) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return entradas.hasNext();
+            }
+
+            @Override
+            public TCB next() {
+                return tcb.apply(entradas.next());
+            }
+        };
+    }
+}
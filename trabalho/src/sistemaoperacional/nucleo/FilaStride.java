@@ -0,0 +1,68 @@
+package sistemaoperacional.nucleo;
+
+import modelo.TCB;
+
+import java.util.Comparator;
+
+// Stride: heap pelo passe, o tempo virtual do TCB, que esta fila faz andar PASSO_BASE / bilhetes por
+// tick executado (mais devagar quanto mais bilhetes a tarefa tem); roda sempre a de menor passe.
+// O passe global (menor passe entre a fila e a tarefa do núcleo, só cresce) faz o papel do
+// min-vruntime do CFS: tarefa nova ou que acorda entra nele, sem crédito pelo tempo fora, e a
+// migrada viaja relativa a ele.
+final class FilaStride extends FilaHeap {
+
+    static final long PASSO_BASE = 1L << 30;
+
+    private long passeGlobal = 0;
+
+    FilaStride() {
+        // O passe não muda enquanto a tarefa está na fila
+        super(Comparator.comparingLong(TCB::getTempoVirtual), 0);
+    }
+
+    @Override
+    void inserir(TCB tcb) {
+        tcb.setIncrementoTempoVirtual(PASSO_BASE / tcb.getBilhetes());
+        super.inserir(tcb);
+    }
+
+    // A tarefa que acabou de sair da CPU ainda conta para o mínimo
+    @Override
+    void posicionarNova(TCB tcb) {
+        if (tcb.getNucleo() < 0) tcb.setTempoVirtual(Math.max(tcb.getTempoVirtual(), passeGlobal));
+        else atualizarTempoVirtual(tcb);
+    }
+
+    @Override
+    void posicionarAcordada(TCB tcb) {
+        tcb.setTempoVirtual(Math.max(tcb.getTempoVirtual(), passeGlobal));
+    }
+
+    // O passe de uma tarefa tirada com extrairParaMigracao volta a ser absoluto, agora em relação a esta fila
+    @Override
+    public void acomodarMigrada(TCB tcb) {
+        tcb.setTempoVirtual(tcb.getTempoVirtual() + passeGlobal);
+    }
+
+    // A de menor passe, que leva o passe relativo ao passe global daqui (ver acomodarMigrada)
+    @Override
+    public TCB extrairParaMigracao() {
+        TCB tcb = extrair();
+        if (tcb != null) tcb.setTempoVirtual(tcb.getTempoVirtual() - passeGlobal);
+        return tcb;
+    }
+
+    @Override
+    public void atualizarTempoVirtual(TCB emExecucao) {
+        long menor = Long.MAX_VALUE;
+        if (emExecucao != null) menor = emExecucao.getTempoVirtual();
+        TCB topo = espiar();
+        if (topo != null) menor = Math.min(menor, topo.getTempoVirtual());
+        if (menor != Long.MAX_VALUE) passeGlobal = Math.max(passeGlobal, menor);
+    }
+
+    @Override
+    public long getTempoVirtual() {
+        return passeGlobal;
+    }
+}
@@ -0,0 +1,192 @@
+package sistemaoperacional.nucleo;
+
+import hardware.CPU;
+import modelo.TCB;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+// Uma fila de prontos por núcleo, como as runqueues por CPU dos núcleos SMP:
+//  - tarefa nova entra no núcleo menos carregado; tarefa que volta (preemptada ou acordando)
+//    entra no núcleo em que rodou por último, onde a cache ainda pode estar quente (ver CustoTroca);
+//  - núcleo que fica sem nada na própria fila rouba uma tarefa da fila mais longa (work stealing);
+//  - balancear() nivela as filas: a carga de cada núcleo (fila + tarefa na CPU) fica entre o piso
+//    e o teto da média.
+// Cada núcleo só compara a tarefa dele com a própria fila para decidir preempções.
+// Todas as filas envelhecem juntas (mesma época), então uma tarefa migrada mantém o envelhecimento
+// acumulado e a prioridade efetiva dela pode ser calculada por qualquer fila.
+// No CFS cada fila tem o próprio min-vruntime (no stride, o passe global), atualizado com a tarefa do
+// núcleo antes de cada operação, e a tarefa migrada leva o vruntime (passe) relativo a ele (ver FilaCFS e FilaStride).
+// Com um núcleo só, equivale à fila única de antes.
+// Os núcleos são identificados pelo índice na máquina (CPU.getIndice), que só começa em 0 quando o SO
+// simula todas as CPUs (nos fragmentos do NucleoParalelo cada SO tem uma fatia contígua delas).
+public class FilasPorNucleo {
+
+    private final FilaProntos[] filas;
+    private final List<CPU> nucleos;
+    private final int primeiroNucleo;
+    private int total = 0;          // Tarefas em todas as filas
+    private long migracoes = 0;     // Tarefas movidas entre filas (roubo e balanceamento)
+
+    public FilasPorNucleo(Escalonador escalonador, int alpha, List<CPU> nucleos) {
+        this.nucleos = nucleos;
+        this.primeiroNucleo = nucleos.get(0).getIndice();
+        this.filas = new FilaProntos[nucleos.size()];
+        for (int i = 0; i < filas.length; i++) {
+            filas[i] = escalonador.criarFilaProntos(alpha);
+        }
+    }
+
+    // Fila do núcleo, só para consulta (espiar, prioridadeEfetiva...); mudanças passam por esta classe
+    public FilaProntos get(int nucleo) {
+        return filas[nucleo - primeiroNucleo];
+    }
+
+    public void adicionar(TCB tcb) {
+        // Nunca rodou, ou rodou por último num núcleo de outro SO: vai para o menos carregado
+        int nucleo = tcb.getNucleo() - primeiroNucleo;
+        if (nucleo < 0 || nucleo >= filas.length) nucleo = menosCarregado();
+        atualizarTempoVirtual(nucleo);
+        filas[nucleo].adicionar(tcb);
+        total++;
+    }
+
+    // Tarefa que volta de bloqueio (I/O ou mutex): como adicionar, mas no CFS entra com o crédito de quem dormiu
+    public void acordar(TCB tcb) {
+        int nucleo = tcb.getNucleo() - primeiroNucleo;
+        if (nucleo < 0 || nucleo >= filas.length) nucleo = menosCarregado();
+        atualizarTempoVirtual(nucleo);
+        filas[nucleo].acordar(tcb);
+        total++;
+    }
+
+    // Melhor tarefa da fila do núcleo; com a fila vazia, rouba de outro núcleo (ou null se não há nenhuma).
+    // No CFS já sai com a fatia que vai usar na CPU
+    public TCB extrair(int nucleo) {
+        if (total == 0) return null;
+        FilaProntos fila = filas[nucleo - primeiroNucleo];
+        atualizarTempoVirtual(nucleo - primeiroNucleo);
+        TCB tcb = fila.extrair();
+        if (tcb == null) {
+            int origem = maisCarregada();
+            atualizarTempoVirtual(origem);
+            tcb = filas[origem].extrairParaMigracao();
+            fila.acomodarMigrada(tcb);
+            migracoes++;
+        }
+        fila.entregarParaCPU(tcb);
+        total--;
+        return tcb;
+    }
+
+    // Move tarefas das filas dos núcleos acima do teto da média para os abaixo dela. Retorna quantas moveu
+    public int balancear() {
+        if (filas.length < 2 || total == 0) return 0;
+        int cargaTotal = total;
+        for (CPU cpu : nucleos) {
+            if (cpu.getTarefaAtual() != null) cargaTotal++;
+        }
+        int piso = cargaTotal / filas.length;
+        int teto = piso + (cargaTotal % filas.length == 0 ? 0 : 1);
+
+        ArrayDeque<TCB> excedentes = new ArrayDeque<>();
+        for (int i = 0; i < filas.length; i++) {
+            atualizarTempoVirtual(i);
+            while (carga(i) > teto && !filas[i].isEmpty()) excedentes.add(filas[i].extrairParaMigracao());
+        }
+        if (excedentes.isEmpty()) return 0;
+        int movidas = excedentes.size();
+        // Primeiro completa quem está abaixo do piso; o que sobrar vai para quem ainda cabe no teto
+        for (int limite : new int[]{piso, teto}) {
+            for (int i = 0; i < filas.length && !excedentes.isEmpty(); i++) {
+                while (carga(i) < limite && !excedentes.isEmpty()) filas[i].receber(excedentes.poll());
+            }
+        }
+        migracoes += movidas;
+        return movidas;
+    }
+
+    // Tarefa cedida a outro SO (ver NucleoParalelo), tirada da fila mais longa; null se não há nenhuma.
+    // Não entra em migracoes: quem conta a migração entre SOs é o NucleoParalelo
+    public TCB extrairParaMigracao() {
+        if (total == 0) return null;
+        total--;
+        int origem = maisCarregada();
+        atualizarTempoVirtual(origem);
+        return filas[origem].extrairParaMigracao();
+    }
+
+    // Tarefa vinda de outro SO: entra no núcleo menos carregado mantendo o envelhecimento
+    // (os SOs de uma mesma simulação envelhecem juntos)
+    public void receberMigrada(TCB tcb) {
+        int destino = menosCarregado();
+        atualizarTempoVirtual(destino);
+        filas[destino].receber(tcb);
+        total++;
+    }
+
+    // Núcleos sem tarefa na CPU (a carga de cada um é a fila mais a tarefa em execução)
+    public int nucleosOciosos() {
+        int ociosos = 0;
+        for (CPU cpu : nucleos) {
+            if (cpu.getTarefaAtual() == null) ociosos++;
+        }
+        return ociosos;
+    }
+
+    // Aplica o envelhecimento a todas as filas (cada uma em O(1))
+    public void envelhecer(int ticks) {
+        for (FilaProntos fila : filas) fila.envelhecer(ticks);
+    }
+
+    // Boost da MLFQ em todas as filas (cada uma em O(níveis))
+    public void boost() {
+        for (FilaProntos fila : filas) fila.boost();
+    }
+
+    private void atualizarTempoVirtual(int nucleo) {
+        filas[nucleo].atualizarTempoVirtual(nucleos.get(nucleo).getTarefaAtual());
+    }
+
+    // Menor min-vruntime entre os núcleos com carga (fila ou CPU), ou -1 se estão todos parados.
+    // Só consulta: não atualiza as filas, para não mudar a simulação
+    public long minVruntime() {
+        long menor = Long.MAX_VALUE;
+        for (int i = 0; i < filas.length; i++) {
+            if (carga(i) > 0) menor = Math.min(menor, filas[i].getTempoVirtual());
+        }
+        return menor == Long.MAX_VALUE ? -1 : menor;
+    }
+
+    private int carga(int nucleo) {
+        return filas[nucleo].tamanho() + (nucleos.get(nucleo).getTarefaAtual() != null ? 1 : 0);
+    }
+
+    // Empates ficam com o núcleo de menor índice
+    private int menosCarregado() {
+        int melhor = 0;
+        if (filas.length == 1) return melhor;
+        int menorCarga = carga(0);
+        for (int i = 1; i < filas.length && menorCarga > 0; i++) {
+            int c = carga(i);
+            if (c < menorCarga) {
+                melhor = i;
+                menorCarga = c;
+            }
+        }
+        return melhor;
+    }
+
+    private int maisCarregada() {
+        int melhor = 0;
+        for (int i = 1; i < filas.length; i++) {
+            if (filas[i].tamanho() > filas[melhor].tamanho()) melhor = i;
+        }
+        return melhor;
+    }
+
+    public int quantidadeNucleos() { return filas.length; }
+    public int total() { return total; }
+    public boolean isEmpty() { return total == 0; }
+    public long getMigracoes() { return migracoes; }
+}
@@ -1,6 +1,7 @@
 package sistemaoperacional.nucleo;
 
 import modelo.TCB;
+import simulador.Log;
 import java.util.*;
 
 public class GerenciadorRecursos {
@@ -35,8 +36,7 @@ public class GerenciadorRecursos {
 
         // Segurança: só o dono pode liberar
         if (donoAtual != solicitante) {
-            System.err.println("ERRO: Tarefa " + solicitante.getTarefa().getId() +
-                    " tentou liberar Mutex " + idMutex + " sem ser o dono.");
+            Log.erro("Tarefa {} tentou liberar Mutex {} sem ser o dono.", solicitante.getTarefa().getId(), idMutex);
             return null;
         }
 
@@ -0,0 +1,76 @@
+package sistemaoperacional.nucleo;
+
+import java.util.Arrays;
+
+// Configuração da fila multinível com realimentação (MLFQ): quantos níveis, o quantum de cada um
+// e de quantos em quantos ticks todas as tarefas voltam ao nível 0 (boost; 0 = nunca).
+// O nível 0 é o mais prioritário. Sem nada no arquivo, são 3 níveis e o nível i tem quantum base * 2^i.
+public final class NiveisMLFQ {
+
+    public static final int NIVEIS_PADRAO = 3;
+    public static final int MAX_NIVEIS = 64; // Um bit por nível no mapa da FilaMLFQ
+    public static final int PERIODO_BOOST_PADRAO = 100;
+
+    private final int[] quanta;
+    private final int periodoBoost;
+
+    public NiveisMLFQ(int[] quanta, int periodoBoost) {
+        if (quanta.length < 1 || quanta.length > MAX_NIVEIS) {
+            throw new IllegalArgumentException("niveis deve ser entre 1 e " + MAX_NIVEIS + ": " + quanta.length);
+        }
+        for (int i = 0; i < quanta.length; i++) {
+            if (quanta[i] < 1) throw new IllegalArgumentException("quantum do nível " + i + " deve ser pelo menos 1");
+        }
+        if (periodoBoost < 0) throw new IllegalArgumentException("boost não pode ser negativo");
+        this.quanta = quanta.clone();
+        this.periodoBoost = periodoBoost;
+    }
+
+    public static NiveisMLFQ padrao(int quantumBase) {
+        return dobrando(NIVEIS_PADRAO, quantumBase, PERIODO_BOOST_PADRAO);
+    }
+
+    // Quantum dobrando a cada nível, a partir do base (saturado para não estourar o int)
+    public static NiveisMLFQ dobrando(int niveis, int quantumBase, int periodoBoost) {
+        if (niveis < 1 || niveis > MAX_NIVEIS) {
+            throw new IllegalArgumentException("niveis deve ser entre 1 e " + MAX_NIVEIS + ": " + niveis);
+        }
+        int[] quanta = new int[niveis];
+        long q = Math.max(1, quantumBase);
+        for (int i = 0; i < niveis; i++) {
+            quanta[i] = (int) Math.min(q, Integer.MAX_VALUE / 2);
+            q *= 2;
+        }
+        return new NiveisMLFQ(quanta, periodoBoost);
+    }
+
+    // Mesma configuração com o quantum de um nível trocado
+    public NiveisMLFQ comQuantum(int nivel, int quantum) {
+        if (nivel < 0 || nivel >= quanta.length) {
+            throw new IllegalArgumentException("nível " + nivel + " não existe (níveis: " + quanta.length + ")");
+        }
+        int[] novos = quanta.clone();
+        novos[nivel] = quantum;
+        return new NiveisMLFQ(novos, periodoBoost);
+    }
+
+    public int quantidade() { return quanta.length; }
+    public int getQuantum(int nivel) { return quanta[nivel]; }
+    public int getPeriodoBoost() { return periodoBoost; }
+
+    public boolean ehTickDeBoost(int tick) {
+        return periodoBoost > 0 && tick > 0 && tick % periodoBoost == 0;
+    }
+
+    // Primeiro boost depois de tick (Integer.MAX_VALUE se não há boost)
+    public int proximoBoost(int tick) {
+        if (periodoBoost == 0) return Integer.MAX_VALUE;
+        long proximo = ((long) tick / periodoBoost + 1) * periodoBoost;
+        return (int) Math.min(proximo, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return "quanta=" + Arrays.toString(quanta) + (periodoBoost > 0 ? ", boost=" + periodoBoost : ", sem boost");
+    }
+}
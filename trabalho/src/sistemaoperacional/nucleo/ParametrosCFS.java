@@ -0,0 +1,45 @@
+package sistemaoperacional.nucleo;
+
+// Configuração do escalonador completamente justo (CFS): a latência alvo é o período em que toda
+// tarefa pronta deve rodar uma vez, dividido entre elas na proporção do peso; a granularidade é a
+// menor fatia dada a uma tarefa (com muitas tarefas o período cresce em vez de a fatia encolher).
+// A granularidade também é quanto a tarefa atual pode estar "à frente" de uma que acorda antes de
+// ser preemptada, e metade da latência é o crédito máximo de quem volta de um bloqueio.
+public final class ParametrosCFS {
+
+    public static final int LATENCIA_PADRAO = 20;
+    public static final int GRANULARIDADE_PADRAO = 2;
+
+    private final int latencia;
+    private final int granularidade;
+
+    public ParametrosCFS(int latencia, int granularidade) {
+        if (granularidade < 1) throw new IllegalArgumentException("granularidade deve ser pelo menos 1");
+        if (latencia < granularidade) throw new IllegalArgumentException("latencia não pode ser menor que a granularidade");
+        this.latencia = latencia;
+        this.granularidade = granularidade;
+    }
+
+    public static ParametrosCFS padrao() {
+        return new ParametrosCFS(LATENCIA_PADRAO, GRANULARIDADE_PADRAO);
+    }
+
+    public int getLatencia() { return latencia; }
+    public int getGranularidade() { return granularidade; }
+
+    // Fatia de uma tarefa de peso dado entre tarefas somando pesoTotal (ela inclusa)
+    public int fatia(int peso, long pesoTotal, long tarefas) {
+        long periodo = Math.max(latencia, tarefas * granularidade);
+        long fatia = periodo * peso / Math.max(pesoTotal, peso);
+        return (int) Math.max(granularidade, Math.min(fatia, Integer.MAX_VALUE / 2));
+    }
+
+    // Granularidade e crédito de quem acorda, em unidades de vruntime (ver FilaCFS.ESCALA_VRUNTIME)
+    public long granularidadeVirtual() { return granularidade * FilaCFS.ESCALA_VRUNTIME; }
+    public long creditoAoAcordar() { return latencia * FilaCFS.ESCALA_VRUNTIME / 2; }
+
+    @Override
+    public String toString() {
+        return "latencia=" + latencia + ", granularidade=" + granularidade;
+    }
+}
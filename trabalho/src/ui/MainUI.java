@@ -1,5 +1,7 @@
 package ui;
 
+import modelo.ContadoresEstado;
+
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
@@ -10,12 +12,16 @@ public class MainUI extends JFrame {
     private final SimuladorUIControlador controlador;
     private final JComboBox<String> algoritmoCombo;
     private final JSpinner quantumSpinner;
+    private final JSpinner nucleosSpinner;
     private final JButton carregarButton, carregarExemploButton, startStopButton, tickButton, runButton, exportarButton;
+    private final JButton pausarButton, cancelarButton, exportarMetricasButton;
+    private final JProgressBar progressoBar;
     private final JTable tabelaTarefas;
     private final PainelGantt painelGantt;
     private final JLabel statusSoLabel;
     private final JLabel statusAlgLabel;
     private final JLabel statusQuantumLabel;
+    private final JLabel statusContadoresLabel;
 
     public MainUI() {
         super("Simulador de Escalonamento de Tarefas - Projeto A");
@@ -33,6 +39,7 @@ public class MainUI extends JFrame {
 
         algoritmoCombo = new JComboBox<>(new String[]{"FIFO", "SRTF", "PRIORIDADE_PREEMPTIVO"});
         quantumSpinner = new JSpinner(new SpinnerNumberModel(2, 1, 100, 1));
+        nucleosSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 256, 1));
         carregarButton = new JButton("Carregar Arquivo");
         carregarExemploButton = new JButton("Carregar Exemplo"); // << novo
         startStopButton = new JButton("Iniciar Simulação"); // Depois vira o botao de finalizar simulacao
@@ -51,6 +58,8 @@ public class MainUI extends JFrame {
         //configPanel.add(quantumSpinner);
         configPanel.add(carregarButton);
         configPanel.add(carregarExemploButton);
+        configPanel.add(new JLabel("Núcleos:"));
+        configPanel.add(nucleosSpinner);
         configPanel.add(startStopButton);
         configPanel.add(new JLabel("SO:"));
         configPanel.add(statusSoLabel);
@@ -88,10 +97,26 @@ public class MainUI extends JFrame {
         tickButton = new JButton("Executar Tick");
         runButton = new JButton("Executar até o fim");
         exportarButton = new JButton("Exportar PNG");
+        exportarMetricasButton = new JButton("Exportar Métricas");
+        // Só durante "Executar até o fim", que roda fora da EDT
+        pausarButton = new JButton("Pausar");
+        cancelarButton = new JButton("Cancelar");
+        progressoBar = new JProgressBar(0, 1000);
+        progressoBar.setStringPainted(true);
+        progressoBar.setString("-");
+
+        statusContadoresLabel = new JLabel("-");
 
         controlPanel.add(tickButton);
         controlPanel.add(runButton);
+        controlPanel.add(pausarButton);
+        controlPanel.add(cancelarButton);
         controlPanel.add(exportarButton);
+        controlPanel.add(exportarMetricasButton);
+        controlPanel.add(Box.createHorizontalStrut(20));
+        controlPanel.add(progressoBar);
+        controlPanel.add(Box.createHorizontalStrut(10));
+        controlPanel.add(statusContadoresLabel);
 
         add(controlPanel, BorderLayout.SOUTH);
 
@@ -102,7 +127,8 @@ public class MainUI extends JFrame {
             if (!controlador.isExecutando()) {
                 controlador.iniciarSimulacao(
                         (String) algoritmoCombo.getSelectedItem(),
-                        (Integer) quantumSpinner.getValue()
+                        (Integer) quantumSpinner.getValue(),
+                        (Integer) nucleosSpinner.getValue()
                 );
             } else {
                 controlador.finalizarSimulacao();
@@ -110,7 +136,10 @@ public class MainUI extends JFrame {
         });
         tickButton.addActionListener(e -> controlador.executarTick());
         runButton.addActionListener(e -> controlador.executarAteFim());
+        pausarButton.addActionListener(e -> controlador.pausarOuContinuar());
+        cancelarButton.addActionListener(e -> controlador.cancelarExecucao());
         exportarButton.addActionListener(e -> controlador.exportarGanttComoImagem());
+        exportarMetricasButton.addActionListener(e -> controlador.exportarMetricas());
 
         setEstadoSO(false);
         setVisible(true);
@@ -149,20 +178,47 @@ public class MainUI extends JFrame {
             // Durante execução, evita trocar algoritmo/quantum
             algoritmoCombo.setEnabled(false);
             quantumSpinner.setEnabled(false);
+            nucleosSpinner.setEnabled(false);
             carregarButton.setEnabled(false);
             // A UI permite tick a tick e run-to-end durante execução
             tickButton.setEnabled(true);
             runButton.setEnabled(true);
+            exportarMetricasButton.setEnabled(true);
         } else {
             statusSoLabel.setText("● Parado");
             statusSoLabel.setForeground(new Color(200, 0, 0)); // vermelho
             startStopButton.setText("Iniciar Simulação");
             algoritmoCombo.setEnabled(true);
             quantumSpinner.setEnabled(true);
+            nucleosSpinner.setEnabled(true);
             carregarButton.setEnabled(true);
             tickButton.setEnabled(false);
             runButton.setEnabled(false);
+            exportarMetricasButton.setEnabled(false);
         }
+        pausarButton.setEnabled(false);
+        cancelarButton.setEnabled(false);
+    }
+
+    // Enquanto a simulação roda em segundo plano só valem pausar, cancelar e exportar
+    public void setExecucaoEmAndamento(boolean emAndamento) {
+        startStopButton.setEnabled(!emAndamento);
+        carregarExemploButton.setEnabled(!emAndamento);
+        tickButton.setEnabled(!emAndamento);
+        runButton.setEnabled(!emAndamento);
+        exportarMetricasButton.setEnabled(!emAndamento); // Lê os TCBs, que o núcleo está mexendo
+        pausarButton.setEnabled(emAndamento);
+        cancelarButton.setEnabled(emAndamento);
+        setPausado(false);
+    }
+
+    public void setPausado(boolean pausado) {
+        pausarButton.setText(pausado ? "Continuar" : "Pausar");
+    }
+
+    public void setProgresso(int finalizadas, int total, int tick) {
+        progressoBar.setValue(total > 0 ? (int) (1000L * finalizadas / total) : 0);
+        progressoBar.setString(finalizadas + "/" + total + " tarefas | tick " + tick);
     }
 
     // setters auxiliares para sincronizar os campos de seleção
@@ -172,12 +228,19 @@ public class MainUI extends JFrame {
     public void setQuantumNaUI(int q) {
         quantumSpinner.setValue(q);
     }
+    public void setNucleosNaUI(int n) {
+        nucleosSpinner.setValue(n);
+    }
 
     // NOVOS: controlar a exibição do algoritmo/quantum carregados
     public void setAlgoritmoStatus(String algoritmo, Integer quantum) {
         statusAlgLabel.setText(algoritmo != null ? algoritmo : "-");
         statusQuantumLabel.setText(quantum != null ? String.valueOf(quantum) : "-");
     }
+    // Quantidade de tarefas por estado (vem pronta do SO, sem percorrer a lista de TCBs)
+    public void setContadoresStatus(ContadoresEstado contadores) {
+        statusContadoresLabel.setText(contadores != null ? contadores.toString() : "-");
+    }
     public void clearAlgoritmoStatus() {
         statusAlgLabel.setText("-");
         statusQuantumLabel.setText("-");
@@ -1,166 +1,562 @@
 package ui;
 
-import modelo.TCB;
 import modelo.EstadoTarefa;
+import modelo.HistoricoEstados;
+import modelo.HistoricoNucleos;
+import modelo.LinhaDoNucleo;
+import modelo.LinhaDoTempo;
+import modelo.TCB;
+import modelo.Tarefa;
+import modelo.TransicoesEstado;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.*;
 import java.util.List;
 import javax.imageio.ImageIO;
 
+// Gráfico de Gantt com rolagem e zoom.
+// Só a janela visível (ticks e linhas) é desenhada, então o custo de cada repaint não depende
+// do tamanho da simulação:
+//  - com zoom suficiente (LARGURA_MINIMA_CELULA px ou mais por tick) cada tick é uma célula;
+//  - com menos zoom, cada coluna de pixels resume o intervalo de ticks que cobre, pintada com o
+//    estado em que a tarefa passou mais tempo (contagem em O(log n) pela LinhaDoTempo).
+// Controles: barras de rolagem, roda do mouse (Shift = horizontal, Ctrl = zoom no ponteiro),
+// botões de zoom, "Ajustar" (tudo na largura da tela) e "Acompanhar" (segue o último tick).
+// "Por núcleo" troca as linhas das tarefas por uma linha por CPU, com a tarefa que ocupou cada tick.
+// Tarefa com prazo que termina depois dele ganha uma marca vermelha no tick do prazo (visão por tarefa).
 public class PainelGantt extends JPanel {
 
-    // Histórico do Gantt
-    private final Map<String, List<Byte>> hist = new LinkedHashMap<>();
+    private static final int MARGEM_ESQ = 80;
+    private static final int MARGEM_TOP = 30;
+    private static final int MARGEM_INF = 40;
+    private static final int MARGEM_DIR = 20;
+    private static final int ALTURA_MINIMA_LINHA = 25;
+    private static final int LARGURA_MINIMA_CELULA = 6;
+    private static final double ZOOM_MAXIMO = 64.0; // pixels por tick
+    private static final Color COR_PRONTA = new Color(180, 180, 180);
+    private static final Color COR_BLOQUEADA = Color.BLACK;
+    private static final Color COR_SOBRECARGA = new Color(255, 140, 0); // Troca de contexto/despacho
+    private static final Color COR_PRAZO_PERDIDO = new Color(220, 0, 0);
+
+    // Histórico do Gantt (compactado em trechos, ver HistoricoEstados)
+    private final HistoricoEstados hist = new HistoricoEstados();
+    private final HistoricoNucleos nucleos = new HistoricoNucleos();
+    private boolean porNucleo = false;     // Uma linha por CPU em vez de uma por tarefa
     private final Map<String, Color> coresTarefas = new HashMap<>();
+    private final Map<String, Color> coresPorHex = new HashMap<>();
+    private final Map<String, Integer> prazosPerdidos = new HashMap<>(); // Id da tarefa -> prazo absoluto
     private int tickAtual = 0;
 
+    // Janela visível
+    private boolean ajustarATela = true;   // Zoom automático: todos os ticks cabem na largura
+    private double pixelsPorTick = LARGURA_MINIMA_CELULA;
+    private int primeiroTick = 0;
+    private int primeiraLinha = 0;
+    private boolean acompanhar = true;     // Rola sozinho para mostrar o último tick
+
+    private final AreaGantt area = new AreaGantt();
+    private final JScrollBar barraHorizontal = new JScrollBar(JScrollBar.HORIZONTAL);
+    private final JScrollBar barraVertical = new JScrollBar(JScrollBar.VERTICAL);
+    private final JCheckBox acompanharCheck = new JCheckBox("Acompanhar", true);
+    private final JLabel zoomLabel = new JLabel();
+    private final JComboBox<String> visaoCombo = new JComboBox<>(new String[]{"Por tarefa", "Por núcleo"});
+    private boolean ajustandoBarras = false; // Mudanças feitas pelo código não contam como rolagem do usuário
+    private double zoomDoRotulo = -1;
+
     public PainelGantt() {
+        super(new BorderLayout());
         setBackground(Color.WHITE);
+
+        JButton menosZoom = new JButton("-");
+        JButton maisZoom = new JButton("+");
+        JButton ajustar = new JButton("Ajustar");
+        menosZoom.addActionListener(e -> zoom(0.5, area.larguraUtil() / 2));
+        maisZoom.addActionListener(e -> zoom(2.0, area.larguraUtil() / 2));
+        ajustar.addActionListener(e -> {
+            ajustarATela = true;
+            atualizarBarras();
+        });
+        acompanharCheck.addActionListener(e -> {
+            acompanhar = acompanharCheck.isSelected();
+            atualizarBarras();
+        });
+        visaoCombo.addActionListener(e -> {
+            porNucleo = visaoCombo.getSelectedIndex() == 1;
+            primeiraLinha = 0;
+            atualizarBarras();
+        });
+
+        JPanel ferramentas = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        ferramentas.setOpaque(false);
+        ferramentas.add(new JLabel("Zoom:"));
+        ferramentas.add(menosZoom);
+        ferramentas.add(maisZoom);
+        ferramentas.add(ajustar);
+        ferramentas.add(acompanharCheck);
+        ferramentas.add(zoomLabel);
+        ferramentas.add(visaoCombo);
+
+        add(ferramentas, BorderLayout.NORTH);
+        add(area, BorderLayout.CENTER);
+        add(barraHorizontal, BorderLayout.SOUTH);
+        add(barraVertical, BorderLayout.EAST);
+
+        barraHorizontal.addAdjustmentListener(e -> {
+            if (ajustandoBarras) return;
+            primeiroTick = e.getValue();
+            // Voltar para o fim religa o acompanhamento; rolar para trás desliga
+            acompanhar = primeiroTick + barraHorizontal.getVisibleAmount() >= barraHorizontal.getMaximum();
+            acompanharCheck.setSelected(acompanhar);
+            area.repaint();
+        });
+        barraVertical.addAdjustmentListener(e -> {
+            if (ajustandoBarras) return;
+            primeiraLinha = e.getValue();
+            area.repaint();
+        });
+        area.addMouseWheelListener(this::rodaDoMouse);
+        area.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                atualizarBarras();
+            }
+        });
+        atualizarBarras();
     }
 
     public void clear(){
-        hist.clear();
+        hist.limpar();
+        nucleos.limpar();
         coresTarefas.clear();
+        coresPorHex.clear();
+        prazosPerdidos.clear();
         tickAtual = 0;
-        repaint();
+        primeiroTick = 0;
+        primeiraLinha = 0;
+        atualizarBarras();
+    }
+
+    public HistoricoEstados getHistorico() {
+        return hist;
+    }
+
+    public HistoricoNucleos getHistoricoNucleos() {
+        return nucleos;
     }
 
-    public void atualizarGantt(ArrayList<TCB> tarefas, int tickDoSO) {
+    // Mostra todas as CPUs na visão por núcleo (mesmo as que nunca rodaram nada);
+    // com mais de uma, ela passa a ser a visão inicial
+    public void setQuantidadeNucleos(int quantidade) {
+        nucleos.garantirNucleos(quantidade);
+        visaoCombo.setSelectedIndex(quantidade > 1 ? 1 : 0);
+    }
+
+    // Aplica só as transições acumuladas desde a última atualização e as consome.
+    // Todas entram no tick do retrato: se uma tarefa mudou várias vezes entre duas atualizações,
+    // fica o último estado, como se o Gantt tivesse olhado todas as tarefas nesse tick.
+    public void atualizarGantt(TransicoesEstado transicoes, int tickDoSO) {
+        for (int i = 0; i < transicoes.quantidade(); i++) {
+            registrar(transicoes.getTCB(i), tickDoSO, transicoes.getEstado(i), transicoes.getNucleo(i));
+        }
+        transicoes.limpar();
+        avancar(tickDoSO);
+    }
+
+    // Aplica um lote de vários passos (ver TransicoesEstado.moverPara), cada transição no seu tick,
+    // e estende o histórico até tickDoSO
+    public void aplicarTransicoes(TransicoesEstado transicoes, int tickDoSO) {
+        for (int i = 0; i < transicoes.quantidade(); i++) {
+            registrar(transicoes.getTCB(i), transicoes.getTick(i), transicoes.getEstado(i), transicoes.getNucleo(i));
+        }
+        avancar(tickDoSO);
+    }
+
+    private void registrar(TCB tcb, int tick, EstadoTarefa estado, int nucleo) {
+        Tarefa tarefa = tcb.getTarefa();
+        String id = tarefa.getId();
+        if (hist.getLinha(id) == null) {
+            // Primeira aparição da tarefa: a cor é decodificada uma vez (e compartilhada por hex)
+            coresTarefas.put(id, coresPorHex.computeIfAbsent(tarefa.getCorHex(), PainelGantt::decodificarCor));
+        }
+        hist.registrar(id, tick, estado);
+        nucleos.registrar(id, nucleo, tick, estado);
+        // O término exato vem do TCB (no retrato, tick é o da atualização)
+        if (estado == EstadoTarefa.FINALIZADA && tarefa.temPrazo() && tcb.getTickTermino() + 1 > tarefa.getPrazoAbsoluto()) {
+            prazosPerdidos.put(id, tarefa.getPrazoAbsoluto());
+        }
+    }
+
+    private void avancar(int tickDoSO) {
         this.tickAtual = tickDoSO;
+        hist.avancar(tickDoSO);
+        atualizarBarras();
+    }
 
-        for (TCB t : tarefas) {
-            String id = t.getTarefa().getId();
-            hist.putIfAbsent(id, new ArrayList<>());
-
-            // MODIFICADO: Decodifica a cor hexadecimal da tarefa
-            if (!coresTarefas.containsKey(id)) {
-                String hex = t.getTarefa().getCorHex();
-                Color cor;
-                try {
-                    // Converte "F0E0D0" para int e cria a cor
-                    cor = new Color(Integer.parseInt(hex, 16));
-                } catch (Exception e) {
-                    cor = Color.DARK_GRAY; // Fallback se o hex for inválido
-                }
-                coresTarefas.put(id, cor);
-            }
+    // Converte "F0E0D0" para a cor; hex inválido vira cinza escuro
+    private static Color decodificarCor(String hex) {
+        try {
+            return new Color(Integer.parseInt(hex, 16));
+        } catch (Exception e) {
+            return Color.DARK_GRAY;
         }
+    }
 
-        for (Map.Entry<String, List<Byte>> e : hist.entrySet()) {
-            String id = e.getKey();
-            List<Byte> linha = e.getValue();
+    // --- Janela visível ---
 
-            while (linha.size() < tickDoSO) linha.add((byte)0);
+    private int totalTicks() {
+        return tickAtual + 1;
+    }
 
-            byte estadoTick = 0;
-            TCB achada = null;
-            for (TCB t : tarefas) {
-                if (t.getTarefa().getId().equals(id)) { achada = t; break; }
-            }
-            if (achada != null) {
-                if (achada.getEstadoTarefa() == EstadoTarefa.EXECUTANDO) estadoTick = 2;
-                else if (achada.getEstadoTarefa() == EstadoTarefa.PRONTA) estadoTick = 1;
-                else if (achada.getEstadoTarefa() == EstadoTarefa.BLOQUEADA) estadoTick = 3;
-            }
+    private double pixelsPorTickEfetivo() {
+        if (ajustarATela) return Math.min(ZOOM_MAXIMO, (double) area.larguraUtil() / totalTicks());
+        return pixelsPorTick;
+    }
+
+    private int ticksVisiveis() {
+        return Math.max(1, (int) Math.ceil(area.larguraUtil() / pixelsPorTickEfetivo()));
+    }
+
+    // Multiplica o zoom mantendo parado o tick que está na coluna xAncora
+    private void zoom(double fator, int xAncora) {
+        double atual = pixelsPorTickEfetivo();
+        double minimo = Math.min(LARGURA_MINIMA_CELULA, (double) area.larguraUtil() / totalTicks());
+        double novo = Math.max(minimo, Math.min(ZOOM_MAXIMO, atual * fator));
+        double tickAncora = primeiroTick + xAncora / atual;
+
+        ajustarATela = false;
+        pixelsPorTick = novo;
+        primeiroTick = (int) Math.max(0, Math.round(tickAncora - xAncora / novo));
+        acompanhar = false;
+        acompanharCheck.setSelected(false);
+        atualizarBarras();
+    }
 
-            if (linha.size() == tickDoSO) linha.add(estadoTick);
-            else linha.set(tickDoSO, estadoTick);
+    private void rodaDoMouse(MouseWheelEvent e) {
+        int passos = e.getWheelRotation();
+        if (e.isControlDown()) {
+            zoom(passos < 0 ? 2.0 : 0.5, Math.max(0, e.getX() - MARGEM_ESQ));
+        } else if (e.isShiftDown()) {
+            barraHorizontal.setValue(barraHorizontal.getValue() + passos * Math.max(1, ticksVisiveis() / 10));
+        } else {
+            barraVertical.setValue(barraVertical.getValue() + passos);
         }
-        repaint();
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    // Recalcula limites e posição das barras (e do início da janela) depois de qualquer mudança
+    private void atualizarBarras() {
+        int total = totalTicks();
+        int visiveis = Math.min(total, ticksVisiveis());
+        if (ajustarATela) {
+            primeiroTick = 0;
+        } else if (acompanhar) {
+            primeiroTick = Math.max(0, total - visiveis);
+        }
+        primeiroTick = Math.max(0, Math.min(primeiroTick, total - visiveis));
+
+        int linhas = quantidadeLinhas();
+        int linhasVisiveis = Math.min(linhas, area.linhasVisiveis());
+        primeiraLinha = Math.max(0, Math.min(primeiraLinha, linhas - linhasVisiveis));
 
-        if (hist.isEmpty()) {
-            g.setColor(Color.GRAY);
-            g.drawString("O gráfico de Gantt será exibido aqui durante a execução.", 50, 50);
-            return;
+        ajustandoBarras = true;
+        try {
+            barraHorizontal.setValues(primeiroTick, visiveis, 0, total);
+            barraHorizontal.setBlockIncrement(Math.max(1, visiveis - 1));
+            barraHorizontal.setUnitIncrement(Math.max(1, visiveis / 20));
+            barraVertical.setValues(primeiraLinha, Math.max(1, linhasVisiveis), 0, Math.max(1, linhas));
+            barraVertical.setBlockIncrement(Math.max(1, linhasVisiveis - 1));
+        } finally {
+            ajustandoBarras = false;
         }
 
-        Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        double ppt = pixelsPorTickEfetivo();
+        if (ppt != zoomDoRotulo) {
+            zoomDoRotulo = ppt;
+            zoomLabel.setText(ppt >= 1 ? String.format("%.1f px/tick", ppt) : String.format("%.1f ticks/px", 1 / ppt));
+        }
+        area.repaint();
+    }
 
-        int altura = getHeight();
-        int largura = getWidth();
-        int margemEsq = 80;
-        int margemTop = 30;
-        int margemInf = 40;
-        int margemDir = 20;
+    private int quantidadeLinhas() {
+        return porNucleo ? nucleos.quantidadeNucleos() : hist.quantidadeTarefas();
+    }
 
-        int linhas = Math.max(1, hist.size());
-        int linhaAltura = Math.max(25, (altura - margemTop - margemInf - 20) / linhas);
+    // --- Desenho ---
 
-        int numCols = tickAtual + 1;
-        int areaUtil = Math.max(1, largura - margemEsq - margemDir);
-        int tickLargura = Math.max(6, areaUtil / Math.max(1, numCols));
+    private class AreaGantt extends JComponent {
 
-        int linha = 0;
-        for (String id : hist.keySet()) {
-            int y = margemTop + linha * linhaAltura;
-            g2.setColor(new Color(230, 230, 230));
-            g2.drawLine(margemEsq, y, largura - margemDir, y);
-            g2.setColor(Color.BLACK);
-            g2.drawString(id, 20, y + linhaAltura / 2);
-            linha++;
+        private static final long serialVersionUID = 1L;
+
+        AreaGantt() {
+            setOpaque(true);
+            setBackground(Color.WHITE);
+        }
+
+        int larguraUtil() {
+            return Math.max(1, getWidth() - MARGEM_ESQ - MARGEM_DIR);
         }
 
-        linha = 0;
-        for (Map.Entry<String, List<Byte>> entry : hist.entrySet()) {
-            String id = entry.getKey();
-            List<Byte> ticks = entry.getValue();
-            int y = margemTop + linha * linhaAltura + 5;
+        int alturaLinha() {
+            int linhas = Math.max(1, quantidadeLinhas());
+            return Math.max(ALTURA_MINIMA_LINHA, (getHeight() - MARGEM_TOP - MARGEM_INF - 20) / linhas);
+        }
 
-            int maxT = Math.min(numCols, ticks.size());
-            for (int t = 0; t < maxT; t++) {
-                byte estado = ticks.get(t);
-                if (estado == 0) continue;
+        int linhasVisiveis() {
+            return Math.max(1, (getHeight() - MARGEM_TOP - MARGEM_INF) / alturaLinha());
+        }
 
-                int x = margemEsq + t * tickLargura;
-                int bw = tickLargura - 2;
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+
+            if (hist.isEmpty()) {
+                g.setColor(Color.GRAY);
+                g.drawString("O gráfico de Gantt será exibido aqui durante a execução.", 50, 50);
+                return;
+            }
+
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            int largura = getWidth();
+            int altura = getHeight();
+            int linhaAltura = alturaLinha();
+            double ppt = pixelsPorTickEfetivo();
+            int fimTicks = Math.min(totalTicks(), primeiroTick + ticksVisiveis() + 1);
+
+            List<String> ids = hist.getIds();
+            int ultimaLinha = Math.min(quantidadeLinhas(), primeiraLinha + linhasVisiveis());
+
+            for (int linha = primeiraLinha; linha < ultimaLinha; linha++) {
+                int y = MARGEM_TOP + (linha - primeiraLinha) * linhaAltura;
+                g2.setColor(new Color(230, 230, 230));
+                g2.drawLine(MARGEM_ESQ, y, largura - MARGEM_DIR, y);
+                g2.setColor(Color.BLACK);
+                g2.drawString(porNucleo ? "CPU " + linha : ids.get(linha), 20, y + linhaAltura / 2);
+            }
+
+            Shape clipOriginal = g2.getClip();
+            g2.clipRect(MARGEM_ESQ, 0, larguraUtil(), altura);
+            for (int linha = primeiraLinha; linha < ultimaLinha; linha++) {
+                int y = MARGEM_TOP + (linha - primeiraLinha) * linhaAltura + 5;
                 int bh = linhaAltura - 10;
+                if (porNucleo) {
+                    if (ppt >= LARGURA_MINIMA_CELULA) {
+                        desenharCelulasNucleo(g2, nucleos.getLinha(linha), y, bh, ppt, fimTicks);
+                    } else {
+                        desenharResumoNucleo(g2, nucleos.getLinha(linha), y, bh, ppt, fimTicks);
+                    }
+                    continue;
+                }
+                String id = ids.get(linha);
+                Color corExecutando = coresTarefas.getOrDefault(id, Color.GRAY);
+                if (ppt >= LARGURA_MINIMA_CELULA) {
+                    desenharCelulas(g2, hist.getLinha(id), corExecutando, y, bh, ppt, fimTicks);
+                } else {
+                    desenharResumo(g2, hist.getLinha(id), corExecutando, y, bh, ppt, fimTicks);
+                }
+                Integer prazo = prazosPerdidos.get(id);
+                if (prazo != null && prazo >= primeiroTick && prazo < fimTicks) desenharPrazoPerdido(g2, prazo, y, bh, ppt);
+            }
+            g2.setClip(clipOriginal);
+
+            desenharEixo(g2, largura, altura, ppt, fimTicks);
+        }
+
+        private int xDoTick(double tick, double ppt) {
+            return MARGEM_ESQ + (int) Math.round((tick - primeiroTick) * ppt);
+        }
 
-                if (x >= largura - margemDir) break;
-                if (x + bw > largura - margemDir) bw = (largura - margemDir) - x;
+        // Zoom alto: uma célula com borda por tick, percorrendo só os trechos visíveis
+        private void desenharCelulas(Graphics2D g2, LinhaDoTempo linha, Color corExecutando,
+                                     int y, int bh, double ppt, int fimTicks) {
+            for (int i = linha.primeiroTrechoAPartirDe(primeiroTick); i < linha.quantidadeTrechos(); i++) {
+                int inicio = linha.getInicioTrecho(i);
+                if (inicio >= fimTicks) break;
+                Color cor = corDoEstado(linha.getEstadoTrecho(i), corExecutando);
+                if (cor == null) continue;
 
-                if (estado == 2) {
-                    Color cor = coresTarefas.getOrDefault(id, Color.GRAY);
+                int fim = Math.min(fimTicks, inicio + linha.getComprimentoTrecho(i));
+                for (int t = Math.max(inicio, primeiroTick); t < fim; t++) {
+                    int x = xDoTick(t, ppt);
+                    int bw = xDoTick(t + 1, ppt) - x - 2;
                     g2.setColor(cor);
-                } else if (estado == 1) { // 1 = PRONTA
-                    g2.setColor(new Color(180, 180, 180));
-                } else if (estado == 3) { // 3 = BLOQUEADA (NOVO)
-                    g2.setColor(Color.BLACK); // Ou Color.BLACK
+                    g2.fillRect(x, y, bw, bh);
+                    g2.setColor(Color.BLACK);
+                    g2.drawRect(x, y, bw, bh);
                 }
+            }
+        }
 
-                g2.fillRect(x, y, bw, bh);
-                g2.setColor(Color.BLACK);
-                g2.drawRect(x, y, bw, bh);
+        // Linha vermelha no início do tick do prazo (a tarefa devia ter terminado antes dele), com um
+        // triângulo em cima para achar a marca com pouco zoom
+        private void desenharPrazoPerdido(Graphics2D g2, int prazo, int y, int bh, double ppt) {
+            int x = xDoTick(prazo, ppt);
+            g2.setColor(COR_PRAZO_PERDIDO);
+            g2.setStroke(new BasicStroke(2f));
+            g2.drawLine(x, y - 3, x, y + bh + 3);
+            g2.setStroke(new BasicStroke(1f));
+            g2.fillPolygon(new int[]{x - 4, x + 4, x}, new int[]{y - 5, y - 5, y + 1}, 3);
+        }
+
+        // Zoom baixo: cada coluna de pixels recebe a cor do estado predominante no intervalo que cobre;
+        // colunas vizinhas da mesma cor viram um único retângulo
+        private void desenharResumo(Graphics2D g2, LinhaDoTempo linha, Color corExecutando,
+                                    int y, int bh, double ppt, int fimTicks) {
+            int largura = larguraUtil();
+            Color corTrecho = null;
+            int xTrecho = 0;
+            for (int coluna = 0; coluna <= largura; coluna++) {
+                Color cor = null;
+                if (coluna < largura) {
+                    int de = (int) Math.floor(primeiroTick + coluna / ppt);
+                    int ate = Math.min(fimTicks, Math.max(de + 1, (int) Math.floor(primeiroTick + (coluna + 1) / ppt)));
+                    if (de < fimTicks) cor = corDoEstado(estadoPredominante(linha, de, ate), corExecutando);
+                }
+                if (!Objects.equals(cor, corTrecho)) {
+                    if (corTrecho != null) {
+                        g2.setColor(corTrecho);
+                        g2.fillRect(MARGEM_ESQ + xTrecho, y, coluna - xTrecho, bh);
+                    }
+                    corTrecho = cor;
+                    xTrecho = coluna;
+                }
+            }
+        }
+
+        // Visão por núcleo, zoom alto: célula na cor da tarefa (laranja na sobrecarga), com o id
+        // dentro quando cabe; tick livre fica em branco
+        private void desenharCelulasNucleo(Graphics2D g2, LinhaDoNucleo linha, int y, int bh, double ppt, int fimTicks) {
+            FontMetrics fm = g2.getFontMetrics();
+            for (int i = linha.primeiroTrechoAPartirDe(primeiroTick); i < linha.quantidadeTrechos(); i++) {
+                int inicio = linha.getInicioTrecho(i);
+                if (inicio >= fimTicks) break;
+                int ocupante = linha.getOcupanteTrecho(i);
+                if (ocupante == LinhaDoNucleo.LIVRE) continue;
+                Color cor = corDoOcupante(ocupante);
+
+                int de = Math.max(inicio, primeiroTick);
+                int fim = Math.min(fimTicks, linha.getFimTrecho(i));
+                for (int t = de; t < fim; t++) {
+                    int x = xDoTick(t, ppt);
+                    int bw = xDoTick(t + 1, ppt) - x - 2;
+                    g2.setColor(cor);
+                    g2.fillRect(x, y, bw, bh);
+                    g2.setColor(Color.BLACK);
+                    g2.drawRect(x, y, bw, bh);
+                }
+                String id = nucleos.getId(ocupante);
+                int x = xDoTick(de, ppt);
+                if (!HistoricoNucleos.ehSobrecarga(ocupante) && fm.stringWidth(id) + 4 <= xDoTick(fim, ppt) - x) {
+                    g2.drawString(id, x + 2, y + (bh + fm.getAscent()) / 2 - 1);
+                }
+            }
+        }
+
+        // Visão por núcleo, zoom baixo: cada coluna de pixels mostra quem ocupava o núcleo no início
+        // do intervalo que ela cobre (amostra em O(log n); colunas iguais viram um retângulo só)
+        private void desenharResumoNucleo(Graphics2D g2, LinhaDoNucleo linha, int y, int bh, double ppt, int fimTicks) {
+            int largura = larguraUtil();
+            Color corTrecho = null;
+            int xTrecho = 0;
+            for (int coluna = 0; coluna <= largura; coluna++) {
+                Color cor = null;
+                if (coluna < largura) {
+                    int tick = (int) Math.floor(primeiroTick + coluna / ppt);
+                    int ocupante = tick < fimTicks ? linha.ocupanteEm(tick) : LinhaDoNucleo.LIVRE;
+                    if (ocupante != LinhaDoNucleo.LIVRE) cor = corDoOcupante(ocupante);
+                }
+                if (!Objects.equals(cor, corTrecho)) {
+                    if (corTrecho != null) {
+                        g2.setColor(corTrecho);
+                        g2.fillRect(MARGEM_ESQ + xTrecho, y, coluna - xTrecho, bh);
+                    }
+                    corTrecho = cor;
+                    xTrecho = coluna;
+                }
+            }
+        }
+
+        private Color corDoOcupante(int ocupante) {
+            if (HistoricoNucleos.ehSobrecarga(ocupante)) return COR_SOBRECARGA;
+            return coresTarefas.getOrDefault(nucleos.getId(ocupante), Color.GRAY);
+        }
+
+        private EstadoTarefa estadoPredominante(LinhaDoTempo linha, int de, int ate) {
+            int executando = linha.ticksNoEstado(EstadoTarefa.EXECUTANDO, de, ate);
+            int bloqueada = linha.ticksNoEstado(EstadoTarefa.BLOQUEADA, de, ate);
+            int pronta = linha.ticksNoEstado(EstadoTarefa.PRONTA, de, ate);
+            int despachando = linha.ticksNoEstado(EstadoTarefa.DESPACHANDO, de, ate);
+            if (executando == 0 && bloqueada == 0 && pronta == 0 && despachando == 0) return null;
+            // Empates favorecem a execução, que é o que mais interessa ver no Gantt, e depois a sobrecarga
+            int ocupada = Math.max(bloqueada, pronta);
+            if (executando >= despachando && executando >= ocupada) return EstadoTarefa.EXECUTANDO;
+            if (despachando >= ocupada) return EstadoTarefa.DESPACHANDO;
+            return bloqueada >= pronta ? EstadoTarefa.BLOQUEADA : EstadoTarefa.PRONTA;
+        }
+
+        private Color corDoEstado(EstadoTarefa estado, Color corExecutando) {
+            if (estado == null) return null;
+            switch (estado) {
+                case EXECUTANDO: return corExecutando;
+                case PRONTA: return COR_PRONTA;
+                case DESPACHANDO: return COR_SOBRECARGA;
+                case BLOQUEADA: return COR_BLOQUEADA;
+                default: return null; // NOVA / FINALIZADA não aparecem
             }
-            linha++;
         }
 
-        int yEixo = altura - margemInf;
-        g2.setColor(Color.BLACK);
-        g2.drawLine(margemEsq, yEixo, largura - margemDir, yEixo);
+        private void desenharEixo(Graphics2D g2, int largura, int altura, double ppt, int fimTicks) {
+            int yEixo = altura - MARGEM_INF;
+            g2.setColor(Color.BLACK);
+            g2.drawLine(MARGEM_ESQ, yEixo, largura - MARGEM_DIR, yEixo);
 
-        for (int t = 0; t < numCols; t++) {
-            int x = margemEsq + t * tickLargura;
-            if (x > largura - margemDir) break;
-            g2.drawLine(x, yEixo - 5, x, yEixo + 5);
-            if (t % 5 == 0 || t == tickAtual) g2.drawString(String.valueOf(t), x - 5, yEixo + 20);
+            // Rótulos a pelo menos ~40 px de distância, em passos 1-2-5
+            int passo = passoDoEixo(40 / ppt);
+            if (ppt >= LARGURA_MINIMA_CELULA) passo = Math.max(5, passo);
+            int primeiro = (primeiroTick + passo - 1) / passo * passo;
+
+            if (ppt >= LARGURA_MINIMA_CELULA) {
+                for (int t = primeiroTick; t < fimTicks; t++) {
+                    int x = xDoTick(t, ppt);
+                    if (x > largura - MARGEM_DIR) break;
+                    g2.drawLine(x, yEixo - 5, x, yEixo + 5);
+                }
+            }
+            for (long t = primeiro; t < fimTicks; t += passo) {
+                int x = xDoTick(t, ppt);
+                if (x > largura - MARGEM_DIR) break;
+                g2.drawLine(x, yEixo - 5, x, yEixo + 5);
+                g2.drawString(String.valueOf(t), x - 5, yEixo + 20);
+            }
+            if (tickAtual >= primeiroTick && tickAtual < fimTicks && tickAtual % passo != 0) {
+                int x = xDoTick(tickAtual, ppt);
+                if (x <= largura - MARGEM_DIR) g2.drawString(String.valueOf(tickAtual), x - 5, yEixo + 20);
+            }
+        }
+
+        private int passoDoEixo(double minimo) {
+            long passo = 1;
+            while (true) {
+                for (int m : new int[]{1, 2, 5}) {
+                    if (passo * m >= minimo) return (int) Math.min(Integer.MAX_VALUE, passo * m);
+                }
+                passo *= 10;
+            }
         }
     }
 
     public void exportarComoPNG(File destino) {
         try {
-            BufferedImage image = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+            BufferedImage image = new BufferedImage(area.getWidth(), area.getHeight(), BufferedImage.TYPE_INT_RGB);
             Graphics2D g2 = image.createGraphics();
-            paint(g2);
+            area.paint(g2);
             g2.dispose();
             ImageIO.write(image, "png", destino);
             JOptionPane.showMessageDialog(this, "Imagem exportada com sucesso:\n" + destino);
@@ -173,4 +569,4 @@ public class PainelGantt extends JPanel {
     public void exportarComoPNG(String caminho) {
         exportarComoPNG(new File(caminho));
     }
-}
\ No newline at end of file
+}
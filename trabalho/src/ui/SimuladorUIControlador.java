@@ -1,16 +1,26 @@
 package ui;
 
+import hardware.CustoTroca;
+import modelo.ContadoresEstado;
+import modelo.EstadoTarefa;
 import modelo.Tarefa;
 import modelo.TCB;
-import modelo.Evento;
-import modelo.TipoEvento;
-import simulador.Relogio;
+import modelo.TransicoesEstado;
+import simulador.Log;
+import simulador.NivelLog;
+import simulador.ContextoSimulacao;
+import simulador.ExportadorMetricas;
+import simulador.LeitorDeConfiguracao;
 import sistemaoperacional.SistemaOperacional;
+import sistemaoperacional.nucleo.NiveisMLFQ;
+import sistemaoperacional.nucleo.ParametrosCFS;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import java.io.*;
+import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class SimuladorUIControlador {
 
@@ -20,13 +30,18 @@ public class SimuladorUIControlador {
     private String algoritmo;
     private int quantum;
     private int alpha = 0;
-    private final Relogio relogio;
+    private CustoTroca custoTroca = CustoTroca.SEM_CUSTO;      // Do arquivo de configuração
+    private Map<Integer, CustoTroca> custosPorCpu = Map.of();
+    private int periodoBalanceamento = -1;                      // Do arquivo (-1 = padrão do contexto)
+    private NiveisMLFQ niveisMLFQ;                              // Do arquivo (null = padrão do contexto)
+    private ParametrosCFS parametrosCFS;                        // Idem
+    private ContextoSimulacao contexto; // Relógio e tabelas da simulação em andamento
     private boolean executando;
+    private TrabalhadorSimulacao trabalhador;    // "Executar até o fim" em andamento (null se nenhum)
 
     public SimuladorUIControlador(MainUI ui) {
         this.ui = ui;
         this.tarefas = new ArrayList<>();
-        this.relogio = Relogio.getInstancia();
         executando = false;
     }
 
@@ -37,81 +52,38 @@ public class SimuladorUIControlador {
     public void carregarConfiguracao(String caminho) {
         tarefas.clear();
         this.alpha = 0;
+        this.custoTroca = CustoTroca.SEM_CUSTO;
+        this.custosPorCpu = Map.of();
+        this.periodoBalanceamento = -1;
+        this.niveisMLFQ = null;
+        this.parametrosCFS = null;
 
-        try (BufferedReader br = new BufferedReader(new FileReader(caminho))) {
-            String linha = br.readLine();
-            if (linha == null || linha.isBlank()) {
-                throw new IOException("Arquivo de configuração vazio.");
-            }
-
-            // Primeira linha -> algoritmo; quantum [;alpha]
-            String[] config = linha.split(";");
-            if (config.length < 2)
-                throw new IOException("Primeira linha deve conter algoritmo e quantum.");
-
-            algoritmo = config[0].trim().toUpperCase();
-            quantum = Integer.parseInt(config[1].trim());
-
-            if (config.length >= 3 && !config[2].isBlank()) {
-                try {
-                    alpha = Integer.parseInt(config[2].trim());
-                } catch (NumberFormatException e) {
-                    alpha = 0;
-                }
-            }
-
-            // Linhas seguintes -> tarefas
-            // Formato: id; corHex; ingresso; duracao; prioridade
-            String linhaTarefa;
-            while ((linhaTarefa = br.readLine()) != null) {
-                if (linhaTarefa.isBlank()) continue;
-                String[] partes = linhaTarefa.split(";");
-
-                // O tamanho mínimo continua sendo 5
-                if (partes.length < 5)
-                    throw new IOException("Formato inválido: " + linhaTarefa);
-
-                String id = partes[0].trim();
-                String corHex = partes[1].trim();
-                int inicio = Integer.parseInt(partes[2].trim());
-                int duracao = Integer.parseInt(partes[3].trim());
-                int prioridade = Integer.parseInt(partes[4].trim());
-
-                Tarefa tarefa = new Tarefa(id, corHex, inicio, duracao, prioridade);
-
-                // --- NOVA LÓGICA DE PARSE DE EVENTOS ---
-                // Se houver mais partes na linha, são os eventos (índice 5 em diante)
-                if (partes.length > 5) {
-                    // O requisito diz "lista_eventos", assumindo que podem vir separados por espaço ou vírgula
-                    // mas o split inicial foi por ';'. Se a lista inteira estiver no último campo:
-                    // Exemplo: ...; prioridade; ML01: 02, IO: 05-02
-
-                    // Vamos pegar tudo que sobrou
-                    String eventosString = partes[5].trim();
-
-                    // Separar múltiplos eventos (assumindo separação por vírgula dentro do campo de eventos)
-                    String[] tokensEventos = eventosString.split(",");
-
-                    for (String token : tokensEventos) {
-                        token = token.trim();
-                        if (token.isEmpty()) continue;
-
-                        parseAndAddEvento(tarefa, token);
-                    }
-                }
-                Terminal.println(tarefa.resumo());
-                tarefas.add(tarefa);
-            }
+        try {
+            LeitorDeConfiguracao leitor = new LeitorDeConfiguracao(caminho);
+            tarefas.addAll(leitor.lerTarefas());
+            algoritmo = leitor.getAlgoritmo();
+            quantum = leitor.getQuantum();
+            alpha = leitor.getAlpha();
+            custoTroca = leitor.getCustoTroca();
+            custosPorCpu = leitor.getCustosPorCpu();
+            periodoBalanceamento = leitor.getPeriodoBalanceamento();
+            niveisMLFQ = leitor.getNiveisMLFQ();
+            parametrosCFS = leitor.getParametrosCFS();
 
             String msg = "Configuração carregada!\nAlgoritmo: " + algoritmo +
                     "\nQuantum: " + quantum +
                     (alpha > 0 ? "\nAlpha: " + alpha : "") +
+                    (custoTroca.isSemCusto() && custosPorCpu.isEmpty() ? "" : "\nCusto de troca: " + custoTroca) +
+                    (leitor.getNucleos() > 0 ? "\nNúcleos: " + leitor.getNucleos() : "") +
+                    (niveisMLFQ != null ? "\nNíveis MLFQ: " + niveisMLFQ : "") +
+                    (parametrosCFS != null ? "\nCFS: " + parametrosCFS : "") +
                     "\nTarefas: " + tarefas.size();
 
             JOptionPane.showMessageDialog(null, msg);
 
             ui.setAlgoritmoNaUI(algoritmo);
             ui.setQuantumNaUI(quantum);
+            if (leitor.getNucleos() > 0) ui.setNucleosNaUI(leitor.getNucleos());
             ui.setAlgoritmoStatus(algoritmo, quantum);
 
             atualizarTabelaInicial();
@@ -122,65 +94,12 @@ public class SimuladorUIControlador {
             e.printStackTrace();
         }
 
-        // --- DEBUG: Imprimir eventos carregados ---
-        System.out.println("--- DEBUG: TAREFAS CARREGADAS ---");
-        for(Tarefa t : tarefas) {
-            System.out.println("Tarefa: " + t.getId() + " | Eventos: " + t.getEventos().size());
-            for(modelo.Evento e : t.getEventos()) {
-                System.out.println("   -> " + e.toString());
-            }
-        }
-        System.out.println("---------------------------------");
-    }
-
-    private void parseAndAddEvento(Tarefa tarefa, String token) {
-        // Formatos esperados:
-        // IO: 10: xx-yy (Requisito 3.2 - PDF pag 5) -> "10: 05-02"
-        // Mutex Lock: MLxx: 00 (Requisito 2.2 - PDF pag 5) -> "ML01: 02"
-        // Mutex Unlock: MUxx: 00 (Requisito 2.3 - PDF pag 5) -> "MU01: 05"
-
-        // Normalizar para facilitar
-        token = token.toUpperCase(); // "ML01: 02"
-
-        try {
-            if (token.startsWith("IO")) {
-                // Formato: IO: xx-yy ou 10: xx-yy (O PDF usa '10' como typo de IO provavelmente, ou vice versa, vamos suportar "IO")
-                // Vamos assumir separador ":"
-                String[] splitIO = token.split(":");
-                // splitIO[0] = "IO"
-                // splitIO[1] = " xx-yy"
-
-                if (splitIO.length > 1) {
-                    String[] tempos = splitIO[1].trim().split("-");
-                    int tempoInicio = Integer.parseInt(tempos[0].trim());
-                    int duracao = Integer.parseInt(tempos[1].trim());
-
-                    tarefa.adicionarEvento(new Evento(TipoEvento.IO, tempoInicio, duracao));
-                }
-
-            } else if (token.startsWith("ML")) {
-                // Formato: MLxx: 00
-                String[] splitMutex = token.split(":");
-                // splitMutex[0] = "ML01" -> precisamos extrair o 01
-                String idRecursoStr = splitMutex[0].replace("ML", "").trim();
-                int idRecurso = Integer.parseInt(idRecursoStr);
-
-                int tempo = Integer.parseInt(splitMutex[1].trim());
-
-                tarefa.adicionarEvento(new Evento(TipoEvento.MUTEX_SOLICITACAO, tempo, idRecurso, true));
-
-            } else if (token.startsWith("MU")) {
-                // Formato: MUxx: 00
-                String[] splitMutex = token.split(":");
-                String idRecursoStr = splitMutex[0].replace("MU", "").trim();
-                int idRecurso = Integer.parseInt(idRecursoStr);
-
-                int tempo = Integer.parseInt(splitMutex[1].trim());
-
-                tarefa.adicionarEvento(new Evento(TipoEvento.MUTEX_LIBERACAO, tempo, idRecurso, true));
+        // Uma linha por tarefa, com os eventos
+        if (Log.habilitado(NivelLog.DEBUG)) {
+            Log.debug("--- TAREFAS CARREGADAS ---");
+            for (Tarefa t : tarefas) {
+                Log.debug("{} | Eventos: {}", t.resumo(), t.getEventos());
             }
-        } catch (Exception e) {
-            System.err.println("Erro ao parsear evento: " + token + " -> " + e.getMessage());
         }
     }
 
@@ -194,6 +113,11 @@ public class SimuladorUIControlador {
         this.algoritmo = "RR";
         this.quantum = 2;
         this.alpha = 0;
+        this.custoTroca = CustoTroca.SEM_CUSTO;
+        this.custosPorCpu = Map.of();
+        this.periodoBalanceamento = -1;
+        this.niveisMLFQ = null;
+        this.parametrosCFS = null;
 
         // MODIFICADO: Exemplo agora usa cores HEX
         tarefas.add(new Tarefa("t01", "E74C3C", 0, 5, 3)); // Vermelho
@@ -212,13 +136,21 @@ public class SimuladorUIControlador {
         JOptionPane.showMessageDialog(null, "Exemplo FIFO carregado! (Cores Hex)");
     }
 
-    public void iniciarSimulacao(String algoritmoUI, int quantumUI) {
+    public void iniciarSimulacao(String algoritmoUI, int quantumUI, int nucleos) {
         if(executando) return;
 
         String algoritmoUsado = (algoritmo != null && !algoritmo.isEmpty()) ? algoritmo : algoritmoUI;
         int quantumUsado = (quantum != 0) ? quantum : quantumUI;
 
-        sistema = new SistemaOperacional(tarefas, algoritmoUsado, quantumUsado, alpha, 1);
+        Log.reiniciar(); // Um log por simulação, em vez de acumular todas no mesmo arquivo
+        contexto = new ContextoSimulacao(algoritmoUsado, quantumUsado, alpha, nucleos);
+        if (periodoBalanceamento >= 0) contexto.setPeriodoBalanceamento(periodoBalanceamento);
+        contexto.setNiveisMLFQ(niveisMLFQ);
+        contexto.setParametrosCFS(parametrosCFS);
+        contexto.setCustosTroca(custoTroca, custosPorCpu);
+        contexto.setTransicoes(new TransicoesEstado()); // O Gantt só recebe as mudanças de estado
+        sistema = new SistemaOperacional(contexto, tarefas);
+        ui.getPainelGantt().setQuantidadeNucleos(nucleos);
         executando = true;
         ui.setEstadoSO(true);
 
@@ -226,49 +158,92 @@ public class SimuladorUIControlador {
     }
 
     public void finalizarSimulacao(){
-        if(!executando) return;
-        relogio.resetar();
+        if(!executando || trabalhador != null) return;
+        // Cada simulação tem o seu contexto: basta descartá-lo, não há relógio global para zerar
+        contexto = null;
         sistema = null;
         executando = false;
         ui.setEstadoSO(false);
         ui.clearAlgoritmoStatus();
+        ui.setContadoresStatus(null);
+        ui.setProgresso(0, totalInstancias(), 0);
         ui.getPainelGantt().clear();
         atualizarTabela();
     }
 
     public void executarTick() {
-        if (sistema == null) return;
-        sistema.criarTarefas();
-        sistema.verificarTarefasProcessandoEEscalonar();
+        if (sistema == null || trabalhador != null) return;
+        // Um tick na ordem do execTick, igual ao "Executar até o fim" e ao modo em lote
+        sistema.prepararTick();
         atualizarUI();
         sistema.executarProcessos();
         atualizarTabela();
-        sistema.gerenciarEventosEBloqueios();
-        relogio.tick();
+        contexto.getRelogio().tick();
     }
 
+    // Roda numa thread separada (ver TrabalhadorSimulacao); a janela continua respondendo e recebe
+    // quadros com o andamento. Pausar/cancelar controlam a execução em andamento
     public void executarAteFim() {
-        if (sistema == null) return;
-        while (!sistema.terminouTodasTarefas()) {
-            sistema.criarTarefas();
-            sistema.gerenciarEventosEBloqueios();
-            sistema.verificarTarefasProcessandoEEscalonar();
-            atualizarUI();
-            sistema.executarProcessos();
-            relogio.tick();
+        if (sistema == null || trabalhador != null) return;
+        trabalhador = new TrabalhadorSimulacao(sistema, contexto, this::montarDadosTabela,
+                this::aplicarQuadro, this::aoTerminarExecucao);
+        ui.setExecucaoEmAndamento(true);
+        trabalhador.iniciar();
+    }
+
+    public void pausarOuContinuar() {
+        if (trabalhador == null) return;
+        if (trabalhador.isPausado()) {
+            trabalhador.continuar();
+        } else {
+            trabalhador.pausar();
+        }
+        ui.setPausado(trabalhador.isPausado());
+    }
+
+    public void cancelarExecucao() {
+        if (trabalhador != null) trabalhador.cancelar();
+    }
+
+    private void aplicarQuadro(TrabalhadorSimulacao.Quadro quadro) {
+        ui.getPainelGantt().aplicarTransicoes(quadro.getTransicoes(), quadro.getTick());
+        ui.setContadoresStatus(quadro.getContadores());
+        ui.setProgresso(quadro.getContadores().get(EstadoTarefa.FINALIZADA), totalInstancias(), quadro.getTick());
+        if (quadro.getTabela() != null) ui.atualizarTabela(quadro.getTabela());
+    }
+
+    private void aoTerminarExecucao(Exception erro) {
+        trabalhador = null;
+        ui.setExecucaoEmAndamento(false);
+        if (erro != null) {
+            JOptionPane.showMessageDialog(null, "Erro na simulação: " + erro.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            Log.erro("Simulação interrompida por erro: {}", erro);
         }
-        atualizarUI();
     }
 
     private void atualizarUI() {
         if (sistema == null) return;
-        ArrayList<TCB> lista = sistema.getListaTCBs();
-        ui.getPainelGantt().atualizarGantt(lista, sistema.getTickAtual());
+        ui.getPainelGantt().atualizarGantt(contexto.getTransicoes(), sistema.getTickAtual());
         atualizarTabela();
+        ContadoresEstado contadores = sistema.getContadoresEstado();
+        ui.setContadoresStatus(contadores);
+        ui.setProgresso(contadores.get(EstadoTarefa.FINALIZADA), totalInstancias(), sistema.getTickAtual());
+    }
+
+    // Cada instância de uma tarefa periódica (EDF) vira um TCB e finaliza separadamente
+    private int totalInstancias() {
+        int total = 0;
+        for (Tarefa t : tarefas) total += t.getInstancias();
+        return total;
     }
 
     private void atualizarTabela() {
-        ArrayList<TCB> lista = sistema != null ? sistema.getListaTCBs() : new ArrayList<>();
+        ui.atualizarTabela(montarDadosTabela());
+    }
+
+    // Lê os TCBs: na EDT só com a simulação parada, ou na thread do TrabalhadorSimulacao
+    private Object[][] montarDadosTabela() {
+        List<TCB> lista = sistema != null ? sistema.getListaTCBs() : new ArrayList<>();
         Object[][] dados = new Object[lista.size()][6];
         for (int i = 0; i < lista.size(); i++) {
             TCB t = lista.get(i);
@@ -277,7 +252,7 @@ public class SimuladorUIControlador {
             dados[i][2] = t.getTarefa().getDuracaoTotal();
 
             if (alpha > 0) {
-                dados[i][3] = t.getPrioridadeDinamica() + " (" + t.getTarefa().getPrioridade() + ")";
+                dados[i][3] = sistema.getPrioridadeDinamica(t) + " (" + t.getTarefa().getPrioridade() + ")";
             } else {
                 dados[i][3] = t.getTarefa().getPrioridade();
             }
@@ -285,7 +260,7 @@ public class SimuladorUIControlador {
             dados[i][4] = t.getEstadoTarefa();
             dados[i][5] = t.getRestante();
         }
-        ui.atualizarTabela(dados);
+        return dados;
     }
 
     private void atualizarTabelaInicial() {
@@ -302,6 +277,33 @@ public class SimuladorUIControlador {
         ui.atualizarTabela(dados);
     }
 
+    // Resumo (.json) ou uma linha por tarefa (.csv), no ponto em que a simulação está
+    public void exportarMetricas() {
+        if (contexto == null || trabalhador != null) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Salvar métricas da simulação");
+        FileNameExtensionFilter json = new FileNameExtensionFilter("Resumo JSON (*.json)", "json");
+        FileNameExtensionFilter csv = new FileNameExtensionFilter("Tarefas CSV (*.csv)", "csv");
+        chooser.addChoosableFileFilter(json);
+        chooser.addChoosableFileFilter(csv);
+        chooser.setFileFilter(json);
+        chooser.setAcceptAllFileFilterUsed(false);
+        chooser.setSelectedFile(new File("metricas.json"));
+        if (chooser.showSaveDialog(null) != JFileChooser.APPROVE_OPTION) return;
+
+        File destino = chooser.getSelectedFile();
+        String extensao = chooser.getFileFilter() == csv ? ".csv" : ".json";
+        String nome = destino.getName().toLowerCase();
+        if (!nome.endsWith(".csv") && !nome.endsWith(".json")) {
+            destino = new File(destino.getParentFile(), destino.getName() + extensao);
+        }
+        try {
+            ExportadorMetricas.gravar(contexto, destino.toPath());
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Erro ao exportar: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     public void exportarGanttComoImagem() {
         JFileChooser chooser = new JFileChooser();
         chooser.setDialogTitle("Salvar gráfico de Gantt como PNG");
@@ -0,0 +1,162 @@
+package ui;
+
+import modelo.ContadoresEstado;
+import modelo.TransicoesEstado;
+import simulador.ContextoSimulacao;
+import sistemaoperacional.SistemaOperacional;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// "Executar até o fim" fora da thread do Swing (EDT): o laço do núcleo roda numa thread própria na
+// velocidade máxima e, no máximo QUADROS_POR_SEGUNDO vezes por segundo, publica um Quadro com o
+// que mudou desde o anterior. Se a EDT atrasar, os quadros acumulados são aplicados juntos, em ordem.
+// A tabela de tarefas (que custa O(tarefas)) só é montada ao pausar e ao terminar, nesta thread,
+// enquanto o núcleo está parado; a EDT nunca lê os TCBs durante a execução.
+public class TrabalhadorSimulacao implements Runnable {
+
+    private static final int QUADROS_POR_SEGUNDO = 30;
+    private static final long INTERVALO_QUADRO_NS = 1_000_000_000L / QUADROS_POR_SEGUNDO;
+
+    // O que a interface precisa para se atualizar, copiado do núcleo num ponto entre dois passos
+    public static class Quadro {
+        private final TransicoesEstado transicoes; // Cada uma com o tick do passo em que foi vista
+        private final int tick;
+        private final ContadoresEstado contadores;
+        private final Object[][] tabela;           // Só ao pausar e no fim (null nos demais)
+
+        Quadro(TransicoesEstado transicoes, int tick, ContadoresEstado contadores, Object[][] tabela) {
+            this.transicoes = transicoes;
+            this.tick = tick;
+            this.contadores = contadores;
+            this.tabela = tabela;
+        }
+
+        public TransicoesEstado getTransicoes() { return transicoes; }
+        public int getTick() { return tick; }
+        public ContadoresEstado getContadores() { return contadores; }
+        public Object[][] getTabela() { return tabela; }
+    }
+
+    private final SistemaOperacional sistema;
+    private final TransicoesEstado pendentes;
+    private final Supplier<Object[][]> montarTabela;
+    private final Consumer<Quadro> aoPublicar;
+    private final Consumer<Exception> aoTerminar;
+
+    private volatile boolean pausado = false;
+    private volatile boolean cancelado = false;
+
+    // Quadros ainda não aplicados pela EDT; uma única drenagem agendada por vez
+    private final List<Quadro> fila = new ArrayList<>();
+    private boolean drenagemAgendada = false;
+
+    // montarTabela roda nesta thread; aoPublicar e aoTerminar (erro ou null) rodam na EDT
+    public TrabalhadorSimulacao(SistemaOperacional sistema, ContextoSimulacao contexto,
+                                Supplier<Object[][]> montarTabela,
+                                Consumer<Quadro> aoPublicar, Consumer<Exception> aoTerminar) {
+        if (contexto.getTransicoes() == null) {
+            throw new IllegalArgumentException("O contexto precisa registrar as transições de estado");
+        }
+        this.sistema = sistema;
+        this.pendentes = contexto.getTransicoes();
+        this.montarTabela = montarTabela;
+        this.aoPublicar = aoPublicar;
+        this.aoTerminar = aoTerminar;
+    }
+
+    public void iniciar() {
+        Thread thread = new Thread(this, "simulacao");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        Exception erro = null;
+        try {
+            executar();
+        } catch (Exception e) {
+            erro = e;
+        }
+        // Agendado depois do último quadro, então a EDT aplica todos antes de saber que terminou
+        Exception erroFinal = erro;
+        SwingUtilities.invokeLater(() -> aoTerminar.accept(erroFinal));
+    }
+
+    private void executar() throws InterruptedException {
+        TransicoesEstado quadro = new TransicoesEstado();
+        long proximoQuadro = System.nanoTime() + INTERVALO_QUADRO_NS;
+
+        while (!sistema.terminouTodasTarefas() && !cancelado) {
+            if (pausado) {
+                publicar(new Quadro(quadro, sistema.getTickAtual(), sistema.getContadoresEstado(), montarTabela.get()));
+                quadro = new TransicoesEstado();
+                esperarRetomada();
+                proximoQuadro = System.nanoTime() + INTERVALO_QUADRO_NS;
+                continue;
+            }
+
+            // Mesmas fases do execTick (e do modo em lote), com o Gantt atualizado antes de executar
+            sistema.prepararTick();
+            pendentes.moverPara(quadro, sistema.getTickAtual());
+            sistema.executarProcessos();
+            // Pula os ticks sem eventos; o Gantt repete o último estado nesse intervalo
+            sistema.avancarAteProximoEvento();
+
+            long agora = System.nanoTime();
+            if (agora >= proximoQuadro) {
+                publicar(new Quadro(quadro, sistema.getTickAtual(), sistema.getContadoresEstado(), null));
+                quadro = new TransicoesEstado();
+                proximoQuadro = agora + INTERVALO_QUADRO_NS;
+            }
+        }
+
+        pendentes.moverPara(quadro, sistema.getTickAtual());
+        publicar(new Quadro(quadro, sistema.getTickAtual(), sistema.getContadoresEstado(), montarTabela.get()));
+    }
+
+    private void publicar(Quadro quadro) {
+        synchronized (fila) {
+            fila.add(quadro);
+            if (drenagemAgendada) return;
+            drenagemAgendada = true;
+        }
+        SwingUtilities.invokeLater(this::drenar);
+    }
+
+    private void drenar() {
+        List<Quadro> quadros;
+        synchronized (fila) {
+            quadros = new ArrayList<>(fila);
+            fila.clear();
+            drenagemAgendada = false;
+        }
+        for (Quadro q : quadros) aoPublicar.accept(q);
+    }
+
+    private synchronized void esperarRetomada() throws InterruptedException {
+        while (pausado && !cancelado) wait();
+    }
+
+    public synchronized void pausar() {
+        pausado = true;
+    }
+
+    public synchronized void continuar() {
+        pausado = false;
+        notifyAll();
+    }
+
+    // Para no fim do passo atual; a simulação continua de onde parou (tick a tick ou até o fim)
+    public synchronized void cancelar() {
+        cancelado = true;
+        notifyAll();
+    }
+
+    public boolean isPausado() { return pausado; }
+
+}